@@ -5,8 +5,10 @@ import io.github.jukomu.jmcomic.api.enums.VoteType;
 import io.github.jukomu.jmcomic.api.model.*;
 import io.github.jukomu.jmcomic.api.exception.*;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * @author JUKOMU
@@ -45,6 +47,42 @@ public interface JmClient {
      */
     JmPhoto getPhoto(String photoId);
 
+    /**
+     * 批量获取本子详情，已缓存的本子不会重复请求，其余以有限的并发同时获取。
+     * 部分失败不影响其他本子，失败的 ID 单独返回。
+     *
+     * @param albumIds 本子id，重复的 ID 只获取一次
+     * @return 成功的本子详情和失败的 ID
+     */
+    JmBatchResult<JmAlbum> getAlbums(Collection<String> albumIds);
+
+    /**
+     * 批量获取本子详情，按完成顺序逐个返回结果。
+     * 调用时立即开始获取；提前关闭流会取消尚未开始的请求。
+     *
+     * @param albumIds 本子id，重复的 ID 只获取一次
+     * @return 按完成顺序排列的结果流，使用完毕后应关闭
+     */
+    Stream<JmBatchItem<JmAlbum>> streamAlbums(Collection<String> albumIds);
+
+    /**
+     * 批量获取章节详情，已缓存的章节不会重复请求，其余以有限的并发同时获取。
+     * 部分失败不影响其他章节，失败的 ID 单独返回。
+     *
+     * @param photoIds 章节id，重复的 ID 只获取一次
+     * @return 成功的章节详情和失败的 ID
+     */
+    JmBatchResult<JmPhoto> getPhotos(Collection<String> photoIds);
+
+    /**
+     * 批量获取章节详情，按完成顺序逐个返回结果。
+     * 调用时立即开始获取；提前关闭流会取消尚未开始的请求。
+     *
+     * @param photoIds 章节id，重复的 ID 只获取一次
+     * @return 按完成顺序排列的结果流，使用完毕后应关闭
+     */
+    Stream<JmBatchItem<JmPhoto>> streamPhotos(Collection<String> photoIds);
+
     /**
      * 搜索本子
      *
@@ -84,6 +122,63 @@ public interface JmClient {
      */
     JmAlbumDownloadInfo getAlbumDownloadInfo(String albumId);
 
+    // == 分页遍历 ==
+    // 以下方法从查询指定的页码开始逐条返回所有结果，后续页在后台并发预取。
+    // 流在消费时才开始请求，使用完毕后应关闭，提前关闭会取消预取中的请求。
+
+    /**
+     * 遍历搜索结果的所有页
+     *
+     * @param query 搜索的参数，页码为起始页
+     * @return 本子摘要流
+     */
+    Stream<JmAlbumMeta> streamSearch(SearchQuery query);
+
+    /**
+     * 遍历分类排行的所有页
+     *
+     * @param query 分类的参数，页码为起始页
+     * @return 本子摘要流
+     */
+    Stream<JmAlbumMeta> streamCategories(SearchQuery query);
+
+    /**
+     * 遍历收藏夹的所有页
+     *
+     * @param query 收藏夹的参数，页码为起始页
+     * @return 本子摘要流
+     */
+    Stream<JmAlbumMeta> streamFavorites(FavoriteQuery query);
+
+    /**
+     * 遍历评论的所有页
+     *
+     * @param query 论坛查询参数，页码为起始页
+     * @return 评论流
+     */
+    Stream<JmComment> streamComments(ForumQuery query);
+
+    /**
+     * 遍历最新上架的本子，直到没有更多结果
+     *
+     * @return 本子摘要流
+     */
+    Stream<JmAlbumMeta> streamLatest();
+
+    /**
+     * 遍历连载列表，直到没有更多结果
+     *
+     * @return 本子摘要流
+     */
+    Stream<JmAlbumMeta> streamSerialization();
+
+    /**
+     * 遍历连载跟踪列表的所有页
+     *
+     * @return 跟踪条目流
+     */
+    Stream<JmTrackingItem> streamAlbumTrackingList();
+
     // == 会话/用户管理 ==
 
     /**
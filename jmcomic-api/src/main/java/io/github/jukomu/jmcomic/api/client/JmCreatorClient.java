@@ -2,6 +2,8 @@ package io.github.jukomu.jmcomic.api.client;
 
 import io.github.jukomu.jmcomic.api.model.*;
 
+import java.util.stream.Stream;
+
 /**
  * @author JUKOMU
  * @Description: jmcomic-api-java 的创作者子系统客户端公开接口，
@@ -32,6 +34,17 @@ public interface JmCreatorClient {
      */
     JmCreatorWorkPage getCreatorWorks(int page, String searchValue, String lang, String source);
 
+    /**
+     * 遍历创作者作品列表的所有页，后续页在后台并发预取。
+     * 流在消费时才开始请求，使用完毕后应关闭。
+     *
+     * @param searchValue 搜索值或分类参数
+     * @param lang        语言过滤
+     * @param source      来源平台过滤
+     * @return 作品流
+     */
+    Stream<JmCreatorWorkMeta> streamCreatorWorks(String searchValue, String lang, String source);
+
     /**
      * 获取指定作者的作品列表
      *
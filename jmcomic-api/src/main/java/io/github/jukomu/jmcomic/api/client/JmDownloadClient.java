@@ -3,6 +3,7 @@ package io.github.jukomu.jmcomic.api.client;
 import io.github.jukomu.jmcomic.api.download.DownloadRequest;
 import io.github.jukomu.jmcomic.api.download.DownloadResult;
 import io.github.jukomu.jmcomic.api.download.IDownloadManager;
+import io.github.jukomu.jmcomic.api.download.enums.ArchiveMode;
 import io.github.jukomu.jmcomic.api.download.task.BaseDownloadTask;
 import io.github.jukomu.jmcomic.api.model.JmAlbum;
 import io.github.jukomu.jmcomic.api.model.JmImage;
@@ -13,6 +14,7 @@ import io.github.jukomu.jmcomic.api.strategy.IPhotoPathGenerator;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 
 /**
@@ -216,6 +218,62 @@ public interface JmDownloadClient extends AutoCloseable {
 
     BaseDownloadTask createDownloadTask(JmImage image, Path path);
 
+    /**
+     * 按指定输出方式创建本子下载任务，写入归档时归档位于 {@code <path>/<本子ID>.cbz}
+     * 或 {@code <path>/<本子ID>/<章节ID>.cbz}。
+     * 默认实现只支持 {@link ArchiveMode#NONE}。
+     *
+     * @param album 本子详情对象
+     * @param path  下载根目录
+     * @param mode  输出方式
+     * @return 本子下载任务，尚未提交
+     */
+    default BaseDownloadTask createDownloadTask(JmAlbum album, Path path, ArchiveMode mode) {
+        if (mode != ArchiveMode.NONE) {
+            throw new UnsupportedOperationException("Archive output is not implemented by this client.");
+        }
+        return createDownloadTask(album, path);
+    }
+
+    /**
+     * 按指定输出方式创建章节下载任务，写入归档时 PHOTO、ALBUM 相同，都是整个章节一个归档。
+     * 默认实现只支持 {@link ArchiveMode#NONE}。
+     *
+     * @param photo 章节详情对象
+     * @param path  下载目录
+     * @param mode  输出方式
+     * @return 章节下载任务，尚未提交
+     */
+    default BaseDownloadTask createDownloadTask(JmPhoto photo, Path path, ArchiveMode mode) {
+        if (mode != ArchiveMode.NONE) {
+            throw new UnsupportedOperationException("Archive output is not implemented by this client.");
+        }
+        return createDownloadTask(photo, path);
+    }
+
+    /**
+     * 流式创建本子下载任务：不获取章节详情，立即返回本子任务。
+     * 提交后在下载管理器的线程池上按章节顺序获取章节详情，每个章节的详情到达后立即开始下载，
+     * 不必等待整棵任务树建好；章节、图片总数随详情到达逐渐确定。
+     * 默认实现等同于 {@link #createDownloadTask(JmAlbum, Path)}。
+     *
+     * @param album 本子详情对象
+     * @param path  下载根目录
+     * @return 本子下载任务，尚未提交
+     */
+    default BaseDownloadTask createStreamingDownloadTask(JmAlbum album, Path path) {
+        return createDownloadTask(album, path);
+    }
+
+    /**
+     * 从下载日志重建上次未完成的顶层下载任务（需要在配置中启用下载日志）。
+     * 上次已完成的图片直接标记为跳过，其余图片提交后继续下载。
+     * 返回的任务尚未提交，可以注册观察者后通过 {@link #downloadManager()} 提交。
+     *
+     * @return 未完成的任务列表，未启用下载日志时为空
+     */
+    List<BaseDownloadTask> recoverDownloadTasks();
+
     /**
      * 获取下载任务管理器，用于高级下载控制
      *
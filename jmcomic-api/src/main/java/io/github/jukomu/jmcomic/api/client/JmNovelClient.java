@@ -4,6 +4,7 @@ import io.github.jukomu.jmcomic.api.enums.FavoriteFolderType;
 import io.github.jukomu.jmcomic.api.model.*;
 
 import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * @author JUKOMU
@@ -24,6 +25,15 @@ public interface JmNovelClient {
      */
     JmNovelPage getNovelList(String order, int page);
 
+    /**
+     * 遍历小说列表的所有页，后续页在后台并发预取。
+     * 流在消费时才开始请求，使用完毕后应关闭。
+     *
+     * @param order 排序方式（如 "mr" 为最新）
+     * @return 小说流
+     */
+    Stream<JmNovelMeta> streamNovelList(String order);
+
     /**
      * 获取小说详情
      *
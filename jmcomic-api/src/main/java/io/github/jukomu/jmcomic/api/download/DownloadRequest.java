@@ -1,5 +1,6 @@
 package io.github.jukomu.jmcomic.api.download;
 
+import io.github.jukomu.jmcomic.api.download.enums.ArchiveMode;
 import io.github.jukomu.jmcomic.api.model.JmAlbum;
 import io.github.jukomu.jmcomic.api.model.JmPhoto;
 
@@ -30,6 +31,7 @@ public class DownloadRequest {
     private Path path;
     private ExecutorService executorService;
     private Consumer<DownloadProgress> progressCallback;
+    private ArchiveMode archiveMode;
 
     /**
      * 创建本子下载请求（内部使用，客户端实现类通过此构造器注入执行逻辑）。
@@ -81,6 +83,15 @@ public class DownloadRequest {
         return this;
     }
 
+    /**
+     * 指定输出方式。若未调用此方法，使用客户端配置的输出方式（默认每张图片一个文件）。
+     * 写入归档时由客户端的下载管理器执行，{@link #withExecutor} 指定的线程池不生效。
+     */
+    public DownloadRequest withArchive(ArchiveMode archiveMode) {
+        this.archiveMode = archiveMode;
+        return this;
+    }
+
     /**
      * 执行下载。
      *
@@ -116,4 +127,8 @@ public class DownloadRequest {
     public Consumer<DownloadProgress> getProgressCallback() {
         return progressCallback;
     }
+
+    public ArchiveMode getArchiveMode() {
+        return archiveMode;
+    }
 }
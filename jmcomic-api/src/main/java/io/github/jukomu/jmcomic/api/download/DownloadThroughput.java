@@ -0,0 +1,18 @@
+package io.github.jukomu.jmcomic.api.download;
+
+/**
+ * 下载任务速率与剩余量估算的快照，通过 {@link io.github.jukomu.jmcomic.api.download.task.BaseDownloadTask#getThroughput()} 获取。
+ * 本子、章节任务的速率按最近几秒滑动统计，图片任务按本次开始以来的平均速率计算。
+ *
+ * @param bytesPerSecond           下载速率（字节/秒）
+ * @param imagesPerSecond          每秒完成的图片数（本子、章节任务有效）
+ * @param estimatedTotalBytes      估算的总字节数，大小未知的图片按已下载图片的平均大小估算，无法估算时为 -1
+ * @param estimatedRemainingMillis 按当前速率估算的剩余时间（毫秒），已结束时为 0，无法估算时为 -1
+ */
+public record DownloadThroughput(
+        double bytesPerSecond,
+        double imagesPerSecond,
+        long estimatedTotalBytes,
+        long estimatedRemainingMillis
+) {
+}
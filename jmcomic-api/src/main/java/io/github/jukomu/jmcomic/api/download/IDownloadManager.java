@@ -1,6 +1,7 @@
 package io.github.jukomu.jmcomic.api.download;
 
 import io.github.jukomu.jmcomic.api.download.task.BaseDownloadTask;
+import io.github.jukomu.jmcomic.api.download.task.TaskObserver;
 
 import java.util.List;
 
@@ -26,5 +27,45 @@ public interface IDownloadManager {
 
     void cancel(String taskId);
 
+    /**
+     * 调整顶层任务的调度优先级，数值越大越先下载，对尚未开始的图片立即生效
+     *
+     * @param taskId   任务编号
+     * @param priority 优先级，默认 0
+     */
+    void setPriority(String taskId, int priority);
+
+    /**
+     * 限制本管理器所有下载的总速率，可随时调整
+     *
+     * @param bytesPerSecond 每秒字节数，0 表示不限速
+     */
+    void setSpeedLimit(long bytesPerSecond);
+
+    /**
+     * 限制任务（含全部子任务）的下载速率，可随时调整，任务结束后自动移除
+     *
+     * @param taskId         任务编号
+     * @param bytesPerSecond 每秒字节数，0 表示不限速
+     */
+    void setSpeedLimit(String taskId, long bytesPerSecond);
+
+    /**
+     * 为任务注册异步观察者：事件由下载管理器的事件线程投递，进度事件会合并，
+     * 观察者处理缓慢不会拖慢下载线程
+     *
+     * @param task     任务
+     * @param observer 观察者
+     */
+    void addObserver(BaseDownloadTask task, TaskObserver observer);
+
+    /**
+     * 移除通过 {@link #addObserver(BaseDownloadTask, TaskObserver)} 注册的观察者
+     *
+     * @param task     任务
+     * @param observer 观察者
+     */
+    void removeObserver(BaseDownloadTask task, TaskObserver observer);
+
     void close();
 }
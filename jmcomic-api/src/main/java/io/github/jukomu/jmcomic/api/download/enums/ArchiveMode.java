@@ -0,0 +1,22 @@
+package io.github.jukomu.jmcomic.api.download.enums;
+
+/**
+ * 下载输出方式枚举。
+ * <p>
+ * 归档输出时图片不逐个写成文件，而是按页码顺序写入不压缩（STORED）的 CBZ 归档，
+ * 并附带 ComicInfo.xml；归档先写到 {@code .cbz.part}，结束后一次性重命名。
+ */
+public enum ArchiveMode {
+    /**
+     * 每张图片一个文件（默认）
+     */
+    NONE,
+    /**
+     * 每个章节一个 CBZ 归档，位于章节目录旁：{@code <章节目录>.cbz}
+     */
+    PHOTO,
+    /**
+     * 整个本子一个 CBZ 归档，位于本子目录旁：{@code <本子目录>.cbz}，各章节放在以章节序号命名的目录下
+     */
+    ALBUM
+}
@@ -2,32 +2,55 @@ package io.github.jukomu.jmcomic.api.download.task;
 
 import io.github.jukomu.jmcomic.api.download.DownloadProgress;
 import io.github.jukomu.jmcomic.api.download.DownloadResult;
+import io.github.jukomu.jmcomic.api.download.DownloadThroughput;
 import io.github.jukomu.jmcomic.api.download.enums.TaskState;
 import io.github.jukomu.jmcomic.api.download.enums.TaskType;
 import io.github.jukomu.jmcomic.api.model.JmImage;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @author JUKOMU
  * @Description: 下载任务基类
+ * <p>
+ * 一个本子可能有上千个图片任务，排队的图片任务可能有数百万个，因此任务本身尽量紧凑：
+ * 编号为递增的数字，状态用 CAS 迁移，下载结果在用到时才分配。
  * @Project: JMComic-Api-Java
  * @Date: 2026/5/4
  */
 public abstract class BaseDownloadTask implements Runnable {
 
+    // 任务编号从启动时的毫秒数左移 20 位开始递增，进程内唯一，重启后也不会与上次的编号重复
+    private static final AtomicLong ID_SEQUENCE = new AtomicLong(System.currentTimeMillis() << 20);
+    private static final VarHandle STATE;
+
+    static {
+        try {
+            STATE = MethodHandles.lookup().findVarHandle(BaseDownloadTask.class, "state", TaskState.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // 任务编号的数字形式
+    protected final long id;
     // 任务编号
     protected final String taskId;
     // 任务类型
     protected TaskType type;
-    // 任务状态
-    protected TaskState state = TaskState.PENDING;
+    // 任务状态，通过 transitState 以 CAS 迁移
+    protected volatile TaskState state = TaskState.PENDING;
+    // 调度优先级，数值越大越先下载，只对顶层任务生效
+    protected volatile int priority = 0;
     // 关联的父任务
     protected BaseDownloadTask parentTask = null;
-    // 关联的子任务
-    protected List<BaseDownloadTask> childTasks = new ArrayList<>();
+    // 关联的子任务，图片任务没有子任务，初始不预留容量
+    protected List<BaseDownloadTask> childTasks = new ArrayList<>(0);
     // 注册的观察者
     protected List<TaskObserver> observers = new CopyOnWriteArrayList<>();
     // 预计需要处理的总字节数，未知时为 -1，不保证等于最终文件大小
@@ -37,9 +60,12 @@ public abstract class BaseDownloadTask implements Runnable {
     // 任务创建时间
     protected final String createTimestamp;
     // 任务开始运行时间
-    protected String startTimestamp;
+    protected volatile String startTimestamp;
     // 任务结束时间(处于任意终态)
-    protected String endTimestamp;
+    protected volatile String endTimestamp;
+    // 开始、结束时间的毫秒数，用于速率统计，0 表示未开始、未结束
+    private volatile long startMillis;
+    private volatile long endMillis;
     // 成功的任务数
     protected int completedCount = 0;
     // 失败的任务数
@@ -50,9 +76,9 @@ public abstract class BaseDownloadTask implements Runnable {
     protected int skippedCount = 0;
     // 部分成功的任务数
     protected int completedWithErrorsCount = 0;
-    // 下载结果
-    protected List<Path> successfulFiles = new ArrayList<>();
-    protected Map<JmImage, Exception> failedTasks = new HashMap<>();
+    // 任务自身的下载结果（不含子任务），首次写入时分配
+    protected List<Path> successfulFiles;
+    protected Map<JmImage, Exception> failedTasks;
 
     // 状态锁
     protected final Object stateLock = new Object();
@@ -66,13 +92,18 @@ public abstract class BaseDownloadTask implements Runnable {
     public BaseDownloadTask() {
         this.createTimestamp = String.valueOf(System.currentTimeMillis());
         // 生成任务编号
-        this.taskId = System.currentTimeMillis() + UUID.randomUUID().toString().replace("-", "");
+        this.id = ID_SEQUENCE.incrementAndGet();
+        this.taskId = Long.toString(this.id);
     }
 
     public String getTaskId() {
         return this.taskId;
     }
 
+    public long getId() {
+        return this.id;
+    }
+
     public TaskType getType() {
         return this.type;
     }
@@ -81,6 +112,14 @@ public abstract class BaseDownloadTask implements Runnable {
         this.type = type;
     }
 
+    public int getPriority() {
+        return this.priority;
+    }
+
+    public void setPriority(int priority) {
+        this.priority = priority;
+    }
+
     public BaseDownloadTask getParentTask() {
         return this.parentTask;
     }
@@ -109,6 +148,56 @@ public abstract class BaseDownloadTask implements Runnable {
         return this.downloadedBytes;
     }
 
+    /**
+     * 下载速率（字节/秒），默认按本次开始以来的平均速率计算，本子、章节任务按最近几秒滑动统计
+     */
+    public double getBytesPerSecond() {
+        long start = this.startMillis;
+        if (start == 0) {
+            return 0;
+        }
+        long end = this.endMillis >= start ? this.endMillis : System.currentTimeMillis();
+        return getDownloadedBytes() * 1000.0 / Math.max(1, end - start);
+    }
+
+    /**
+     * 每秒完成的图片数，只有本子、章节任务统计
+     */
+    public double getImagesPerSecond() {
+        return 0;
+    }
+
+    /**
+     * 估算的总字节数，无法估算时返回 -1
+     */
+    public long getEstimatedTotalBytes() {
+        long total = getTotalBytes();
+        return total > 0 ? total : -1;
+    }
+
+    /**
+     * 按当前速率估算的剩余时间（毫秒），已结束时返回 0，无法估算时返回 -1
+     */
+    public long getEstimatedRemainingMillis() {
+        if (this.state.isTerminal()) {
+            return 0;
+        }
+        long total = getEstimatedTotalBytes();
+        double rate = getBytesPerSecond();
+        if (total < 0 || rate <= 0) {
+            return -1;
+        }
+        return (long) (Math.max(0, total - getDownloadedBytes()) * 1000 / rate);
+    }
+
+    /**
+     * 当前速率与剩余量估算的快照，可在 {@link TaskObserver#onProgressUpdate} 中与进度一起读取
+     */
+    public DownloadThroughput getThroughput() {
+        return new DownloadThroughput(getBytesPerSecond(), getImagesPerSecond(),
+                getEstimatedTotalBytes(), getEstimatedRemainingMillis());
+    }
+
     public String getCreateTimestamp() {
         return this.createTimestamp;
     }
@@ -118,7 +207,9 @@ public abstract class BaseDownloadTask implements Runnable {
     }
 
     protected void recordStartTimestamp() {
-        this.startTimestamp = String.valueOf(System.currentTimeMillis());
+        long now = System.currentTimeMillis();
+        this.startMillis = now;
+        this.startTimestamp = String.valueOf(now);
     }
 
     public String getEndTimestamp() {
@@ -126,7 +217,9 @@ public abstract class BaseDownloadTask implements Runnable {
     }
 
     public void recordEndTimestamp() {
-        this.endTimestamp = String.valueOf(System.currentTimeMillis());
+        long now = System.currentTimeMillis();
+        this.endMillis = now;
+        this.endTimestamp = String.valueOf(now);
     }
 
     public int getCompletedCount() {
@@ -171,6 +264,9 @@ public abstract class BaseDownloadTask implements Runnable {
 
     public void addSuccessfulFile(Path path) {
         synchronized (resultLock) {
+            if (this.successfulFiles == null) {
+                this.successfulFiles = new ArrayList<>(1);
+            }
             if (!this.successfulFiles.contains(path)) {
                 this.successfulFiles.add(path);
             }
@@ -179,38 +275,57 @@ public abstract class BaseDownloadTask implements Runnable {
 
     public void addFailedTask(JmImage jmImage, Exception e) {
         synchronized (resultLock) {
+            if (this.failedTasks == null) {
+                this.failedTasks = new HashMap<>();
+            }
             if (!this.failedTasks.containsKey(jmImage)) {
                 this.failedTasks.put(jmImage, e);
             }
         }
     }
 
+    /**
+     * 获取当前的下载结果快照
+     * <p>
+     * 父任务不保存子任务结果的副本，而是在调用时按任务树顺序（章节、图片顺序）收集各子任务自身的结果，
+     * 每次调用 O(图片数)，结果收集不会随子任务完成反复复制。
+     */
     public DownloadResult getCurrentDownloadResult() {
+        List<Path> files = new ArrayList<>();
+        Map<JmImage, Exception> failures = new LinkedHashMap<>();
+        collectDownloadResult(files, failures);
+        return new DownloadResult(files, failures);
+    }
+
+    /**
+     * 将自身及所有子任务的结果追加到给定容器中
+     */
+    protected void collectDownloadResult(List<Path> files, Map<JmImage, Exception> failures) {
         synchronized (resultLock) {
-            List<Path> copyList;
-            Map<JmImage, Exception> copyMap;
-            if (this.successfulFiles.isEmpty()) {
-                copyList = new ArrayList<>();
-            } else {
-                copyList = List.copyOf(this.successfulFiles);
+            if (this.successfulFiles != null) {
+                files.addAll(this.successfulFiles);
             }
-            if (this.failedTasks.isEmpty()) {
-                copyMap = new HashMap<>();
-            } else {
-                copyMap = Map.copyOf(this.failedTasks);
+            if (this.failedTasks != null) {
+                this.failedTasks.forEach(failures::putIfAbsent);
             }
-            return new DownloadResult(copyList, copyMap);
+        }
+        for (BaseDownloadTask child : this.childTasks) {
+            child.collectDownloadResult(files, failures);
         }
     }
 
     public void addObserver(TaskObserver observer) {
-        if (!observers.contains(observer)) {
-            observers.add(observer);
+        synchronized (resultLock) {
+            if (!this.observers.contains(observer)) {
+                this.observers.add(observer);
+            }
         }
     }
 
     public void removeObserver(TaskObserver observer) {
-        observers.remove(observer);
+        synchronized (resultLock) {
+            this.observers.remove(observer);
+        }
     }
 
     // 任务管理
@@ -265,28 +380,18 @@ public abstract class BaseDownloadTask implements Runnable {
     }
 
     public boolean transitState(TaskState expected, TaskState target) {
-        synchronized (stateLock) {
-            if (this.state != expected) {
-                return false;
-            }
-            if (!canTransit(expected, target)) {
-                return false;
-            }
-            this.state = target;
-            return true;
+        if (!canTransit(expected, target)) {
+            return false;
         }
+        return STATE.compareAndSet(this, expected, target);
     }
 
     public boolean isState(TaskState state) {
-        synchronized (stateLock) {
-            return this.state == state;
-        }
+        return this.state == state;
     }
 
     public TaskState currentState() {
-        synchronized (stateLock) {
-            return this.state;
-        }
+        return this.state;
     }
 
     // 聚合状态判断
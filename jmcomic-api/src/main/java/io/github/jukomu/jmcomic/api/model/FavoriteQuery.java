@@ -42,6 +42,15 @@ public final class FavoriteQuery {
         return page;
     }
 
+    /**
+     * 创建一个包含当前所有参数的 Builder，用于在此查询的基础上修改部分参数（如页码）
+     *
+     * @return Builder 实例
+     */
+    public Builder toBuilder() {
+        return new Builder().folderId(folderId).page(page);
+    }
+
     /**
      * 用于创建 SearchQuery 实例的 Builder
      */
@@ -113,6 +113,18 @@ public final class ForumQuery {
         return page;
     }
 
+    /**
+     * 创建一个包含当前所有参数的 Builder，用于在此查询的基础上修改部分参数（如页码）。
+     *
+     * @return Builder 实例
+     */
+    public Builder toBuilder() {
+        Builder builder = new Builder().chapter(chapterId).mode(mode).page(page);
+        builder.idParam = idParam;
+        builder.entityId = entityId;
+        return builder;
+    }
+
     /**
      * ForumQuery 的 Builder。
      */
@@ -0,0 +1,35 @@
+package io.github.jukomu.jmcomic.api.model;
+
+/**
+ * @author JUKOMU
+ * @Description: 批量获取中单个 ID 的结果，成功时 value 非空，失败时 error 非空
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+public record JmBatchItem<T>(
+        /*
+          请求的 ID
+         */
+        String id,
+        /*
+          获取到的对象，失败时为 null
+         */
+        T value,
+        /*
+          失败原因，成功时为 null
+         */
+        Exception error
+) {
+
+    public static <T> JmBatchItem<T> success(String id, T value) {
+        return new JmBatchItem<>(id, value, null);
+    }
+
+    public static <T> JmBatchItem<T> failure(String id, Exception error) {
+        return new JmBatchItem<>(id, null, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
@@ -0,0 +1,51 @@
+package io.github.jukomu.jmcomic.api.model;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * @author JUKOMU
+ * @Description: 批量获取的结果，成功和失败的 ID 分开保存
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+public final class JmBatchResult<T> {
+    private final Map<String, T> results;
+    private final Map<String, Exception> failures;
+
+    public JmBatchResult(Map<String, T> results, Map<String, Exception> failures) {
+        this.results = Collections.unmodifiableMap(results);
+        this.failures = Collections.unmodifiableMap(failures);
+    }
+
+    /**
+     * 获取成功的结果，Key 是 ID，按请求中 ID 的顺序排列
+     */
+    public Map<String, T> getResults() {
+        return results;
+    }
+
+    /**
+     * 获取失败的 ID，Value 是导致失败的异常
+     */
+    public Map<String, Exception> getFailures() {
+        return failures;
+    }
+
+    /**
+     * 检查是否所有 ID 都获取成功
+     *
+     * @return 如果没有失败的 ID，则返回 true
+     */
+    public boolean isAllSuccess() {
+        return failures.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "JmBatchResult{" +
+                "results=" + results.keySet() +
+                ", failures=" + failures +
+                '}';
+    }
+}
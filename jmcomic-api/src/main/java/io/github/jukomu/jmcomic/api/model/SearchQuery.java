@@ -96,6 +96,22 @@ public final class SearchQuery {
         return page;
     }
 
+    /**
+     * 创建一个包含当前所有参数的 Builder，用于在此查询的基础上修改部分参数（如页码）
+     *
+     * @return Builder 实例
+     */
+    public Builder toBuilder() {
+        return new Builder()
+                .mainTag(mainTag)
+                .text(searchQuery)
+                .orderBy(orderBy)
+                .time(timeOption)
+                .category(category)
+                .subCategory(subCategory)
+                .page(page);
+    }
+
     /**
      * 用于创建 SearchQuery 实例的 Builder
      */
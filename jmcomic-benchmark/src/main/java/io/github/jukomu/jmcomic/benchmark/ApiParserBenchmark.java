@@ -0,0 +1,68 @@
+package io.github.jukomu.jmcomic.benchmark;
+
+import io.github.jukomu.jmcomic.api.model.JmAlbum;
+import io.github.jukomu.jmcomic.api.model.JmCommentList;
+import io.github.jukomu.jmcomic.api.model.JmSearchPage;
+import io.github.jukomu.jmcomic.core.parser.ApiParser;
+import io.github.jukomu.jmcomic.testsupport.JmFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author JUKOMU
+ * @Description: API 客户端 JSON 解析的基准测试
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApiParserBenchmark {
+
+    /**
+     * typical: 常见规模；large: 长篇连载、评论很多的本子
+     */
+    @Param({"typical", "large"})
+    public String size;
+
+    private String albumJson;
+    private String searchJson;
+    private String commentJson;
+
+    @Setup
+    public void setUp() {
+        boolean large = "large".equals(size);
+        albumJson = JmFixtures.apiAlbumJson(large ? 300 : 12, large ? 20 : 6);
+        searchJson = JmFixtures.apiSearchJson(80);
+        commentJson = JmFixtures.apiCommentJson(large ? 100 : 20, large ? 5 : 1);
+    }
+
+    @Benchmark
+    public JmAlbum parseAlbum() {
+        return ApiParser.parseAlbum(albumJson);
+    }
+
+    @Benchmark
+    public JmSearchPage parseSearchPage() {
+        return ApiParser.parseSearchPage(searchJson, 1);
+    }
+
+    @Benchmark
+    public JmCommentList parseCommentList() {
+        return ApiParser.parseCommentList(commentJson);
+    }
+}
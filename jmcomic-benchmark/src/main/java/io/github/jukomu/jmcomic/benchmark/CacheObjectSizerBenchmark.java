@@ -0,0 +1,64 @@
+package io.github.jukomu.jmcomic.benchmark;
+
+import io.github.jukomu.jmcomic.api.model.JmAlbum;
+import io.github.jukomu.jmcomic.api.model.JmPhoto;
+import io.github.jukomu.jmcomic.api.model.JmSearchPage;
+import io.github.jukomu.jmcomic.core.cache.CacheObjectSizer;
+import io.github.jukomu.jmcomic.core.parser.ApiParser;
+import io.github.jukomu.jmcomic.core.parser.HtmlParser;
+import io.github.jukomu.jmcomic.testsupport.JmFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author JUKOMU
+ * @Description: 缓存对象大小估算的基准测试，每次写入缓存都会执行一次
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CacheObjectSizerBenchmark {
+
+    private CacheObjectSizer sizer;
+    private JmAlbum album;
+    private JmPhoto photo;
+    private JmSearchPage searchPage;
+
+    @Setup
+    public void setUp() {
+        sizer = new CacheObjectSizer();
+        album = ApiParser.parseAlbum(JmFixtures.apiAlbumJson(12, 6));
+        photo = HtmlParser.parsePhoto(JmFixtures.htmlPhoto(40));
+        searchPage = ApiParser.parseSearchPage(JmFixtures.apiSearchJson(80), 1);
+    }
+
+    @Benchmark
+    public int sizeOfAlbum() {
+        return sizer.sizeOf(album);
+    }
+
+    @Benchmark
+    public int sizeOfPhoto() {
+        return sizer.sizeOf(photo);
+    }
+
+    @Benchmark
+    public int sizeOfSearchPage() {
+        return sizer.sizeOf(searchPage);
+    }
+}
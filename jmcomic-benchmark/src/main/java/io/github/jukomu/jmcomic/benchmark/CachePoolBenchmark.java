@@ -0,0 +1,116 @@
+package io.github.jukomu.jmcomic.benchmark;
+
+import io.github.jukomu.jmcomic.api.model.JmAlbumMeta;
+import io.github.jukomu.jmcomic.core.cache.CacheKey;
+import io.github.jukomu.jmcomic.core.cache.CachePool;
+import io.github.jukomu.jmcomic.core.parser.ApiParser;
+import io.github.jukomu.jmcomic.testsupport.JmFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author JUKOMU
+ * @Description: CachePool 并发读写的基准测试
+ * <p>
+ * 基准方法定义在本类中，线程数由各个子类的 {@link Threads} 指定，
+ * 结果中 T1/T4/T16/T64 分别对应 1/4/16/64 个线程同时访问同一个缓存池。
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public abstract class CachePoolBenchmark {
+
+    // 预热后缓存中的条目数
+    private static final int ENTRIES = 2048;
+    // put 使用的键空间是缓存容量的 4 倍，持续触发淘汰
+    private static final int KEY_SPACE = ENTRIES * 4;
+
+    private CachePool<CacheKey, JmAlbumMeta> pool;
+    private CacheKey[] keys;
+    private JmAlbumMeta[] values;
+
+    @Setup
+    public void setUp() {
+        List<JmAlbumMeta> metas = ApiParser.parseSearchPage(JmFixtures.apiSearchJson(80), 1).content();
+        keys = new CacheKey[KEY_SPACE];
+        values = new JmAlbumMeta[KEY_SPACE];
+        for (int i = 0; i < KEY_SPACE; i++) {
+            keys[i] = CacheKey.of(JmAlbumMeta.class, String.valueOf(i));
+            values[i] = metas.get(i % metas.size());
+        }
+
+        // 先放入一条以测得单条大小，再按 ENTRIES 条计算容量
+        CachePool<CacheKey, JmAlbumMeta> probe = new CachePool<>(Long.MAX_VALUE);
+        probe.put(keys[0], values[0]);
+        long entryWeight = Math.max(1, probe.getCurrentSize());
+        pool = new CachePool<>(entryWeight * ENTRIES * 2);
+        for (int i = 0; i < ENTRIES; i++) {
+            pool.put(keys[i], values[i]);
+        }
+    }
+
+    /**
+     * 命中读取
+     */
+    @Benchmark
+    public JmAlbumMeta get() {
+        return pool.get(keys[ThreadLocalRandom.current().nextInt(ENTRIES)]);
+    }
+
+    /**
+     * 写入，包含对象大小估算和淘汰
+     */
+    @Benchmark
+    public void put() {
+        int i = ThreadLocalRandom.current().nextInt(KEY_SPACE);
+        pool.put(keys[i], values[i]);
+    }
+
+    /**
+     * 九读一写，接近客户端实际的访问比例
+     */
+    @Benchmark
+    public Object readMostly() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextInt(10) == 0) {
+            int i = random.nextInt(KEY_SPACE);
+            pool.put(keys[i], values[i]);
+            return null;
+        }
+        return pool.get(keys[random.nextInt(ENTRIES)]);
+    }
+
+    @Threads(1)
+    public static class T1 extends CachePoolBenchmark {
+    }
+
+    @Threads(4)
+    public static class T4 extends CachePoolBenchmark {
+    }
+
+    @Threads(16)
+    public static class T16 extends CachePoolBenchmark {
+    }
+
+    @Threads(64)
+    public static class T64 extends CachePoolBenchmark {
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.jukomu.jmcomic.benchmark;
+
+import io.github.jukomu.jmcomic.core.constant.JmConstants;
+import io.github.jukomu.jmcomic.core.crypto.JmCryptoTool;
+import io.github.jukomu.jmcomic.testsupport.JmFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author JUKOMU
+ * @Description: API 响应解密与 MD5 的基准测试
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CryptoBenchmark {
+
+    /**
+     * album: 单本详情，约 2KB；search: 一页 80 条搜索结果，约 18KB
+     */
+    @Param({"album", "search"})
+    public String payload;
+
+    private String encrypted;
+    private String tokenInput;
+
+    @Setup
+    public void setUp() {
+        String plainText = "album".equals(payload)
+                ? JmFixtures.apiAlbumJson(1, 6)
+                : JmFixtures.apiSearchJson(80);
+        encrypted = JmFixtures.encryptApiData(plainText, JmFixtures.TIMESTAMP, JmConstants.APP_DATA_SECRET);
+        tokenInput = JmFixtures.TIMESTAMP + JmConstants.APP_TOKEN_SECRET;
+    }
+
+    @Benchmark
+    public String decryptApiResponse() {
+        return JmCryptoTool.decryptApiResponse(encrypted, JmFixtures.TIMESTAMP, JmConstants.APP_DATA_SECRET);
+    }
+
+    @Benchmark
+    public String md5Hex() {
+        return JmCryptoTool.md5Hex(tokenInput);
+    }
+}
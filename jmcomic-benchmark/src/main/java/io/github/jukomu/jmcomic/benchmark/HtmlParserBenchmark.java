@@ -0,0 +1,60 @@
+package io.github.jukomu.jmcomic.benchmark;
+
+import io.github.jukomu.jmcomic.api.model.JmAlbum;
+import io.github.jukomu.jmcomic.api.model.JmPhoto;
+import io.github.jukomu.jmcomic.core.parser.HtmlParser;
+import io.github.jukomu.jmcomic.testsupport.JmFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author JUKOMU
+ * @Description: 网页客户端 HTML 解析的基准测试
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HtmlParserBenchmark {
+
+    /**
+     * typical: 常见规模；large: 长篇连载、单章图片很多的本子
+     */
+    @Param({"typical", "large"})
+    public String size;
+
+    private String albumHtml;
+    private String photoHtml;
+
+    @Setup
+    public void setUp() {
+        boolean large = "large".equals(size);
+        albumHtml = JmFixtures.htmlAlbum(large ? 300 : 12, large ? 20 : 6);
+        photoHtml = JmFixtures.htmlPhoto(large ? 300 : 40);
+    }
+
+    @Benchmark
+    public JmAlbum parseAlbum() {
+        return HtmlParser.parseAlbum(albumHtml);
+    }
+
+    @Benchmark
+    public JmPhoto parsePhoto() {
+        return HtmlParser.parsePhoto(photoHtml);
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.jukomu.jmcomic.benchmark;
+
+import io.github.jukomu.jmcomic.api.model.JmImage;
+import io.github.jukomu.jmcomic.core.image.AwtImageProcessor;
+import io.github.jukomu.jmcomic.testsupport.JmFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author JUKOMU
+ * @Description: 图片重组（解码、切片拼接、重新编码）的基准测试
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class ImageDecryptBenchmark {
+
+    @Param({"jpg", "webp"})
+    public String format;
+
+    // 常见的单页尺寸
+    private static final int WIDTH = 900;
+    private static final int HEIGHT = 1300;
+
+    private AwtImageProcessor processor;
+    private JmImage image;
+    private byte[] scrambled;
+
+    @Setup
+    public void setUp() {
+        processor = new AwtImageProcessor();
+        image = JmFixtures.image(format);
+        scrambled = JmFixtures.scrambledImage(format, WIDTH, HEIGHT);
+    }
+
+    @Benchmark
+    public byte[] decryptImage() {
+        return processor.decryptImage(scrambled, image);
+    }
+}
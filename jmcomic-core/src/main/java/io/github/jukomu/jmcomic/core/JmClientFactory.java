@@ -0,0 +1,124 @@
+package io.github.jukomu.jmcomic.core;
+
+import io.github.jukomu.jmcomic.api.enums.ClientType;
+import io.github.jukomu.jmcomic.core.client.impl.JmApiClient;
+import io.github.jukomu.jmcomic.core.client.impl.JmHtmlClient;
+import io.github.jukomu.jmcomic.core.config.JmConfiguration;
+import io.github.jukomu.jmcomic.core.net.OkHttpBuilder;
+import io.github.jukomu.jmcomic.core.net.provider.JmDomainManager;
+import okhttp3.OkHttpClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author JUKOMU
+ * @Description: 共享网络基础设施的客户端工厂
+ * <p>
+ * 同一进程需要创建多个客户端（例如多账号）时使用。工厂持有一份连接池、调度器、域名管理器和线程池，
+ * 创建出的客户端共享这些资源，域名更新和探活只执行一次；每个客户端仍有独立的 CookieJar 和登录状态。
+ * <p>
+ * 客户端关闭时不会释放共享资源，需要在所有客户端用完后关闭工厂本身。
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+public final class JmClientFactory implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(JmClientFactory.class);
+
+    private final JmConfiguration config;
+    private final JmDomainManager domainManager;
+    private final OkHttpClient baseClient;
+    private final ExecutorService executor;
+    private final boolean isExternalExecutor;
+    private final ExecutorService downloadExecutor;
+
+    public JmClientFactory(JmConfiguration config) {
+        if (config == null) {
+            throw new IllegalArgumentException("Configuration cannot be null.");
+        }
+        this.config = config;
+        this.domainManager = OkHttpBuilder.newDomainManager(config);
+        this.baseClient = OkHttpBuilder.buildBase(config, domainManager);
+        int poolSize = (config.getDownloadThreadPoolSize() > 0)
+                ? config.getDownloadThreadPoolSize()
+                : Runtime.getRuntime().availableProcessors();
+        if (config.getExecutor() != null) {
+            this.executor = config.getExecutor();
+            this.isExternalExecutor = true;
+        } else {
+            this.executor = Executors.newFixedThreadPool(poolSize);
+            this.isExternalExecutor = false;
+        }
+        this.downloadExecutor = Executors.newFixedThreadPool(poolSize);
+    }
+
+    /**
+     * 创建一个共享网络基础设施的 JmApiClient 实例
+     *
+     * @return JmApiClient
+     */
+    public JmApiClient newApiClient() {
+        if (config.getClientType() == ClientType.HTML) {
+            throw new IllegalArgumentException("Cannot create ApiClient with HTML client type.");
+        }
+        return new JmApiClient(config, derive());
+    }
+
+    /**
+     * 创建一个共享网络基础设施的 JmHtmlClient 实例
+     *
+     * @return JmHtmlClient
+     */
+    public JmHtmlClient newHtmlClient() {
+        if (config.getClientType() == ClientType.API) {
+            throw new IllegalArgumentException("Cannot create HtmlClient with API client type.");
+        }
+        return new JmHtmlClient(config, derive());
+    }
+
+    public JmConfiguration getConfig() {
+        return config;
+    }
+
+    private OkHttpBuilder.HttpClientContext derive() {
+        if (downloadExecutor.isShutdown()) {
+            throw new IllegalStateException("JmClientFactory has been closed.");
+        }
+        return OkHttpBuilder.derive(baseClient, domainManager, executor, downloadExecutor);
+    }
+
+    /**
+     * 释放共享资源：域名复探任务、线程池、OkHttp 调度器和连接池
+     */
+    @Override
+    public void close() {
+        domainManager.shutdown();
+        shutdownExecutor(downloadExecutor);
+        if (!isExternalExecutor) {
+            shutdownExecutor(executor);
+        }
+        baseClient.dispatcher().executorService().shutdown();
+        baseClient.connectionPool().evictAll();
+    }
+
+    private void shutdownExecutor(ExecutorService executorService) {
+        if (executorService.isShutdown()) {
+            return;
+        }
+        executorService.shutdown();
+        try {
+            long closeTimeoutMs = config.getCloseTimeoutMs();
+            if (!executorService.awaitTermination(closeTimeoutMs, TimeUnit.MILLISECONDS)) {
+                logger.warn("线程池未在 {}ms 内完成所有任务，强制关闭", closeTimeoutMs);
+                executorService.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executorService.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -54,4 +54,14 @@ public final class JmComic {
         OkHttpBuilder.HttpClientContext context = OkHttpBuilder.build(config);
         return new JmHtmlClient(config, context.getClient(), context.getCookieManager(), context.getDomainManager());
     }
+
+    /**
+     * 根据配置创建一个共享连接池、域名管理器和线程池的客户端工厂，适用于多账号等需要多个客户端的场景。
+     *
+     * @param config 客户端的配置对象
+     * @return JmClientFactory
+     */
+    public static JmClientFactory newClientFactory(JmConfiguration config) {
+        return new JmClientFactory(config);
+    }
 }
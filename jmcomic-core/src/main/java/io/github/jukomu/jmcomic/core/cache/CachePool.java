@@ -1,5 +1,6 @@
 package io.github.jukomu.jmcomic.core.cache;
 
+import io.github.jukomu.jmcomic.core.metrics.JmMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,18 +41,54 @@ public final class CachePool<K, V> {
     private final Map<K, Node<K, V>> cacheMap;
     private final Map<Integer, LinkedHashSet<Node<K, V>>> freqMap;
     private final CacheObjectSizer sizer;
+    private final JmMetrics metrics;
 
     private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
     private final ReentrantReadWriteLock.ReadLock readLock = lock.readLock();
     private final ReentrantReadWriteLock.WriteLock writeLock = lock.writeLock();
 
     public CachePool(long capacityInBytes) {
+        this(capacityInBytes, JmMetrics.none());
+    }
+
+    public CachePool(long capacityInBytes, JmMetrics metrics) {
         this.capacity = capacityInBytes;
         this.sizer = new CacheObjectSizer();
         this.currentSize = 0;
         this.minFreq = 0;
         this.cacheMap = new HashMap<>();
         this.freqMap = new HashMap<>();
+        this.metrics = metrics;
+        metrics.gauge(JmMetrics.CACHE_WEIGHT, this, CachePool::getCurrentSize);
+        metrics.gauge(JmMetrics.CACHE_SIZE, this, CachePool::size);
+    }
+
+    /**
+     * 当前缓存占用
+     *
+     * @return 缓存条目的估算总大小，单位: Byte
+     */
+    public long getCurrentSize() {
+        readLock.lock();
+        try {
+            return currentSize;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * 当前缓存条目数
+     *
+     * @return 条目数
+     */
+    public int size() {
+        readLock.lock();
+        try {
+            return cacheMap.size();
+        } finally {
+            readLock.unlock();
+        }
     }
 
     /**
@@ -66,9 +103,11 @@ public final class CachePool<K, V> {
             Node<K, V> node = cacheMap.get(key);
             if (node == null) {
                 logger.debug("Cache MISS for key: {}", key);
+                metrics.cacheAccessed(false);
                 return null;
             }
             logger.debug("Cache HIT for key: {}", key);
+            metrics.cacheAccessed(true);
             // 缓存命中，需要升级锁来更新频率
             readLock.unlock();
             writeLock.lock();
@@ -216,6 +255,7 @@ public final class CachePool<K, V> {
         minFreqSet.remove(nodeToEvict);
         cacheMap.remove(nodeToEvict.key);
         currentSize -= nodeToEvict.weight;
+        metrics.cacheEvicted();
         logger.debug("Cache EVICTED key: {} (freq: {}, weight: {})", nodeToEvict.key, nodeToEvict.freq, nodeToEvict.weight);
     }
 }
@@ -5,9 +5,11 @@ import io.github.jukomu.jmcomic.api.client.JmDownloadClient;
 import io.github.jukomu.jmcomic.api.download.DownloadProgress;
 import io.github.jukomu.jmcomic.api.download.DownloadRequest;
 import io.github.jukomu.jmcomic.api.download.DownloadResult;
+import io.github.jukomu.jmcomic.api.download.enums.ArchiveMode;
 import io.github.jukomu.jmcomic.api.download.enums.TaskState;
 import io.github.jukomu.jmcomic.api.download.enums.TaskType;
 import io.github.jukomu.jmcomic.api.download.task.BaseDownloadTask;
+import io.github.jukomu.jmcomic.api.download.task.TaskObserver;
 import io.github.jukomu.jmcomic.api.enums.ClientType;
 import io.github.jukomu.jmcomic.api.exception.NetworkException;
 import io.github.jukomu.jmcomic.api.exception.ResponseException;
@@ -20,25 +22,38 @@ import io.github.jukomu.jmcomic.core.cache.CachePool;
 import io.github.jukomu.jmcomic.core.config.JmConfiguration;
 import io.github.jukomu.jmcomic.core.constant.JmConstants;
 import io.github.jukomu.jmcomic.core.crypto.JmImageTool;
+import io.github.jukomu.jmcomic.core.download.BandwidthLimiter;
+import io.github.jukomu.jmcomic.core.download.ChapterDirectory;
+import io.github.jukomu.jmcomic.core.download.DownloadJournal;
 import io.github.jukomu.jmcomic.core.download.DownloadManager;
+import io.github.jukomu.jmcomic.core.download.DownloadManifest;
 import io.github.jukomu.jmcomic.core.download.task.AlbumDownloadTask;
 import io.github.jukomu.jmcomic.core.download.task.ImageDownloadTask;
 import io.github.jukomu.jmcomic.core.download.task.PhotoDownloadTask;
+import io.github.jukomu.jmcomic.core.metrics.JmMetrics;
+import io.github.jukomu.jmcomic.core.net.OkHttpBuilder;
 import io.github.jukomu.jmcomic.core.net.model.JmResponse;
 import io.github.jukomu.jmcomic.core.net.provider.DomainProbe;
+import io.github.jukomu.jmcomic.core.net.provider.DomainSnapshot;
 import io.github.jukomu.jmcomic.core.net.provider.JmDomainManager;
+import io.github.jukomu.jmcomic.core.state.JmStateStore;
 import io.github.jukomu.jmcomic.core.strategy.impl.DefaultAlbumPathGenerator;
 import io.github.jukomu.jmcomic.core.strategy.impl.DefaultPhotoPathGenerator;
 import io.github.jukomu.jmcomic.core.util.FileUtils;
+import io.github.jukomu.jmcomic.core.util.JsonUtils;
 import okhttp3.*;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.crypto.Cipher;
 import javax.crypto.KeyGenerator;
 import javax.crypto.SecretKey;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.net.CookieManager;
 import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
@@ -47,8 +62,13 @@ import java.nio.file.StandardCopyOption;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * @author JUKOMU
@@ -63,30 +83,63 @@ public abstract class AbstractJmClient implements JmClient, JmDownloadClient {
     private final Logger logger = LoggerFactory.getLogger(AbstractJmClient.class);
     protected final JmConfiguration config;
     protected final OkHttpClient httpClient;
+    // 从 httpClient 派生的专用客户端，构造时创建一次，与 httpClient 共享连接池和调度器
+    protected final OkHttpClient imageHttpClient;
+    protected final OkHttpClient noRedirectHttpClient;
+    protected final OkHttpClient probeHttpClient;
+    private final OkHttpClient latencyHttpClient;
     private final ExecutorService internalExecutor;
     private final boolean isExternalExecutor;
     protected volatile String loggedInUserName;
     private final CookieManager cookieManager;
     protected final JmDomainManager domainManager;
     protected final CachePool<CacheKey, Object> cachePool;
+    protected final JmStateStore stateStore;
+    protected final JmMetrics metrics;
     private final DownloadManager downloadManager;
+    // 连接池、调度器、域名管理器是否与其他客户端共享（由 JmClientFactory 创建）
+    private final boolean sharedInfrastructure;
     protected String loginHost = JmConstants.PLACEHOLDER_HOST;
     protected SecretKey memorySafeKey;
     // 存储加密后的密码
     protected byte[] encryptedPassword;
 
     protected AbstractJmClient(JmConfiguration config, OkHttpClient httpClient, CookieManager cookieManager, JmDomainManager domainManager) {
+        this(config, new OkHttpBuilder.HttpClientContext(httpClient, domainManager, cookieManager));
+    }
+
+    protected AbstractJmClient(JmConfiguration config, OkHttpBuilder.HttpClientContext context) {
         this.config = Objects.requireNonNull(config);
-        this.httpClient = Objects.requireNonNull(httpClient);
-        this.cookieManager = Objects.requireNonNull(cookieManager);
-        this.domainManager = Objects.requireNonNull(domainManager);
-        this.domainManager.setInitialized(false);
+        this.httpClient = Objects.requireNonNull(context.getClient());
+        this.cookieManager = Objects.requireNonNull(context.getCookieManager());
+        this.domainManager = Objects.requireNonNull(context.getDomainManager());
+        this.sharedInfrastructure = context.isShared();
+        /*
+         * 派生客户端只在这里构建一次，避免每个请求都 newBuilder().build()。
+         * 图片下载用独立的读超时，避免大图因为全局超时太短下不来。
+         */
+        this.imageHttpClient = config.getImageTimeout().equals(config.getTimeout())
+                ? httpClient
+                : httpClient.newBuilder().readTimeout(config.getImageTimeout()).build();
+        this.noRedirectHttpClient = httpClient.newBuilder().followRedirects(false).build();
+        java.time.Duration probeTimeout = java.time.Duration.ofMillis(config.getDomainProbeTimeoutMs());
+        this.probeHttpClient = httpClient.newBuilder()
+                .connectTimeout(probeTimeout)
+                .readTimeout(probeTimeout)
+                .build();
+        // 测延迟不走重试和域名切换拦截器，只测单次请求耗时
+        OkHttpClient.Builder latencyBuilder = probeHttpClient.newBuilder();
+        latencyBuilder.interceptors().clear();
+        this.latencyHttpClient = latencyBuilder.build();
 
         /*
-         * 线程池优先用用户自定义的，没有就按下载线程池大小配置创建，
+         * 线程池优先用共享的或用户自定义的，没有就按下载线程池大小配置创建，
          * 未配置时默认取 CPU 核心数。
          */
-        if (config.getExecutor() != null) {
+        if (context.getExecutor() != null) {
+            this.internalExecutor = context.getExecutor();
+            this.isExternalExecutor = true;
+        } else if (config.getExecutor() != null) {
             this.internalExecutor = config.getExecutor();
             this.isExternalExecutor = true;
         } else {
@@ -98,32 +151,79 @@ public abstract class AbstractJmClient implements JmClient, JmDownloadClient {
         }
         // 根据配置决定 CachePool
         this.cachePool = config.getCachePool();
-        // 初始化 DownloadManager
-        this.downloadManager = new DownloadManager(Executors.newFixedThreadPool((config.getDownloadThreadPoolSize() > 0) ? config.getDownloadThreadPoolSize() : Runtime.getRuntime().availableProcessors()), config.getCloseTimeoutMs());
+        this.stateStore = config.getStateStore();
+        this.metrics = config.getMetrics();
+        // 初始化 DownloadManager，共享模式下复用工厂的下载线程池
+        DownloadJournal journal = openDownloadJournal(config);
+        if (context.getDownloadExecutor() != null) {
+            this.downloadManager = new DownloadManager(context.getDownloadExecutor(), config.getCloseTimeoutMs(), false, journal);
+        } else {
+            this.downloadManager = new DownloadManager(Executors.newFixedThreadPool((config.getDownloadThreadPoolSize() > 0) ? config.getDownloadThreadPoolSize() : Runtime.getRuntime().availableProcessors()), config.getCloseTimeoutMs(), true, journal);
+        }
+        this.downloadManager.setSpeedLimit(config.getDownloadSpeedLimit());
+        metrics.gauge(JmMetrics.DOWNLOAD_ACTIVE_TASKS, downloadManager, DownloadManager::getActiveTaskCount);
+        metrics.gauge(JmMetrics.DOWNLOAD_QUEUED_TASKS, downloadManager, DownloadManager::getQueuedTaskCount);
+        /*
+         * 共享同一个域名管理器的客户端只由第一个执行后台初始化，
+         * 其余客户端直接等待同一个初始化结果。
+         */
+        if (this.domainManager.beginInitialization()) {
+            startBackgroundInitialization();
+        }
+        // 生成一个 128位的 AES 随机密钥
+        try {
+            KeyGenerator keyGen = KeyGenerator.getInstance("AES");
+            keyGen.init(128);
+            this.memorySafeKey = keyGen.generateKey();
+        } catch (Exception e) {
+            logger.error("Failed to init memory safe key", e);
+        }
+    }
+
+    /**
+     * 启动后台异步初始化：更新域名列表 -> 域名探活排掉死域名 -> 启动定期复探 -> 调子类初始化。
+     * 状态存储里有未过期的域名快照时跳过域名更新；快照比复探间隔还新时连探活也跳过。
+     */
+    private void startBackgroundInitialization() {
+        this.domainManager.setInitialized(false);
         /*
-         * 后台异步初始化：更新域名列表 -> 域名探活排掉死域名 -> 启动定期复探 -> 调子类初始化
+         * 快速启动：先用上次保存的域名快照放行请求，
+         * 后台初始化照常进行，完成后覆盖快照中的状态。
          */
+        DomainSnapshot cachedSnapshot = loadDomainSnapshot();
+        if (config.isFastStart()) {
+            this.domainManager.restoreSnapshot(cachedSnapshot);
+        }
         this.internalExecutor.execute(() -> {
             try {
-                this.updateDomains();
+                boolean probeFresh = false;
+                if (cachedSnapshot != null) {
+                    if (!config.isFastStart()) {
+                        // 未开启快速启动时请求仍等到下面的探活完成（或快照足够新）后才放行
+                        this.domainManager.restoreSnapshot(cachedSnapshot, false);
+                    }
+                    probeFresh = cachedSnapshot.ageMillis() < config.getDomainProbeIntervalMs();
+                    logger.info("使用状态存储中的域名列表，跳过域名更新{}", probeFresh ? "和探活" : "");
+                } else {
+                    this.updateDomains();
+                }
                 DomainProbe probe = createDomainProbe();
-                this.domainManager.probeAllDomains(probe);
+                if (!probeFresh) {
+                    this.domainManager.probeAllDomains(probe);
+                }
                 this.domainManager.startPeriodicProbe(probe, config.getDomainProbeIntervalMs());
                 this.domainManager.setInitialized(true);
+                if (!probeFresh) {
+                    saveDomainSnapshot();
+                }
                 this.initialize();
+                this.domainManager.completeInitialization(null);
             } catch (RuntimeException e) {
                 logger.error("后台初始化任务执行失败", e);
+                this.domainManager.completeInitialization(e);
                 throw e;
             }
         });
-        // 生成一个 128位的 AES 随机密钥
-        try {
-            KeyGenerator keyGen = KeyGenerator.getInstance("AES");
-            keyGen.init(128);
-            this.memorySafeKey = keyGen.generateKey();
-        } catch (Exception e) {
-            logger.error("Failed to init memory safe key", e);
-        }
     }
 
     /**
@@ -131,6 +231,18 @@ public abstract class AbstractJmClient implements JmClient, JmDownloadClient {
      */
     protected abstract void initialize();
 
+    /**
+     * 获取后台初始化完成的 Future。
+     * <p>
+     * 未开启快速启动时，请求本身就会阻塞到域名探活完成，一般无需等待；
+     * 开启快速启动后，需要确保使用最新域名列表的调用方可以先 {@code ready().join()}。
+     *
+     * @return 后台初始化完成时完成的 Future，初始化失败时异常完成
+     */
+    public CompletableFuture<Void> ready() {
+        return domainManager.initializationFuture();
+    }
+
     /**
      * 更新域名列表
      */
@@ -159,6 +271,7 @@ public abstract class AbstractJmClient implements JmClient, JmDownloadClient {
     public void reprobeDomains() {
         DomainProbe probe = createDomainProbe();
         this.domainManager.probeAllDomains(probe);
+        saveDomainSnapshot();
     }
 
     /**
@@ -167,7 +280,6 @@ public abstract class AbstractJmClient implements JmClient, JmDownloadClient {
      * value -> 延迟(ms)，-1 表示请求超时
      */
     public Map<String, Integer> getDomainLatency() {
-        long timeoutMs = config.getDomainProbeTimeoutMs();
         Map<String, Integer> result = new ConcurrentHashMap<>();
         List<CompletableFuture<Void>> futures = new ArrayList<>();
         CopyOnWriteArrayList<String> domains = this.domainManager.getDomains();
@@ -180,16 +292,12 @@ public abstract class AbstractJmClient implements JmClient, JmDownloadClient {
                     .url(url)
                     .head()
                     .build();
-            OkHttpClient client = new OkHttpClient.Builder()
-                    .connectTimeout(java.time.Duration.ofMillis(timeoutMs))
-                    .readTimeout(java.time.Duration.ofMillis(timeoutMs))
-                    .build();
             futures.add(CompletableFuture.runAsync(() -> {
                 long start = System.currentTimeMillis();
                 boolean timedOut = false;
                 int latencyMs = 0;
                 try {
-                    try (Response ignored = client.newCall(request).execute()) {
+                    try (Response ignored = latencyHttpClient.newCall(request).execute()) {
                         latencyMs = (int) (System.currentTimeMillis() - start);
                     }
                 } catch (Exception ex) {
@@ -211,26 +319,27 @@ public abstract class AbstractJmClient implements JmClient, JmDownloadClient {
                 .get()
                 .build();
 
-        /*
-         * 图片下载用独立的读超时，避免大图因为全局超时太短下不来。
-         */
-        OkHttpClient imageClient = httpClient;
-        if (!config.getImageTimeout().equals(config.getTimeout())) {
-            imageClient = httpClient.newBuilder()
-                    .readTimeout(config.getImageTimeout())
-                    .build();
-        }
-
-        try (Response response = imageClient.newCall(request).execute()) {
+        try (Response response = imageHttpClient.newCall(request).execute()) {
             JmResponse jmResponse = new JmResponse(response);
-            jmResponse.requireSuccess();
-            byte[] content = jmResponse.getContent();
+            if (!response.isSuccessful()) {
+                // 失败时读出响应体作为错误信息
+                jmResponse.requireSuccess();
+            }
+            byte[] content = readThrottled(jmResponse);
+            if (content.length == 0) {
+                throw new ResponseException("Request failed with code: " + response.code() + ", error message: empty body",
+                        response.code());
+            }
+            metrics.bytesDownloaded(content.length);
             // 如果是.gif，不进行解密（GIF 图片未经过禁漫加密）
             if (image.isGif()) {
                 return content;
             }
             // 对图片进行解密（禁漫图片使用异或/位移等算法加密）
-            return JmImageTool.decryptImage(content, image);
+            long decryptStart = System.nanoTime();
+            byte[] decrypted = JmImageTool.decryptImage(content, image);
+            metrics.operationTimed(JmMetrics.OP_IMAGE_DECRYPT, System.nanoTime() - decryptStart);
+            return decrypted;
         } catch (ResponseException e) {
             throw new ResponseException("Failed to fetch image: " + e.getMessage(), e);
         } catch (IOException e) {
@@ -238,6 +347,46 @@ public abstract class AbstractJmClient implements JmClient, JmDownloadClient {
         }
     }
 
+    /**
+     * 分块读取响应体，每读一块向下载管理器和全局的限速器预约，与任务下载的限速方式一致
+     * <p>
+     * 同步下载不属于任何任务，只受下载管理器和全局的限速约束
+     */
+    private byte[] readThrottled(JmResponse response) throws IOException {
+        BandwidthLimiter[] limiters = {downloadManager.getBandwidthLimiter(), BandwidthLimiter.global()};
+        try (InputStream is = response.openStream()) {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream(8192);
+            byte[] buffer = new byte[8192];
+            int len;
+            while ((len = is.read(buffer)) != -1) {
+                baos.write(buffer, 0, len);
+                throttle(limiters, len);
+            }
+            return baos.toByteArray();
+        }
+    }
+
+    /**
+     * 向各级限速器预约读到的字节数，按最慢的一级等待
+     */
+    private void throttle(BandwidthLimiter[] limiters, int bytes) throws IOException {
+        long waitNanos = 0;
+        for (BandwidthLimiter limiter : limiters) {
+            waitNanos = Math.max(waitNanos, limiter.reserve(bytes));
+        }
+        if (waitNanos <= 0) {
+            return;
+        }
+        long deadline = System.nanoTime() + waitNanos;
+        while (waitNanos > 0) {
+            LockSupport.parkNanos(waitNanos);
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException("Interrupted while throttling image download");
+            }
+            waitNanos = deadline - System.nanoTime();
+        }
+    }
+
     /**
      * 根据本子id生成封面url
      *
@@ -305,6 +454,102 @@ public abstract class AbstractJmClient implements JmClient, JmDownloadClient {
         }
     }
 
+    // == 批量获取实现 ==
+
+    @Override
+    public JmBatchResult<JmAlbum> getAlbums(Collection<String> albumIds) {
+        return BatchFetcher.collect(albumIds, this::getCachedJmAlbum, this::getAlbum, config.getBatchConcurrency());
+    }
+
+    @Override
+    public Stream<JmBatchItem<JmAlbum>> streamAlbums(Collection<String> albumIds) {
+        return BatchFetcher.stream(albumIds, this::getCachedJmAlbum, this::getAlbum, config.getBatchConcurrency());
+    }
+
+    @Override
+    public JmBatchResult<JmPhoto> getPhotos(Collection<String> photoIds) {
+        return BatchFetcher.collect(photoIds, this::getCachedJmPhoto, this::getPhoto, config.getBatchConcurrency());
+    }
+
+    @Override
+    public Stream<JmBatchItem<JmPhoto>> streamPhotos(Collection<String> photoIds) {
+        return BatchFetcher.stream(photoIds, this::getCachedJmPhoto, this::getPhoto, config.getBatchConcurrency());
+    }
+
+    // == 分页遍历实现 ==
+
+    @Override
+    public Stream<JmAlbumMeta> streamSearch(SearchQuery query) {
+        return paginate(page -> search(query.toBuilder().page(page).build()),
+                JmSearchPage::getContent, JmSearchPage::getTotalPages, query.getPage());
+    }
+
+    @Override
+    public Stream<JmAlbumMeta> streamCategories(SearchQuery query) {
+        return paginate(page -> getCategories(query.toBuilder().page(page).build()),
+                JmSearchPage::getContent, JmSearchPage::getTotalPages, query.getPage());
+    }
+
+    @Override
+    public Stream<JmAlbumMeta> streamFavorites(FavoriteQuery query) {
+        return paginate(page -> getFavorites(query.toBuilder().page(page).build()),
+                JmFavoritePage::getContent, JmFavoritePage::getTotalPages, query.getPage());
+    }
+
+    @Override
+    public Stream<JmComment> streamComments(ForumQuery query) {
+        return paginate(page -> getComments(query.toBuilder().page(page).build()),
+                JmCommentList::getList,
+                list -> PagePrefetcher.lastPage(list.getTotal(), JmConstants.PAGE_SIZE_FORUM), query.getPage());
+    }
+
+    @Override
+    public Stream<JmAlbumMeta> streamLatest() {
+        // 最新列表不返回总数，只能取到空页为止
+        return paginate(this::getLatest, JmSearchPage::getContent, page -> PagePrefetcher.UNKNOWN_LAST_PAGE, 1);
+    }
+
+    @Override
+    public Stream<JmAlbumMeta> streamSerialization() {
+        return paginate(this::getSerialization, JmSearchPage::getContent,
+                page -> PagePrefetcher.UNKNOWN_LAST_PAGE, 1);
+    }
+
+    @Override
+    public Stream<JmTrackingItem> streamAlbumTrackingList() {
+        return paginate(this::getAlbumTrackingList, JmTrackingPage::getItem,
+                first -> lastPageBySize(NumberUtils.toInt(first.getTotalCnt()), first.getItem()), 1);
+    }
+
+    /**
+     * 创建按页预取的结果流，同时预取的页数由 {@link JmConfiguration#getPagePrefetch()} 控制。
+     *
+     * @param loader     获取指定页码的一页
+     * @param content    取出一页中的条目
+     * @param lastPageOf 从第一页得到最后一页的页码，返回负数表示未知，此时取到空页为止
+     * @param startPage  起始页码
+     * @return 按页码顺序排列的条目流
+     */
+    protected <P, T> Stream<T> paginate(IntFunction<P> loader, Function<P, List<T>> content,
+                                        ToIntFunction<P> lastPageOf, int startPage) {
+        ToIntFunction<P> normalized = page -> Math.max(lastPageOf.applyAsInt(page), PagePrefetcher.UNKNOWN_LAST_PAGE);
+        return PagePrefetcher.stream(loader, content, normalized, startPage, config.getPagePrefetch());
+    }
+
+    /**
+     * 接口没有固定页大小时，以第一页的条数作为页大小估算最后一页的页码
+     *
+     * @param totalItems 结果总数
+     * @param firstPage  第一页的条目
+     * @return 最后一页的页码
+     */
+    protected static int lastPageBySize(int totalItems, List<?> firstPage) {
+        if (firstPage == null || firstPage.isEmpty()) {
+            return 0;
+        }
+        return PagePrefetcher.lastPage(totalItems, firstPage.size());
+    }
+
     // == 便利操作层实现 ==
 
     @Override
@@ -321,7 +566,7 @@ public abstract class AbstractJmClient implements JmClient, JmDownloadClient {
 
     @Override
     public void downloadImage(JmImage image, Path path) throws IOException {
-        logger.info("开始下载图片: {}", image.getFilename());
+        logger.debug("开始下载图片: {}", image.getFilename());
         if (Files.isDirectory(path)) {
             // 路径为目录则拼接文件名（净化非法字符）
             path = path.resolve(FileUtils.sanitizeFilename(image.filename()));
@@ -345,6 +590,11 @@ public abstract class AbstractJmClient implements JmClient, JmDownloadClient {
             }
             return;
         }
+        // 图片存储中已有（之前下载到过别的目录），直接放置过来
+        if (config.getImageStore().placeInto(image.getPhotoId(), image.getFilename(), path)) {
+            logger.info("图片 {} 已从图片存储放置到 {}", image.getFilename(), path);
+            return;
+        }
         byte[] imageBytes = fetchImageBytes(image);
         // 确保路径存在
         if (path.getParent() != null) {
@@ -361,7 +611,42 @@ public abstract class AbstractJmClient implements JmClient, JmDownloadClient {
         } catch (AtomicMoveNotSupportedException e) {
             Files.move(tmpPath, path, StandardCopyOption.REPLACE_EXISTING);
         }
-        logger.info("图片 {} 下载完成", image.getFilename());
+        config.getImageStore().put(image.getPhotoId(), image.getFilename(), path, imageBytes);
+        logger.debug("图片 {} 下载完成", image.getFilename());
+    }
+
+    private ChapterDirectory prepareChapterDirectory(Path path) {
+        ChapterDirectory chapter = new ChapterDirectory(path);
+        try {
+            chapter.prepare();
+            return chapter;
+        } catch (IOException e) {
+            logger.warn("准备下载目录 {} 失败: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 下载到已准备好的章节目录，按目录列表判断是否已存在，不再逐张检查、创建目录
+     */
+    private void downloadImage(JmImage image, ChapterDirectory chapter) throws IOException {
+        logger.debug("开始下载图片: {}", image.getFilename());
+        String filename = FileUtils.sanitizeFilename(image.filename());
+        if (chapter.contains(filename)) {
+            logger.info("图片 {} 已存在，跳过下载", image.getFilename());
+            chapter.deleteStaleTemp(filename);
+            return;
+        }
+        Path path = chapter.getPath().resolve(filename);
+        if (config.getImageStore().placeInto(image.getPhotoId(), image.getFilename(), path)) {
+            logger.info("图片 {} 已从图片存储放置到 {}", image.getFilename(), path);
+            chapter.added(filename);
+            return;
+        }
+        byte[] imageBytes = fetchImageBytes(image);
+        chapter.write(filename, imageBytes);
+        config.getImageStore().put(image.getPhotoId(), image.getFilename(), path, imageBytes);
+        logger.debug("图片 {} 下载完成", image.getFilename());
     }
 
     @Override
@@ -418,13 +703,19 @@ public abstract class AbstractJmClient implements JmClient, JmDownloadClient {
 
         // 尝试从缓存获取 albumTitle（downloadPhoto 调用前 album 大概率已被缓存）
         String albumTitle = resolveAlbumTitle(photo.getAlbumId());
+        // 目录只创建、列出一次，准备失败时由各图片自行检查
+        ChapterDirectory chapter = prepareChapterDirectory(path);
 
         // 一次性提交所有图片任务，由线程池自身控制并发
         for (JmImage image : photo.images()) {
             CompletableFuture<Path> future = CompletableFuture.supplyAsync(() -> {
                 try {
                     Path destination = path.resolve(FileUtils.sanitizeFilename(image.filename()));
-                    downloadImage(image, destination);
+                    if (chapter != null) {
+                        downloadImage(image, chapter);
+                    } else {
+                        downloadImage(image, destination);
+                    }
                     if (callback != null) {
                         int completed = completedImages.incrementAndGet();
                         callback.accept(new DownloadProgress(
@@ -606,12 +897,18 @@ public abstract class AbstractJmClient implements JmClient, JmDownloadClient {
             int photoTotal = fullPhoto.images().size();
             int currentTotal = totalImages.addAndGet(photoTotal);
             AtomicInteger photoCompleted = new AtomicInteger(0);
+            // 每个章节的目录只创建、列出一次，准备失败时由各图片自行检查
+            ChapterDirectory chapter = prepareChapterDirectory(photoPath);
 
             for (JmImage image : fullPhoto.images()) {
                 CompletableFuture<Path> imgFuture = CompletableFuture.supplyAsync(() -> {
                     try {
                         Path destination = photoPath.resolve(FileUtils.sanitizeFilename(image.filename()));
-                        downloadImage(image, destination);
+                        if (chapter != null) {
+                            downloadImage(image, chapter);
+                        } else {
+                            downloadImage(image, destination);
+                        }
                         if (callback != null) {
                             int completed = completedImages.incrementAndGet();
                             int pc = photoCompleted.incrementAndGet();
@@ -749,6 +1046,10 @@ public abstract class AbstractJmClient implements JmClient, JmDownloadClient {
             Path resolvedPath = req.getPath() != null
                     ? req.getPath()
                     : new DefaultAlbumPathGenerator().generatePath(album);
+            ArchiveMode mode = req.getArchiveMode() != null ? req.getArchiveMode() : config.getDownloadArchiveMode();
+            if (mode != ArchiveMode.NONE) {
+                return downloadWithTask(createAlbumTask(album, resolvedPath, mode), req.getProgressCallback());
+            }
             ExecutorService exec = req.getExecutorService() != null
                     ? req.getExecutorService()
                     : this.internalExecutor;
@@ -764,6 +1065,12 @@ public abstract class AbstractJmClient implements JmClient, JmDownloadClient {
             Path photoPath = req.getPath() != null
                     ? req.getPath()
                     : albumPath.resolve(new DefaultPhotoPathGenerator().generatePath(photo));
+            ArchiveMode mode = req.getArchiveMode() != null ? req.getArchiveMode() : config.getDownloadArchiveMode();
+            if (mode != ArchiveMode.NONE) {
+                PhotoDownloadTask task = createPhotoTask(photo, photoPath);
+                task.writeToArchive(parentAlbum);
+                return downloadWithTask(task, req.getProgressCallback());
+            }
             ExecutorService exec = req.getExecutorService() != null
                     ? req.getExecutorService()
                     : this.internalExecutor;
@@ -771,25 +1078,89 @@ public abstract class AbstractJmClient implements JmClient, JmDownloadClient {
         });
     }
 
+    /**
+     * 通过下载管理器执行任务并等待结束，用于写入归档的 DownloadRequest
+     *
+     * @param task     尚未提交的任务
+     * @param callback 进度回调，可为 null
+     */
+    private DownloadResult downloadWithTask(BaseDownloadTask task, Consumer<DownloadProgress> callback) {
+        CountDownLatch finished = new CountDownLatch(1);
+        task.addObserver(new TaskObserver() {
+            @Override
+            public void onStateChanged(BaseDownloadTask t, TaskState newState) {
+                if (newState.isTerminal()) {
+                    finished.countDown();
+                }
+            }
+
+            @Override
+            public void onProgressUpdate(BaseDownloadTask t, DownloadProgress progress) {
+                if (callback != null) {
+                    callback.accept(progress);
+                }
+            }
+
+            @Override
+            public void onFinished(BaseDownloadTask t, DownloadResult result) {
+            }
+
+            @Override
+            public void onError(BaseDownloadTask t, Exception e) {
+            }
+        });
+        downloadManager.submit(task);
+        try {
+            finished.await();
+        } catch (InterruptedException e) {
+            task.cancel();
+            Thread.currentThread().interrupt();
+        }
+        DownloadResult result = task.getCurrentDownloadResult();
+        logger.info("任务 {} 下载结束: {}. 成功图片数: {}, 失败图片数: {}", task.getTaskId(), task.currentState(),
+                result.getSuccessfulFiles().size(), result.getFailedTasks().size());
+        return result;
+    }
+
     @Override
     public BaseDownloadTask createDownloadTask(JmAlbum album, Path path) {
+        return createDownloadTask(album, path, config.getDownloadArchiveMode());
+    }
+
+    @Override
+    public BaseDownloadTask createDownloadTask(JmAlbum album, Path path, ArchiveMode mode) {
+        return createAlbumTask(album, path.resolve(album.getId()), mode);
+    }
+
+    /**
+     * 创建本子任务，章节目录位于 path 下
+     */
+    private AlbumDownloadTask createAlbumTask(JmAlbum album, Path path, ArchiveMode mode) {
         AlbumDownloadTask albumDownloadTask = new AlbumDownloadTask(album, downloadManager);
-        path = path.resolve(album.getId());
-        int totalPhotos = album.photoMetas().size();
+        albumDownloadTask.setDirectory(path);
+        if (mode == ArchiveMode.NONE) {
+            useManifest(albumDownloadTask, path);
+        }
         // 辅助线程池
         ExecutorService executor = Executors.newFixedThreadPool(2);
         try {
-            // 并发拉取所有章节详情
+            // 并发拉取所有章节详情，下载清单中已完整下载的章节直接跳过，不再获取
             List<JmPhotoMeta> photoMetas = album.photoMetas();
             ExecutorCompletionService<JmPhoto> completionService = new ExecutorCompletionService<>(executor);
             ConcurrentHashMap<Future<JmPhoto>, String> futureToPhotoId = new ConcurrentHashMap<>();
+            List<BaseDownloadTask> childTasks = new ArrayList<>();
             for (JmPhotoMeta photoMeta : photoMetas) {
+                PhotoDownloadTask skipped = albumDownloadTask.skippedPhotoTask(photoMeta);
+                if (skipped != null) {
+                    childTasks.add(skipped);
+                    continue;
+                }
                 String id = photoMeta.id();
                 Future<JmPhoto> future = completionService.submit(() -> getPhoto(id));
                 futureToPhotoId.put(future, id);
             }
 
-            List<BaseDownloadTask> childTasks = new ArrayList<>();
+            int totalPhotos = futureToPhotoId.size();
             for (int i = 0; i < totalPhotos; i++) {
                 // completionService.take() 阻塞等待任意一个章节获取完成
                 Future<JmPhoto> future;
@@ -811,27 +1182,23 @@ public abstract class AbstractJmClient implements JmClient, JmDownloadClient {
                     for (JmPhotoMeta photoMeta : photoMetas) {
                         if (photoId.equals(photoMeta.getId())) {
                             JmPhoto jmPhoto = new JmPhoto(photoId, photoMeta.getTitle(), album.getId(), null, photoMeta.getSortOrder(), null, null, null, photoMetas.size() == 1);
-                            PhotoDownloadTask photoDownloadTask = new PhotoDownloadTask(jmPhoto, downloadManager);
-                            photoDownloadTask.setType(TaskType.PHOTO);
-                            photoDownloadTask.transitState(TaskState.PENDING, TaskState.FAILED);
-                            photoDownloadTask.recordEndTimestamp();
-                            photoDownloadTask.setParentTask(albumDownloadTask);
-                            photoDownloadTask.addObserver(albumDownloadTask);
-                            childTasks.add(photoDownloadTask);
-                            photoDownloadTask.notifyStateChanged(TaskState.FAILED);
+                            childTasks.add(createFailedPhotoTask(jmPhoto, albumDownloadTask));
                             break;
                         }
                     }
                     continue;
                 }
 
-                BaseDownloadTask task = createDownloadTask(fullPhoto, path);
+                BaseDownloadTask task = createDownloadTask(fullPhoto, path, ArchiveMode.NONE);
                 task.setParentTask(albumDownloadTask);
                 task.addObserver(albumDownloadTask);
                 childTasks.add(task);
             }
             albumDownloadTask.setChildTasks(childTasks);
             albumDownloadTask.setType(TaskType.ALBUM);
+            if (mode != ArchiveMode.NONE) {
+                albumDownloadTask.writeToArchive(mode);
+            }
             return albumDownloadTask;
         } finally {
             executor.shutdown();
@@ -847,13 +1214,56 @@ public abstract class AbstractJmClient implements JmClient, JmDownloadClient {
 
     }
 
+    @Override
+    public BaseDownloadTask createStreamingDownloadTask(JmAlbum album, Path path) {
+        AlbumDownloadTask albumDownloadTask = new AlbumDownloadTask(album, downloadManager);
+        Path albumPath = path.resolve(album.getId());
+        albumDownloadTask.setDirectory(albumPath);
+        albumDownloadTask.setType(TaskType.ALBUM);
+        if (config.getDownloadArchiveMode() == ArchiveMode.NONE) {
+            useManifest(albumDownloadTask, albumPath);
+        }
+        albumDownloadTask.streamChildTasks(photoMeta -> createDownloadTask(getPhoto(photoMeta.getId()), albumPath, ArchiveMode.NONE));
+        if (config.getDownloadArchiveMode() != ArchiveMode.NONE) {
+            // 章节挂上时由本子任务设置归档
+            albumDownloadTask.writeToArchive(config.getDownloadArchiveMode());
+        }
+        return albumDownloadTask;
+    }
+
+    /**
+     * 开启了下载清单时读入本子目录下的清单
+     */
+    private void useManifest(AlbumDownloadTask albumDownloadTask, Path albumPath) {
+        if (config.isDownloadManifestEnabled()) {
+            albumDownloadTask.useManifest(DownloadManifest.load(albumPath));
+        }
+    }
+
     @Override
     public BaseDownloadTask createDownloadTask(JmPhoto photo, Path path) {
+        return createDownloadTask(photo, path, config.getDownloadArchiveMode());
+    }
+
+    @Override
+    public BaseDownloadTask createDownloadTask(JmPhoto photo, Path path, ArchiveMode mode) {
+        PhotoDownloadTask task = createPhotoTask(photo, photo.isSingleAlbum() ? path : path.resolve(photo.getId()));
+        if (mode != ArchiveMode.NONE) {
+            // 本子已缓存时用于填写 ComicInfo.xml，不为此单独请求
+            task.writeToArchive(photo.getAlbumId() != null ? getCachedJmAlbum(photo.getAlbumId()) : null);
+        }
+        return task;
+    }
+
+    /**
+     * 创建章节任务，图片直接下载到 directory 下
+     */
+    private PhotoDownloadTask createPhotoTask(JmPhoto photo, Path directory) {
         PhotoDownloadTask photoDownloadTask = new PhotoDownloadTask(photo, downloadManager);
-        path = photo.isSingleAlbum() ? path : path.resolve(photo.getId());
+        photoDownloadTask.setDirectory(directory);
         List<BaseDownloadTask> childTasks = new ArrayList<>();
         for (JmImage image : photo.getImages()) {
-            BaseDownloadTask task = createDownloadTask(image, path);
+            BaseDownloadTask task = createDownloadTask(image, directory);
             task.setParentTask(photoDownloadTask);
             task.addObserver(photoDownloadTask);
             childTasks.add(task);
@@ -863,9 +1273,23 @@ public abstract class AbstractJmClient implements JmClient, JmDownloadClient {
         return photoDownloadTask;
     }
 
+    /**
+     * 创建章节详情获取失败的章节任务，直接处于失败状态
+     */
+    private PhotoDownloadTask createFailedPhotoTask(JmPhoto photo, AlbumDownloadTask albumDownloadTask) {
+        PhotoDownloadTask photoDownloadTask = new PhotoDownloadTask(photo, downloadManager);
+        photoDownloadTask.setType(TaskType.PHOTO);
+        photoDownloadTask.transitState(TaskState.PENDING, TaskState.FAILED);
+        photoDownloadTask.recordEndTimestamp();
+        photoDownloadTask.setParentTask(albumDownloadTask);
+        photoDownloadTask.addObserver(albumDownloadTask);
+        photoDownloadTask.notifyStateChanged(TaskState.FAILED);
+        return photoDownloadTask;
+    }
+
     @Override
     public BaseDownloadTask createDownloadTask(JmImage image, Path path) {
-        ImageDownloadTask task = new ImageDownloadTask(image, httpClient, path.resolve(image.getFilename()), path.resolve(image.getFilename() + ".tmp"), config.getImageTimeout(), downloadManager);
+        ImageDownloadTask task = new ImageDownloadTask(image, imageHttpClient, path, downloadManager, metrics, config.getImageStore());
         task.setType(TaskType.IMAGE);
         return task;
     }
@@ -875,6 +1299,107 @@ public abstract class AbstractJmClient implements JmClient, JmDownloadClient {
         return this.downloadManager;
     }
 
+    // == 下载日志恢复 ==
+
+    private DownloadJournal openDownloadJournal(JmConfiguration config) {
+        if (config.getDownloadJournalFile() == null) {
+            return null;
+        }
+        try {
+            return DownloadJournal.open(config.getDownloadJournalFile());
+        } catch (IOException e) {
+            logger.warn("打开下载日志 {} 失败，本次不记录下载日志: {}", config.getDownloadJournalFile(), e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public List<BaseDownloadTask> recoverDownloadTasks() {
+        DownloadJournal journal = downloadManager.getJournal();
+        if (journal == null) {
+            return new ArrayList<>();
+        }
+        List<BaseDownloadTask> tasks = new ArrayList<>();
+        for (DownloadJournal.Entry entry : journal.getPendingEntries()) {
+            BaseDownloadTask task;
+            try {
+                task = recoverDownloadTask(entry);
+            } catch (RuntimeException e) {
+                logger.warn("恢复下载任务 {} 失败: {}", entry.getKey(), e.getMessage());
+                continue;
+            }
+            if (task == null) {
+                continue;
+            }
+            // 上次已完成的图片直接跳过，不再检查文件
+            for (BaseDownloadTask imageTask : imageTasksOf(task)) {
+                JmImage image = ((ImageDownloadTask) imageTask).getImage();
+                if (entry.isDone(image.getPhotoId(), image.getFilename())) {
+                    ((ImageDownloadTask) imageTask).markDownloaded();
+                }
+            }
+            downloadManager.registerRecovered(task, entry.getKey());
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    private BaseDownloadTask recoverDownloadTask(DownloadJournal.Entry entry) {
+        List<DownloadJournal.PhotoEntry> photos = entry.getPhotos();
+        switch (entry.getType()) {
+            case ALBUM: {
+                AlbumDownloadTask albumDownloadTask = new AlbumDownloadTask(entry.getAlbum(), downloadManager);
+                albumDownloadTask.setDirectory(entry.getDirectory());
+                albumDownloadTask.setType(TaskType.ALBUM);
+                useManifest(albumDownloadTask, entry.getDirectory());
+                List<BaseDownloadTask> childTasks = new ArrayList<>();
+                for (DownloadJournal.PhotoEntry photoEntry : photos) {
+                    JmPhoto photo = photoEntry.getPhoto();
+                    if (photo.getImages() == null) {
+                        // 上次章节详情就没有获取到，只有这种情况需要重新获取
+                        try {
+                            photo = getPhoto(photo.getId());
+                        } catch (RuntimeException e) {
+                            childTasks.add(createFailedPhotoTask(photo, albumDownloadTask));
+                            continue;
+                        }
+                        BaseDownloadTask task = createDownloadTask(photo, entry.getDirectory(), ArchiveMode.NONE);
+                        task.setParentTask(albumDownloadTask);
+                        task.addObserver(albumDownloadTask);
+                        childTasks.add(task);
+                        continue;
+                    }
+                    PhotoDownloadTask task = createPhotoTask(photo, photoEntry.getDirectory());
+                    task.setParentTask(albumDownloadTask);
+                    task.addObserver(albumDownloadTask);
+                    childTasks.add(task);
+                }
+                albumDownloadTask.setChildTasks(childTasks);
+                return albumDownloadTask;
+            }
+            case PHOTO:
+                return photos.isEmpty() ? null : createPhotoTask(photos.get(0).getPhoto(), photos.get(0).getDirectory());
+            case IMAGE:
+                if (photos.isEmpty() || photos.get(0).getPhoto().getImages().isEmpty()) {
+                    return null;
+                }
+                return createDownloadTask(photos.get(0).getPhoto().getImages().get(0), photos.get(0).getDirectory());
+            default:
+                return null;
+        }
+    }
+
+    private static List<BaseDownloadTask> imageTasksOf(BaseDownloadTask task) {
+        if (task instanceof ImageDownloadTask) {
+            return List.of(task);
+        }
+        List<BaseDownloadTask> images = new ArrayList<>();
+        for (BaseDownloadTask child : task.getChildTasks()) {
+            images.addAll(imageTasksOf(child));
+        }
+        return images;
+    }
+
     // == 辅助方法==
 
     /**
@@ -988,6 +1513,16 @@ public abstract class AbstractJmClient implements JmClient, JmDownloadClient {
         return (JmPhoto) cachePool.get(CacheKey.of(JmPhoto.class, photoId));
     }
 
+    /**
+     * 清除本子缓存，下次 {@link #getAlbum(String)} 会重新请求。
+     * 用于已知本子有更新（如连载新增章节）的场景。
+     *
+     * @param albumId 本子id
+     */
+    public void evictCachedAlbum(String albumId) {
+        cachePool.remove(CacheKey.of(JmAlbum.class, albumId));
+    }
+
     /**
      * 获取收藏夹缓存
      *
@@ -1042,6 +1577,57 @@ public abstract class AbstractJmClient implements JmClient, JmDownloadClient {
         return cached != null ? cached.getTitle() : "";
     }
 
+    // == 状态存储辅助方法 ==
+
+    /**
+     * 状态存储中的条目键，API/HTML 客户端分别保存。
+     *
+     * @param name 条目名
+     * @return 带客户端类型前缀的键
+     */
+    protected String stateKey(String name) {
+        return config.getClientType().name().toLowerCase() + "." + name;
+    }
+
+    /**
+     * 从状态存储读取域名快照。
+     *
+     * @return 未过期的域名快照，不存在或解析失败时返回 null
+     */
+    private DomainSnapshot loadDomainSnapshot() {
+        String json = stateStore.get(stateKey("domains"));
+        if (json == null) {
+            return null;
+        }
+        try {
+            DomainSnapshot snapshot = JsonUtils.fromJson(json, DomainSnapshot.class);
+            if (snapshot == null || snapshot.getDomains().isEmpty()) {
+                return null;
+            }
+            // 条目有效期随探活结果续写，这里按域名列表的获取时间再判断一次
+            long listAge = System.currentTimeMillis() - snapshot.getDiscoveredAt();
+            return listAge < config.getStateTtl().toMillis() ? snapshot : null;
+        } catch (RuntimeException e) {
+            logger.warn("解析域名快照失败: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 将当前域名列表和探活结果写入状态存储，供下次启动或其他客户端直接使用。
+     * 有效期从域名列表的获取时间算起，过期后下次启动会重新获取域名列表。
+     */
+    private void saveDomainSnapshot() {
+        if (!domainManager.isInitialized()) {
+            return;
+        }
+        long remainingMs = config.getStateTtl().toMillis() - (System.currentTimeMillis() - domainManager.getDiscoveredAt());
+        if (remainingMs > 0) {
+            DomainSnapshot snapshot = domainManager.snapshot();
+            stateStore.put(stateKey("domains"), JsonUtils.toJson(snapshot), java.time.Duration.ofMillis(remainingMs));
+        }
+    }
+
     // == 资源管理实现 ==
 
     /**
@@ -1050,7 +1636,6 @@ public abstract class AbstractJmClient implements JmClient, JmDownloadClient {
      * 当前默认实现无法正确探活，403 返回会被拦截。
      */
     protected DomainProbe createDomainProbe() {
-        long timeoutMs = config.getDomainProbeTimeoutMs();
         return domain -> {
             try {
                 HttpUrl url = new HttpUrl.Builder()
@@ -1061,11 +1646,7 @@ public abstract class AbstractJmClient implements JmClient, JmDownloadClient {
                         .url(url)
                         .head()
                         .build();
-                OkHttpClient probeClient = httpClient.newBuilder()
-                        .connectTimeout(java.time.Duration.ofMillis(timeoutMs))
-                        .readTimeout(java.time.Duration.ofMillis(timeoutMs))
-                        .build();
-                try (Response response = probeClient.newCall(request).execute()) {
+                try (Response response = probeHttpClient.newCall(request).execute()) {
                     // 响应码 < 500 视为可达（4xx 说明服务器在线，仅权限/路径问题）
                     return response.code() < 500;
                 }
@@ -1079,8 +1660,12 @@ public abstract class AbstractJmClient implements JmClient, JmDownloadClient {
     public void close() {
         // 关闭 DownloadManager
         downloadManager.close();
-        // 关闭后台域名复探定时任务
-        domainManager.shutdown();
+        // 保存运行期间积累的域名状态
+        saveDomainSnapshot();
+        // 关闭后台域名复探定时任务，共享的域名管理器由 JmClientFactory 关闭
+        if (!sharedInfrastructure) {
+            domainManager.shutdown();
+        }
 
         /*
          * 只关内部创建的线程池，外部传入的由调用方自己管。
@@ -1100,7 +1685,10 @@ public abstract class AbstractJmClient implements JmClient, JmDownloadClient {
             }
         }
 
-        // 清理 OkHttpClient 的线程池、连接池和缓存
+        // 清理 OkHttpClient 的线程池、连接池和缓存，共享的调度器和连接池由 JmClientFactory 清理
+        if (sharedInfrastructure) {
+            return;
+        }
         httpClient.dispatcher().executorService().shutdown();
         httpClient.connectionPool().evictAll();
         try (var cache = httpClient.cache()) {
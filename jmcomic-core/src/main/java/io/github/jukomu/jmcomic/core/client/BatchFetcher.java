@@ -0,0 +1,166 @@
+package io.github.jukomu.jmcomic.core.client;
+
+import io.github.jukomu.jmcomic.api.model.JmBatchItem;
+import io.github.jukomu.jmcomic.api.model.JmBatchResult;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * @author JUKOMU
+ * @Description: 批量获取的执行器
+ * <p>
+ * ID 去重后先查缓存，命中的直接作为结果返回；未命中的放入共享队列，
+ * 由最多 concurrency 个工作线程领取并调用 loader，结果按完成顺序进入结果队列。
+ * 每次批量获取使用独立的线程池，不占用下载线程池，也不会被下载任务饿死。
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+final class BatchFetcher<T> implements Iterator<JmBatchItem<T>> {
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final BlockingQueue<JmBatchItem<T>> completed = new LinkedBlockingQueue<>();
+    private final Queue<String> pending = new ConcurrentLinkedQueue<>();
+    private final Function<String, T> loader;
+    private final int total;
+    private int delivered;
+    private volatile boolean cancelled;
+    private ExecutorService workers;
+
+    private BatchFetcher(Collection<String> ids, Function<String, T> cacheLookup, Function<String, T> loader) {
+        this.loader = loader;
+        Set<String> distinct = new LinkedHashSet<>();
+        for (String id : Objects.requireNonNull(ids, "ids")) {
+            distinct.add(Objects.requireNonNull(id, "id"));
+        }
+        this.total = distinct.size();
+        for (String id : distinct) {
+            T cached = cacheLookup.apply(id);
+            if (cached != null) {
+                completed.add(JmBatchItem.success(id, cached));
+            } else {
+                pending.add(id);
+            }
+        }
+    }
+
+    /**
+     * 开始批量获取，立即返回结果流
+     *
+     * @param ids         要获取的 ID，重复的只获取一次
+     * @param cacheLookup 查缓存，未命中返回 null
+     * @param loader      获取单个 ID，失败时抛出异常
+     * @param concurrency 最大并发数
+     * @return 按完成顺序排列的结果流，关闭时取消未开始的获取
+     */
+    static <T> Stream<JmBatchItem<T>> stream(Collection<String> ids, Function<String, T> cacheLookup,
+                                            Function<String, T> loader, int concurrency) {
+        BatchFetcher<T> fetcher = new BatchFetcher<>(ids, cacheLookup, loader);
+        fetcher.start(concurrency);
+        Spliterator<JmBatchItem<T>> spliterator = Spliterators.spliterator(fetcher, fetcher.total,
+                Spliterator.NONNULL | Spliterator.DISTINCT);
+        return StreamSupport.stream(spliterator, false).onClose(fetcher::cancel);
+    }
+
+    /**
+     * 批量获取并等待全部完成，成功的结果按 ID 的请求顺序排列
+     */
+    static <T> JmBatchResult<T> collect(Collection<String> ids, Function<String, T> cacheLookup,
+                                        Function<String, T> loader, int concurrency) {
+        Map<String, T> loaded = new HashMap<>();
+        Map<String, Exception> failures = new LinkedHashMap<>();
+        try (Stream<JmBatchItem<T>> items = stream(ids, cacheLookup, loader, concurrency)) {
+            items.forEach(item -> {
+                if (item.isSuccess()) {
+                    loaded.put(item.id(), item.value());
+                } else {
+                    failures.put(item.id(), item.error());
+                }
+            });
+        }
+        Map<String, T> results = new LinkedHashMap<>();
+        for (String id : ids) {
+            T value = loaded.get(id);
+            if (value != null) {
+                results.putIfAbsent(id, value);
+            }
+        }
+        return new JmBatchResult<>(results, failures);
+    }
+
+    private void start(int concurrency) {
+        int threads = Math.min(concurrency, pending.size());
+        if (threads <= 0) {
+            return;
+        }
+        workers = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "jmcomic-batch-" + THREAD_COUNTER.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        for (int i = 0; i < threads; i++) {
+            workers.execute(this::drain);
+        }
+        workers.shutdown();
+    }
+
+    private void drain() {
+        String id = null;
+        try {
+            while (!cancelled && (id = pending.poll()) != null) {
+                JmBatchItem<T> item;
+                try {
+                    item = JmBatchItem.success(id, loader.apply(id));
+                } catch (Exception e) {
+                    item = JmBatchItem.failure(id, e);
+                }
+                completed.add(item);
+                id = null;
+            }
+        } catch (Throwable t) {
+            // Error 会结束工作线程，当前和剩余的 ID 都记为失败，否则 next() 会一直等待
+            CompletionException error = new CompletionException(t);
+            if (id != null) {
+                completed.add(JmBatchItem.failure(id, error));
+            }
+            String rest;
+            while ((rest = pending.poll()) != null) {
+                completed.add(JmBatchItem.failure(rest, error));
+            }
+            throw t;
+        }
+    }
+
+    private void cancel() {
+        cancelled = true;
+        if (workers != null) {
+            workers.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return delivered < total;
+    }
+
+    @Override
+    public JmBatchItem<T> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            JmBatchItem<T> item = completed.take();
+            delivered++;
+            return item;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel();
+            throw new CancellationException("批量获取被中断");
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package io.github.jukomu.jmcomic.core.client;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * @author JUKOMU
+ * @Description: 分页结果的预取迭代器
+ * <p>
+ * 第一页在调用方线程同步获取，从中得到最后一页的页码；之后始终保持最多 prefetch 页在后台获取，
+ * 调用方每消费一页才补发下一页，消费慢时不会无限制地堆积请求。
+ * 无法从第一页得知总页数时按顺序推测预取，遇到空页即结束，多取的页会被丢弃。
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+final class PagePrefetcher<P, T> implements Iterator<T> {
+
+    /**
+     * 总页数未知
+     */
+    static final int UNKNOWN_LAST_PAGE = -1;
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    /**
+     * 预取线程的空闲存活时间（秒），流被放弃而未关闭时线程在此之后自行退出
+     */
+    private static final long WORKER_KEEP_ALIVE_SECONDS = 5;
+
+    private final IntFunction<P> loader;
+    private final Function<P, List<T>> content;
+    private final ToIntFunction<P> lastPageOf;
+    private final int prefetch;
+    private final Deque<Future<P>> window = new ArrayDeque<>();
+    private Iterator<T> current = Collections.emptyIterator();
+    private int nextPage;
+    private int lastPage = UNKNOWN_LAST_PAGE;
+    private boolean started;
+    private boolean exhausted;
+    private ExecutorService workers;
+
+    private PagePrefetcher(IntFunction<P> loader, Function<P, List<T>> content, ToIntFunction<P> lastPageOf,
+                           int startPage, int prefetch) {
+        this.loader = loader;
+        this.content = content;
+        this.lastPageOf = lastPageOf;
+        this.nextPage = startPage;
+        this.prefetch = prefetch;
+    }
+
+    /**
+     * 创建逐条返回分页内容的流，流被消费时才开始请求
+     *
+     * @param loader     获取指定页码的一页
+     * @param content    取出一页中的条目
+     * @param lastPageOf 从第一页得到最后一页的页码，未知时返回 {@link #UNKNOWN_LAST_PAGE}
+     * @param startPage  起始页码
+     * @param prefetch   最多同时预取的页数
+     * @return 按页码顺序排列的条目流，关闭时取消预取中的请求
+     */
+    static <P, T> Stream<T> stream(IntFunction<P> loader, Function<P, List<T>> content, ToIntFunction<P> lastPageOf,
+                                   int startPage, int prefetch) {
+        PagePrefetcher<P, T> prefetcher = new PagePrefetcher<>(loader, content, lastPageOf, startPage, prefetch);
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(prefetcher,
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(prefetcher::cancel);
+    }
+
+    /**
+     * 按总条数和页大小计算最后一页的页码
+     */
+    static int lastPage(int totalItems, int pageSize) {
+        return totalItems <= 0 ? 0 : (totalItems + pageSize - 1) / pageSize;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            if (exhausted) {
+                return false;
+            }
+            advance();
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    private void advance() {
+        P page;
+        if (!started) {
+            started = true;
+            page = loader.apply(nextPage++);
+            lastPage = lastPageOf.applyAsInt(page);
+        } else if (window.isEmpty()) {
+            finish();
+            return;
+        } else {
+            page = await(window.poll());
+        }
+        List<T> items = content.apply(page);
+        if (items == null || items.isEmpty()) {
+            finish();
+            return;
+        }
+        current = items.iterator();
+        fillWindow();
+    }
+
+    private void fillWindow() {
+        while (window.size() < prefetch && (lastPage == UNKNOWN_LAST_PAGE || nextPage <= lastPage)) {
+            if (workers == null) {
+                // 流可能被 limit()/findFirst() 等提前放弃且不关闭，核心线程也允许超时退出，避免线程累积
+                ThreadPoolExecutor executor = new ThreadPoolExecutor(prefetch, prefetch,
+                        WORKER_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                    Thread t = new Thread(r, "jmcomic-page-" + THREAD_COUNTER.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+                executor.allowCoreThreadTimeOut(true);
+                workers = executor;
+            }
+            int page = nextPage++;
+            window.add(workers.submit(() -> loader.apply(page)));
+        }
+    }
+
+    private P await(Future<P> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel();
+            throw new CancellationException("分页获取被中断");
+        } catch (ExecutionException e) {
+            cancel();
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new CompletionException(cause);
+        }
+    }
+
+    private void finish() {
+        exhausted = true;
+        cancel();
+    }
+
+    private void cancel() {
+        exhausted = true;
+        current = Collections.emptyIterator();
+        for (Future<P> future : window) {
+            future.cancel(true);
+        }
+        window.clear();
+        if (workers != null) {
+            workers.shutdownNow();
+        }
+    }
+}
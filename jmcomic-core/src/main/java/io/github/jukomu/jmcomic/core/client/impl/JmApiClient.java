@@ -1,6 +1,7 @@
 package io.github.jukomu.jmcomic.core.client.impl;
 
 import com.google.gson.*;
+import com.google.gson.reflect.TypeToken;
 import io.github.jukomu.jmcomic.api.client.JmCreatorClient;
 import io.github.jukomu.jmcomic.api.client.JmNovelClient;
 import io.github.jukomu.jmcomic.api.enums.*;
@@ -10,6 +11,8 @@ import io.github.jukomu.jmcomic.core.client.AbstractJmClient;
 import io.github.jukomu.jmcomic.core.config.JmConfiguration;
 import io.github.jukomu.jmcomic.core.constant.JmConstants;
 import io.github.jukomu.jmcomic.core.crypto.JmCryptoTool;
+import io.github.jukomu.jmcomic.core.metrics.JmMetrics;
+import io.github.jukomu.jmcomic.core.net.OkHttpBuilder;
 import io.github.jukomu.jmcomic.core.net.model.JmApiResponse;
 import io.github.jukomu.jmcomic.core.net.model.JmHtmlResponse;
 import io.github.jukomu.jmcomic.core.net.model.JmResponse;
@@ -28,9 +31,11 @@ import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
 import java.time.Instant;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.stream.Stream;
 
 /**
  * @author JUKOMU
@@ -45,10 +50,19 @@ public final class JmApiClient extends AbstractJmClient implements JmNovelClient
 
     private static final Logger logger = LoggerFactory.getLogger(JmApiClient.class);
 
+    // 状态存储中 App 设置的条目名及字段
+    private static final String STATE_SETTING = "setting";
+    private static final String SETTING_VERSION = "jm3_version";
+    private static final String SETTING_IMG_HOST = "img_host";
+
     public JmApiClient(JmConfiguration config, OkHttpClient httpClient, CookieManager cookieManager, JmDomainManager domainManager) {
         super(config, httpClient, cookieManager, domainManager);
     }
 
+    public JmApiClient(JmConfiguration config, OkHttpBuilder.HttpClientContext context) {
+        super(config, context);
+    }
+
     @Override
     protected void initialize() {
         updateSetting();
@@ -97,13 +111,42 @@ public final class JmApiClient extends AbstractJmClient implements JmNovelClient
 
     /**
      * 从服务器拿最新配置，动态更新本地版本号和图片 CDN 域名。
+     * 状态存储中有未过期的配置时直接使用，不再请求 /setting。
      */
     private void updateSetting() {
+        String cachedSetting = stateStore.get(stateKey(STATE_SETTING));
+        if (cachedSetting != null) {
+            try {
+                Map<String, String> cached = JsonUtils.fromJson(cachedSetting,
+                        new TypeToken<Map<String, String>>() {
+                        }.getType());
+                logger.info("使用状态存储中的API客户端设置");
+                applySetting(cached.get(SETTING_VERSION), cached.get(SETTING_IMG_HOST));
+                return;
+            } catch (RuntimeException e) {
+                logger.warn("解析缓存的API客户端设置失败: {}", e.getMessage());
+            }
+        }
+
         logger.info("开始获取最新API客户端设置");
         Map setting = setting();
-        String jm3Version = (String) setting.getOrDefault("jm3_version", null);
-        String imgHost = (String) setting.getOrDefault("img_host", null);
+        String jm3Version = (String) setting.getOrDefault(SETTING_VERSION, null);
+        String imgHost = (String) setting.getOrDefault(SETTING_IMG_HOST, null);
+        applySetting(jm3Version, imgHost);
 
+        Map<String, String> toCache = new HashMap<>();
+        toCache.put(SETTING_VERSION, jm3Version);
+        toCache.put(SETTING_IMG_HOST, imgHost);
+        stateStore.put(stateKey(STATE_SETTING), JsonUtils.toJson(toCache), config.getStateTtl());
+    }
+
+    /**
+     * 应用服务器下发的版本号和图片域名。
+     *
+     * @param jm3Version 服务器版本号
+     * @param imgHost    图片域名
+     */
+    private void applySetting(String jm3Version, String imgHost) {
         // 仅在远程版本号高于本地版本号时更新，避免版本回退
         if (compareVersion(jm3Version, JmConstants.APP_VERSION) > 0) {
             logger.info("当前API客户端版本[{}]，更新API客户端版本[{}] -> [{}]", JmConstants.APP_VERSION, JmConstants.APP_VERSION, jm3Version);
@@ -945,6 +988,7 @@ public final class JmApiClient extends AbstractJmClient implements JmNovelClient
         HttpUrl url = newHttpUrlBuilder()
                 .addPathSegment(JmConstants.API_NOVEL_LIST)
                 .addQueryParameter("o", order != null ? order : "")
+                .addQueryParameter("page", String.valueOf(page))
                 .addQueryParameter("t", String.valueOf(Instant.now().getEpochSecond()))
                 .build();
 
@@ -952,6 +996,13 @@ public final class JmApiClient extends AbstractJmClient implements JmNovelClient
         return ApiParser.parseNovelPage(jmApiResponse.getDecodedData());
     }
 
+    @Override
+    public Stream<JmNovelMeta> streamNovelList(String order) {
+        // 小说列表没有固定页大小，用第一页的条数估算总页数
+        return paginate(page -> getNovelList(order, page), JmNovelPage::getList,
+                first -> lastPageBySize(first.getTotal(), first.getList()), 1);
+    }
+
     @Override
     public JmNovelDetail getNovelDetail(String novelId) {
         HttpUrl url = newHttpUrlBuilder()
@@ -1161,6 +1212,12 @@ public final class JmApiClient extends AbstractJmClient implements JmNovelClient
         }
     }
 
+    @Override
+    public Stream<JmCreatorWorkMeta> streamCreatorWorks(String searchValue, String lang, String source) {
+        return paginate(page -> getCreatorWorks(page, searchValue, lang, source), JmCreatorWorkPage::getList,
+                first -> lastPageBySize(first.getTotal(), first.getList()), 1);
+    }
+
     @Override
     public JmCreatorAuthorWorksPage getCreatorAuthorWorks(String creatorId, String language, String source, int page) {
         HttpUrl.Builder urlBuilder = newHttpUrlBuilder()
@@ -1600,10 +1657,7 @@ public final class JmApiClient extends AbstractJmClient implements JmNovelClient
         String[] token = JmCryptoTool.generateToken(timestamp, secret, "");
         Request request = addAppHeader(getGetRequestBuilder(url), token[0], token[1]).build();
         try {
-            JmResponse response = executeRequest(request);
-            JmApiResponse jmApiResponse = new JmApiResponse(response, timestamp);
-            jmApiResponse.requireSuccess();
-            return jmApiResponse;
+            return toApiResponse(executeRequest(request), timestamp);
         } catch (ResponseException e) {
             // 登录状态失效
             if (e.getMessage().contains("請先登入會員") && StringUtils.isNotBlank(this.loggedInUserName)) {
@@ -1611,10 +1665,7 @@ public final class JmApiClient extends AbstractJmClient implements JmNovelClient
                 this.loginHost = JmConstants.PLACEHOLDER_HOST;
                 login(this.loggedInUserName, decryptPasswordFromMemory());
                 // 重试
-                JmResponse response = executeRequest(request);
-                JmApiResponse jmApiResponse = new JmApiResponse(response, timestamp);
-                jmApiResponse.requireSuccess();
-                return jmApiResponse;
+                return toApiResponse(executeRequest(request), timestamp);
             }
             throw e;
         }
@@ -1631,10 +1682,7 @@ public final class JmApiClient extends AbstractJmClient implements JmNovelClient
         String[] token = JmCryptoTool.generateToken(timestamp, JmConstants.APP_TOKEN_SECRET, JmConstants.APP_VERSION);
         Request request = addAppHeader(getPostRequestBuilder(url, requestBody), token[0], token[1]).build();
         try {
-            JmResponse response = executeRequest(request);
-            JmApiResponse jmApiResponse = new JmApiResponse(response, timestamp);
-            jmApiResponse.requireSuccess();
-            return jmApiResponse;
+            return toApiResponse(executeRequest(request), timestamp);
         } catch (ResponseException e) {
             // 登录状态失效
             if (e.getMessage().contains("請先登入會員") && StringUtils.isNotBlank(this.loggedInUserName)) {
@@ -1642,15 +1690,29 @@ public final class JmApiClient extends AbstractJmClient implements JmNovelClient
                 this.loginHost = JmConstants.PLACEHOLDER_HOST;
                 login(this.loggedInUserName, decryptPasswordFromMemory());
                 // 重试
-                JmResponse response = executeRequest(request);
-                JmApiResponse jmApiResponse = new JmApiResponse(response, timestamp);
-                jmApiResponse.requireSuccess();
-                return jmApiResponse;
+                return toApiResponse(executeRequest(request), timestamp);
             }
             throw e;
         }
     }
 
+    /**
+     * 包装为 API 响应并校验，校验过程包含 JSON 外层解析和数据解密，计入解码耗时指标。
+     *
+     * @param response  原始响应
+     * @param timestamp 请求时使用的时间戳
+     */
+    private JmApiResponse toApiResponse(JmResponse response, String timestamp) {
+        JmApiResponse jmApiResponse = new JmApiResponse(response, timestamp);
+        long start = System.nanoTime();
+        try {
+            jmApiResponse.requireSuccess();
+        } finally {
+            metrics.operationTimed(JmMetrics.OP_API_DECODE, System.nanoTime() - start);
+        }
+        return jmApiResponse;
+    }
+
     /**
      * 给请求添加禁漫 API 认证头（token + token param）。
      *
@@ -1666,7 +1728,6 @@ public final class JmApiClient extends AbstractJmClient implements JmNovelClient
 
     @Override
     protected DomainProbe createDomainProbe() {
-        long timeoutMs = config.getDomainProbeTimeoutMs();
         return domain -> {
             try {
                 HttpUrl url = new HttpUrl.Builder()
@@ -1678,11 +1739,7 @@ public final class JmApiClient extends AbstractJmClient implements JmNovelClient
                         .url(url)
                         .head()
                         .build();
-                OkHttpClient probeClient = httpClient.newBuilder()
-                        .connectTimeout(java.time.Duration.ofMillis(timeoutMs))
-                        .readTimeout(java.time.Duration.ofMillis(timeoutMs))
-                        .build();
-                try (Response response = probeClient.newCall(request).execute()) {
+                try (Response response = probeHttpClient.newCall(request).execute()) {
                     // 响应码 < 500 视为可达（4xx 说明服务器在线，仅权限/路径问题）
                     return response.code() < 500;
                 }
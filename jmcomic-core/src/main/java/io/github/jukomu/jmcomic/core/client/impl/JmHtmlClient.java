@@ -10,10 +10,13 @@ import io.github.jukomu.jmcomic.api.model.*;
 import io.github.jukomu.jmcomic.core.client.AbstractJmClient;
 import io.github.jukomu.jmcomic.core.config.JmConfiguration;
 import io.github.jukomu.jmcomic.core.constant.JmConstants;
+import io.github.jukomu.jmcomic.core.metrics.JmMetrics;
+import io.github.jukomu.jmcomic.core.net.OkHttpBuilder;
 import io.github.jukomu.jmcomic.core.net.model.JmHtmlResponse;
 import io.github.jukomu.jmcomic.core.net.provider.JmDomainManager;
 import io.github.jukomu.jmcomic.core.parser.HtmlParser;
 import okhttp3.*;
+import org.jsoup.nodes.Document;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -21,6 +24,8 @@ import java.io.IOException;
 import java.net.CookieManager;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * @author JUKOMU
@@ -40,6 +45,10 @@ public final class JmHtmlClient extends AbstractJmClient implements JmNovelClien
         super(config, httpClient, cookieManager, domainManager);
     }
 
+    public JmHtmlClient(JmConfiguration config, OkHttpBuilder.HttpClientContext context) {
+        super(config, context);
+    }
+
     @Override
     protected void initialize() {
 //        updateDomains();
@@ -122,13 +131,12 @@ public final class JmHtmlClient extends AbstractJmClient implements JmNovelClien
                 .addPathSegment("photo")
                 .addPathSegment(photoId)
                 .build();
-        JmHtmlResponse jmHtmlResponse;
+        JmPhoto jmPhoto;
         try {
-            jmHtmlResponse = executeGetRequest(url);
+            jmPhoto = executeGetRequest(url, HtmlParser::parsePhoto);
         } catch (ResourceNotFoundException e) {
             throw new PhotoNotFoundException(photoId, e);
         }
-        JmPhoto jmPhoto = HtmlParser.parsePhoto(jmHtmlResponse.getHtml());
         cacheJmPhoto(jmPhoto);
         return jmPhoto;
 
@@ -200,8 +208,7 @@ public final class JmHtmlClient extends AbstractJmClient implements JmNovelClien
             url.addQueryParameter("folder", String.valueOf(folderId));
         }
 
-        JmHtmlResponse jmHtmlResponse = executeGetRequest(url.build());
-        JmFavoritePage jmFavoritePage = HtmlParser.parseFavoritePage(jmHtmlResponse.getHtml(), page);
+        JmFavoritePage jmFavoritePage = executeGetRequest(url.build(), doc -> HtmlParser.parseFavoritePage(doc, page));
         cacheJmFavoritePage(jmFavoritePage);
         return jmFavoritePage;
     }
@@ -415,8 +422,7 @@ public final class JmHtmlClient extends AbstractJmClient implements JmNovelClien
                 .add("page", String.valueOf(query.getPage()))
                 .build();
 
-        JmHtmlResponse response = executePostRequest(url, body);
-        return HtmlParser.parseAlbumCommentsAjax(response.getHtml(), albumId);
+        return executePostRequest(url, body, doc -> HtmlParser.parseAlbumCommentsAjax(doc, albumId));
     }
 
     @Override
@@ -566,8 +572,7 @@ public final class JmHtmlClient extends AbstractJmClient implements JmNovelClien
                 .addPathSegment("favorite")
                 .addPathSegment("watchlist");
 
-        JmHtmlResponse jmHtmlResponse = executeGetRequest(urlBuilder.build());
-        return HtmlParser.parseWatchHistory(jmHtmlResponse.getHtml());
+        return executeGetRequest(urlBuilder.build(), HtmlParser::parseWatchHistory);
     }
 
     @Override
@@ -592,8 +597,7 @@ public final class JmHtmlClient extends AbstractJmClient implements JmNovelClien
     @Override
     public List<JmPromoteCategory> getPromote() {
         HttpUrl url = newHttpUrlBuilder().build();
-        JmHtmlResponse jmHtmlResponse = executeGetRequest(url);
-        return HtmlParser.parsePromote(jmHtmlResponse.getHtml());
+        return executeGetRequest(url, HtmlParser::parsePromote);
     }
 
     /**
@@ -661,6 +665,11 @@ public final class JmHtmlClient extends AbstractJmClient implements JmNovelClien
         throw new UnsupportedOperationException("Get novel list via HTML client is not currently supported. Use JmApiClient instead.");
     }
 
+    @Override
+    public Stream<JmNovelMeta> streamNovelList(String order) {
+        throw new UnsupportedOperationException("Get novel list via HTML client is not currently supported. Use JmApiClient instead.");
+    }
+
     @Override
     public JmNovelDetail getNovelDetail(String novelId) {
         throw new UnsupportedOperationException("Get novel detail via HTML client is not currently supported. Use JmApiClient instead.");
@@ -731,6 +740,11 @@ public final class JmHtmlClient extends AbstractJmClient implements JmNovelClien
         throw new UnsupportedOperationException("Get creator works via HTML client is not currently supported. Use JmApiClient instead.");
     }
 
+    @Override
+    public Stream<JmCreatorWorkMeta> streamCreatorWorks(String searchValue, String lang, String source) {
+        throw new UnsupportedOperationException("Get creator works via HTML client is not currently supported. Use JmApiClient instead.");
+    }
+
     @Override
     public JmCreatorAuthorWorksPage getCreatorAuthorWorks(String creatorId, String language, String source, int page) {
         throw new UnsupportedOperationException("Get creator author works via HTML client is not currently supported. Use JmApiClient instead.");
@@ -919,13 +933,11 @@ public final class JmHtmlClient extends AbstractJmClient implements JmNovelClien
             List<CompletableFuture<Void>> futures = new ArrayList<>();
             for (String url : urlsToFetch) {
                 CompletableFuture<Void> future = CompletableFuture.runAsync(() -> {
-                    OkHttpClient client = this.httpClient;
-                    client = client.newBuilder().followRedirects(false).build();
                     Request request = new Request.Builder()
                             .url(url)
                             .get()
                             .build();
-                    try (Response response = client.newCall(request).execute()) {
+                    try (Response response = noRedirectHttpClient.newCall(request).execute()) {
                         JmHtmlResponse jmHtmlResponse = new JmHtmlResponse(response);
                         jmHtmlResponse.requireSuccess();
                         for (String domain : HtmlParser.parseJmPubHtml(jmHtmlResponse.getHtml())) {
@@ -962,10 +974,7 @@ public final class JmHtmlClient extends AbstractJmClient implements JmNovelClien
     }
 
     private JmHtmlResponse executeGetRequest(HttpUrl url, boolean followRedirect) {
-        OkHttpClient client = this.httpClient;
-        if (!followRedirect) {
-            client = client.newBuilder().followRedirects(false).build();
-        }
+        OkHttpClient client = followRedirect ? this.httpClient : this.noRedirectHttpClient;
         Request request = getGetRequestBuilder(url).build();
         try (Response response = client.newCall(request).execute()) {
             JmHtmlResponse jmHtmlResponse = new JmHtmlResponse(response);
@@ -981,10 +990,7 @@ public final class JmHtmlClient extends AbstractJmClient implements JmNovelClien
     }
 
     private JmHtmlResponse executePostRequest(HttpUrl url, RequestBody requestBody, boolean followRedirect) {
-        OkHttpClient client = this.httpClient;
-        if (!followRedirect) {
-            client = client.newBuilder().followRedirects(false).build();
-        }
+        OkHttpClient client = followRedirect ? this.httpClient : this.noRedirectHttpClient;
         Request request = getPostRequestBuilder(url, requestBody).build();
         try (Response response = client.newCall(request).execute()) {
             JmHtmlResponse jmHtmlResponse = new JmHtmlResponse(response);
@@ -999,6 +1005,34 @@ public final class JmHtmlClient extends AbstractJmClient implements JmNovelClien
         return executePostRequest(url, requestBody, true);
     }
 
+    /**
+     * 执行请求并在响应关闭前直接从响应流解析文档，页面内容不在内存中完整缓存。
+     * 仅适用于只依赖 DOM 结构的解析方法。
+     *
+     * @param request 请求
+     * @param parser  文档解析方法
+     */
+    private <T> T executeAndParseDocument(Request request, Function<Document, T> parser) {
+        try (Response response = httpClient.newCall(request).execute()) {
+            JmHtmlResponse jmHtmlResponse = new JmHtmlResponse(response);
+            jmHtmlResponse.requireSuccessWithoutBuffering();
+            long start = System.nanoTime();
+            T result = parser.apply(jmHtmlResponse.getDocument());
+            metrics.operationTimed(JmMetrics.OP_HTML_PARSE, System.nanoTime() - start);
+            return result;
+        } catch (IOException e) {
+            throw new NetworkException("Request failed due to I/O error", e);
+        }
+    }
+
+    private <T> T executeGetRequest(HttpUrl url, Function<Document, T> parser) {
+        return executeAndParseDocument(getGetRequestBuilder(url).build(), parser);
+    }
+
+    private <T> T executePostRequest(HttpUrl url, RequestBody requestBody, Function<Document, T> parser) {
+        return executeAndParseDocument(getPostRequestBuilder(url, requestBody).build(), parser);
+    }
+
     /**
      * 往 URL 路径里追加分类信息（网页端用路径传分类，和 API 客户端的查询参数不同）。
      *
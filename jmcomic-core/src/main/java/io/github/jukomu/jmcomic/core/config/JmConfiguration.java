@@ -1,16 +1,25 @@
 package io.github.jukomu.jmcomic.core.config;
 
+import io.github.jukomu.jmcomic.api.download.enums.ArchiveMode;
 import io.github.jukomu.jmcomic.api.enums.ClientType;
 import io.github.jukomu.jmcomic.core.cache.CacheKey;
 import io.github.jukomu.jmcomic.core.cache.CachePool;
+import io.github.jukomu.jmcomic.core.metrics.JmMetrics;
+import io.github.jukomu.jmcomic.core.state.FileStateStore;
+import io.github.jukomu.jmcomic.core.state.JmStateStore;
+import io.github.jukomu.jmcomic.core.store.FileImageStore;
+import io.github.jukomu.jmcomic.core.store.JmImageStore;
+import okhttp3.OkHttpClient;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.InetSocketAddress;
 import java.net.Proxy;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
 
 /**
  * @author JUKOMU
@@ -59,6 +68,32 @@ public final class JmConfiguration {
     private final Duration imageTimeout;
     // 关闭时等待进行中任务完成的超时（毫秒）
     private final long closeTimeoutMs;
+    // 批量获取本子/章节时的最大并发数
+    private final int batchConcurrency;
+    // 同一域名同时等待响应的最大请求数，0 表示不限制
+    private final int maxRequestsPerDomain;
+    // 分页遍历时最多同时预取的页数
+    private final int pagePrefetch;
+    // 快速启动：先用上次持久化的域名快照响应请求，探活在后台进行
+    private final boolean fastStart;
+    // 客户端状态（域名列表、探活结果、App 设置）的持久化存储
+    private final JmStateStore stateStore;
+    // 持久化状态的有效期
+    private final Duration stateTtl;
+    // 已下载图片的存储，同一图片下载到不同目录时不重复下载
+    private final JmImageStore imageStore;
+    // 下载日志文件，用于异常退出后恢复下载任务，为 null 表示不记录
+    private final Path downloadJournalFile;
+    // 下载总速率上限（字节/秒），0 表示不限速
+    private final long downloadSpeedLimit;
+    // 下载输出方式，默认每张图片一个文件
+    private final ArchiveMode downloadArchiveMode;
+    // 在本子目录下记录已下载完成的章节，重新下载时据此整章跳过
+    private final boolean downloadManifestEnabled;
+    // 指标采集
+    private final JmMetrics metrics;
+    // 构建底层 OkHttpClient 时的额外定制
+    private final Consumer<OkHttpClient.Builder> httpClientCustomizer;
 
     private JmConfiguration(Builder builder) {
         this.clientType = builder.clientType;
@@ -70,13 +105,26 @@ public final class JmConfiguration {
         this.retryTimes = builder.retryTimes;
         this.executor = builder.executor;
         this.downloadThreadPoolSize = builder.downloadThreadPoolSize;
-        this.cachePool = new CachePool<>(builder.cacheSize);
+        this.metrics = builder.metrics;
+        this.cachePool = new CachePool<>(builder.cacheSize, builder.metrics);
         this.concurrentPhotoDownloads = builder.concurrentPhotoDownloads;
         this.concurrentImageDownloads = builder.concurrentImageDownloads;
         this.domainProbeIntervalMs = builder.domainProbeIntervalMs;
         this.domainProbeTimeoutMs = builder.domainProbeTimeoutMs;
         this.imageTimeout = builder.imageTimeout;
         this.closeTimeoutMs = builder.closeTimeoutMs;
+        this.batchConcurrency = builder.batchConcurrency;
+        this.maxRequestsPerDomain = builder.maxRequestsPerDomain;
+        this.pagePrefetch = builder.pagePrefetch;
+        this.fastStart = builder.fastStart;
+        this.stateStore = builder.resolveStateStore();
+        this.stateTtl = builder.stateTtl;
+        this.imageStore = builder.resolveImageStore();
+        this.downloadJournalFile = builder.downloadJournalFile;
+        this.downloadSpeedLimit = builder.downloadSpeedLimit;
+        this.downloadArchiveMode = builder.downloadArchiveMode;
+        this.downloadManifestEnabled = builder.downloadManifestEnabled;
+        this.httpClientCustomizer = builder.httpClientCustomizer;
     }
 
     // Getters for all fields
@@ -152,6 +200,58 @@ public final class JmConfiguration {
         return closeTimeoutMs;
     }
 
+    public int getBatchConcurrency() {
+        return batchConcurrency;
+    }
+
+    public int getMaxRequestsPerDomain() {
+        return maxRequestsPerDomain;
+    }
+
+    public int getPagePrefetch() {
+        return pagePrefetch;
+    }
+
+    public boolean isFastStart() {
+        return fastStart;
+    }
+
+    public JmStateStore getStateStore() {
+        return stateStore;
+    }
+
+    public Duration getStateTtl() {
+        return stateTtl;
+    }
+
+    public JmImageStore getImageStore() {
+        return imageStore;
+    }
+
+    public Path getDownloadJournalFile() {
+        return downloadJournalFile;
+    }
+
+    public long getDownloadSpeedLimit() {
+        return downloadSpeedLimit;
+    }
+
+    public ArchiveMode getDownloadArchiveMode() {
+        return downloadArchiveMode;
+    }
+
+    public boolean isDownloadManifestEnabled() {
+        return downloadManifestEnabled;
+    }
+
+    public JmMetrics getMetrics() {
+        return metrics;
+    }
+
+    public Consumer<OkHttpClient.Builder> getHttpClientCustomizer() {
+        return httpClientCustomizer;
+    }
+
     /**
      * 用于创建 JmConfiguration 实例的 Builder
      */
@@ -172,6 +272,22 @@ public final class JmConfiguration {
         private long domainProbeTimeoutMs = 3000;            // 3秒
         private Duration imageTimeout = Duration.ofSeconds(60);
         private long closeTimeoutMs = 60_000;                // 60秒
+        private int batchConcurrency = 8;
+        private int maxRequestsPerDomain = 0;                // 0 表示不限制
+        private int pagePrefetch = 4;
+        private boolean fastStart = false;
+        private Path stateDirectory = null;                   // null 表示未指定，快速启动时使用 ~/.jmcomic
+        private JmStateStore stateStore = null;
+        private Duration stateTtl = Duration.ofHours(24);
+        private Path imageStoreDirectory = null;              // null 表示不使用图片存储
+        private JmImageStore imageStore = null;
+        private Path downloadJournalFile = null;              // null 表示不记录下载日志
+        private long downloadSpeedLimit = 0;                  // 0 表示不限速
+        private ArchiveMode downloadArchiveMode = ArchiveMode.NONE;
+        private boolean downloadManifestEnabled = false;
+        private JmMetrics metrics = JmMetrics.none();
+        private Consumer<OkHttpClient.Builder> httpClientCustomizer = builder -> {
+        };
 
         public Builder clientType(ClientType type) {
             this.clientType = Objects.requireNonNull(type);
@@ -275,6 +391,166 @@ public final class JmConfiguration {
             return this;
         }
 
+        /**
+         * 设置批量获取本子/章节（{@code getAlbums}、{@code getPhotos} 等）时的最大并发数。
+         */
+        public Builder batchConcurrency(int concurrency) {
+            if (concurrency <= 0) throw new IllegalArgumentException("Batch concurrency must be positive.");
+            this.batchConcurrency = concurrency;
+            return this;
+        }
+
+        /**
+         * 限制同一域名同时等待响应的请求数，超出的请求排队等待，0 表示不限制。
+         * 对所有请求生效，包括批量获取和图片下载。
+         */
+        public Builder maxRequestsPerDomain(int maxRequests) {
+            if (maxRequests < 0) throw new IllegalArgumentException("Max requests per domain must be non-negative.");
+            this.maxRequestsPerDomain = maxRequests;
+            return this;
+        }
+
+        /**
+         * 设置分页遍历（{@code streamSearch}、{@code streamFavorites} 等）时最多同时预取的页数，
+         * 为 1 时只提前获取下一页。
+         */
+        public Builder pagePrefetch(int pages) {
+            if (pages <= 0) throw new IllegalArgumentException("Page prefetch must be positive.");
+            this.pagePrefetch = pages;
+            return this;
+        }
+
+        /**
+         * 开启快速启动。开启后客户端构造时会读取状态存储中保存的域名快照，
+         * 首批请求直接使用上次可用的域名，不再等待全部域名探活完成。
+         * 未指定状态存储时默认保存在 ~/.jmcomic 目录。
+         */
+        public Builder fastStart(boolean fastStart) {
+            this.fastStart = fastStart;
+            return this;
+        }
+
+        /**
+         * 将客户端状态保存到指定目录下的 JSON 文件（{@link FileStateStore}）。
+         * 同一目录下的多个客户端、多个进程会共享域名列表和 App 设置，不再重复获取。
+         */
+        public Builder stateDirectory(Path stateDirectory) {
+            this.stateDirectory = Objects.requireNonNull(stateDirectory);
+            return this;
+        }
+
+        /**
+         * 使用自定义的状态存储，优先级高于 {@link #stateDirectory(Path)}。
+         */
+        public Builder stateStore(JmStateStore stateStore) {
+            this.stateStore = Objects.requireNonNull(stateStore);
+            return this;
+        }
+
+        public Builder stateTtl(Duration ttl) {
+            if (Objects.requireNonNull(ttl).isNegative()) throw new IllegalArgumentException("State TTL must be non-negative.");
+            this.stateTtl = ttl;
+            return this;
+        }
+
+        /**
+         * 将下载的图片同时保存到指定目录下的内容寻址存储（{@link FileImageStore}）。
+         * 同一张图片下载到不同目录（不同的路径生成规则、单独下载章节等）时，
+         * 直接从存储硬链接到目标路径，不再重复下载。
+         */
+        public Builder imageStoreDirectory(Path imageStoreDirectory) {
+            this.imageStoreDirectory = Objects.requireNonNull(imageStoreDirectory);
+            return this;
+        }
+
+        /**
+         * 使用自定义的图片存储，优先级高于 {@link #imageStoreDirectory(Path)}。
+         */
+        public Builder imageStore(JmImageStore imageStore) {
+            this.imageStore = Objects.requireNonNull(imageStore);
+            return this;
+        }
+
+        /**
+         * 将下载任务记录到指定的日志文件（{@link io.github.jukomu.jmcomic.core.download.DownloadJournal}）。
+         * 进程异常退出后，可以通过客户端的 recoverDownloadTasks() 重建未完成的任务并继续下载，
+         * 上次已完成的图片直接跳过，不需要重新获取本子和章节信息。
+         */
+        public Builder downloadJournalFile(Path downloadJournalFile) {
+            this.downloadJournalFile = Objects.requireNonNull(downloadJournalFile);
+            return this;
+        }
+
+        /**
+         * 限制客户端所有图片下载的总速率（字节/秒），0 表示不限速。
+         * 运行中可以通过 downloadManager().setSpeedLimit 调整，也可以为单个任务单独限速。
+         */
+        public Builder downloadSpeedLimit(long bytesPerSecond) {
+            if (bytesPerSecond < 0) throw new IllegalArgumentException("Download speed limit must be non-negative.");
+            this.downloadSpeedLimit = bytesPerSecond;
+            return this;
+        }
+
+        /**
+         * 设置下载输出方式，默认每张图片一个文件。
+         * 设为 PHOTO / ALBUM 时每个章节 / 整个本子写入一个 CBZ 归档，可以在单次 DownloadRequest 中覆盖。
+         */
+        public Builder downloadArchiveMode(ArchiveMode mode) {
+            this.downloadArchiveMode = Objects.requireNonNull(mode);
+            return this;
+        }
+
+        /**
+         * 开启下载清单。开启后本子任务结束时在本子目录下写入清单，记录已完整下载的章节及其图片的大小、校验和；
+         * 再次下载同一本子时，清单中的章节直接跳过，不获取章节详情、不逐张检查文件。
+         * 清单不会察觉之后在外部删除的图片，需要补全时删除清单文件。写入归档时不使用清单。
+         */
+        public Builder downloadManifestEnabled(boolean enabled) {
+            this.downloadManifestEnabled = enabled;
+            return this;
+        }
+
+        /**
+         * 设置指标采集实现，默认不采集。
+         */
+        public Builder metrics(JmMetrics metrics) {
+            this.metrics = Objects.requireNonNull(metrics);
+            return this;
+        }
+
+        /**
+         * 在默认配置之后对底层 OkHttpClient 做额外定制，例如自定义 DNS、证书或 SocketFactory。
+         * 客户端内部派生出的图片、探活等客户端都会继承这些设置。
+         * 主要用于测试环境（如 jmcomic-test-support 的本地模拟服务器），一般无需设置。
+         */
+        public Builder httpClientCustomizer(Consumer<OkHttpClient.Builder> customizer) {
+            this.httpClientCustomizer = Objects.requireNonNull(customizer);
+            return this;
+        }
+
+        private JmStateStore resolveStateStore() {
+            if (this.stateStore != null) {
+                return this.stateStore;
+            }
+            if (this.stateDirectory != null) {
+                return new FileStateStore(this.stateDirectory);
+            }
+            if (this.fastStart) {
+                return new FileStateStore(Path.of(System.getProperty("user.home"), ".jmcomic"));
+            }
+            return JmStateStore.none();
+        }
+
+        private JmImageStore resolveImageStore() {
+            if (this.imageStore != null) {
+                return this.imageStore;
+            }
+            if (this.imageStoreDirectory != null) {
+                return new FileImageStore(this.imageStoreDirectory);
+            }
+            return JmImageStore.none();
+        }
+
         public Builder loadFromProperties(InputStream inputStream) throws IOException {
             Properties props = new Properties();
             props.load(inputStream);
@@ -324,6 +600,39 @@ public final class JmConfiguration {
             if (props.containsKey("close.timeout.ms")) {
                 this.closeTimeoutMs(Long.parseLong(props.getProperty("close.timeout.ms")));
             }
+            if (props.containsKey("batch.concurrency")) {
+                this.batchConcurrency(Integer.parseInt(props.getProperty("batch.concurrency")));
+            }
+            if (props.containsKey("max.requests.per.domain")) {
+                this.maxRequestsPerDomain(Integer.parseInt(props.getProperty("max.requests.per.domain")));
+            }
+            if (props.containsKey("page.prefetch")) {
+                this.pagePrefetch(Integer.parseInt(props.getProperty("page.prefetch")));
+            }
+            if (props.containsKey("fast.start")) {
+                this.fastStart(Boolean.parseBoolean(props.getProperty("fast.start")));
+            }
+            if (props.containsKey("state.directory")) {
+                this.stateDirectory(Path.of(props.getProperty("state.directory")));
+            }
+            if (props.containsKey("state.ttl.seconds")) {
+                this.stateTtl(Duration.ofSeconds(Long.parseLong(props.getProperty("state.ttl.seconds"))));
+            }
+            if (props.containsKey("image.store.directory")) {
+                this.imageStoreDirectory(Path.of(props.getProperty("image.store.directory")));
+            }
+            if (props.containsKey("download.journal.file")) {
+                this.downloadJournalFile(Path.of(props.getProperty("download.journal.file")));
+            }
+            if (props.containsKey("download.speed.limit")) {
+                this.downloadSpeedLimit(Long.parseLong(props.getProperty("download.speed.limit")));
+            }
+            if (props.containsKey("download.archive.mode")) {
+                this.downloadArchiveMode(ArchiveMode.valueOf(props.getProperty("download.archive.mode").toUpperCase()));
+            }
+            if (props.containsKey("download.manifest.enabled")) {
+                this.downloadManifestEnabled(Boolean.parseBoolean(props.getProperty("download.manifest.enabled")));
+            }
 
             return this;
         }
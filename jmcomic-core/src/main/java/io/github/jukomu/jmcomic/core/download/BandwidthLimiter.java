@@ -0,0 +1,92 @@
+package io.github.jukomu.jmcomic.core.download;
+
+/**
+ * @author JUKOMU
+ * @Description: 令牌桶限速器，限制下载的字节速率
+ * <p>
+ * 读取线程每读一段数据就预约对应字节数的令牌，令牌不足时按预约顺序排队等待，
+ * 多个线程共用同一限速器时按读取次数轮流获得带宽。空闲时最多积攒 {@value #BURST_MILLIS} 毫秒的令牌。
+ * <p>
+ * 限速分三级，下载时同时受各级约束：
+ * <ul>
+ *     <li>全局：{@link #global()}，同一进程内所有下载管理器共用</li>
+ *     <li>下载管理器：{@link DownloadManager#setSpeedLimit(long)}</li>
+ *     <li>顶层任务：{@link DownloadManager#setSpeedLimit(String, long)}</li>
+ * </ul>
+ * 速率可以随时调整，对正在进行的下载立即生效。速率为 0 表示不限速，此时不加锁。
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+public final class BandwidthLimiter {
+
+    static final long BURST_MILLIS = 100;
+
+    private static final BandwidthLimiter GLOBAL = new BandwidthLimiter(0);
+
+    // 每秒字节数，0 表示不限速
+    private volatile long bytesPerSecond;
+    // 已积攒的令牌
+    private double storedBytes;
+    // 下一次预约可以立即获得令牌的时间
+    private long nextFreeNanos = System.nanoTime();
+
+    public BandwidthLimiter(long bytesPerSecond) {
+        setBytesPerSecond(bytesPerSecond);
+    }
+
+    /**
+     * 全局限速器，默认不限速
+     */
+    public static BandwidthLimiter global() {
+        return GLOBAL;
+    }
+
+    public long getBytesPerSecond() {
+        return bytesPerSecond;
+    }
+
+    /**
+     * 调整速率，之前排队中的预约作废，重新开始计算
+     *
+     * @param bytesPerSecond 每秒字节数，0 表示不限速
+     */
+    public synchronized void setBytesPerSecond(long bytesPerSecond) {
+        if (bytesPerSecond < 0) {
+            throw new IllegalArgumentException("bytesPerSecond must be non-negative");
+        }
+        this.bytesPerSecond = bytesPerSecond;
+        this.storedBytes = 0;
+        this.nextFreeNanos = System.nanoTime();
+    }
+
+    /**
+     * 预约 bytes 个字节的令牌
+     *
+     * @param bytes 字节数
+     * @return 需要等待的纳秒数，0 表示可以立即继续
+     */
+    public long reserve(long bytes) {
+        if (bytesPerSecond <= 0 || bytes <= 0) {
+            return 0;
+        }
+        synchronized (this) {
+            long rate = this.bytesPerSecond;
+            if (rate <= 0) {
+                return 0;
+            }
+            long now = System.nanoTime();
+            if (now > nextFreeNanos) {
+                // 空闲期间积攒令牌
+                double maxStored = rate * BURST_MILLIS / 1000.0;
+                storedBytes = Math.min(maxStored, storedBytes + (now - nextFreeNanos) * rate / 1e9);
+                nextFreeNanos = now;
+            }
+            long waitNanos = nextFreeNanos - now;
+            double fromStored = Math.min(bytes, storedBytes);
+            storedBytes -= fromStored;
+            // 积攒的令牌不够的部分由后续的预约等待偿还
+            nextFreeNanos += (long) ((bytes - fromStored) * 1e9 / rate);
+            return waitNanos;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package io.github.jukomu.jmcomic.core.download;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author JUKOMU
+ * @Description: 一个章节的下载目录，同一章节的图片共用
+ * <p>
+ * 开始下载章节时由 {@link #prepare()} 创建一次目录并列出一次已有文件，之后各图片按列表判断是否已存在、
+ * 是否有残留的 .tmp，写入时也不再逐张创建目录。原来每张图片要检查目录、文件、临时文件并创建目录，
+ * 在网络文件系统上这些元数据操作的往返远比写入本身慢。
+ * <p>
+ * 列表是准备时的快照：准备之后在外部新增、删除的文件不会反映出来，本对象写入的文件会加入列表。
+ * 目录在准备之后被删除时，写入会重新创建目录。
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+public final class ChapterDirectory {
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path path;
+    // 已有的文件名，准备前为 null
+    private volatile Set<String> names;
+
+    public ChapterDirectory(Path path) {
+        this.path = path;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * 创建目录并重新列出已有文件，每次开始（包括暂停后恢复）时调用一次
+     */
+    public void prepare() throws IOException {
+        Files.createDirectories(path);
+        Set<String> listed = ConcurrentHashMap.newKeySet();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(path)) {
+            for (Path entry : stream) {
+                listed.add(entry.getFileName().toString());
+            }
+        }
+        this.names = listed;
+    }
+
+    public boolean isPrepared() {
+        return names != null;
+    }
+
+    /**
+     * 目录中是否已有该文件
+     */
+    public boolean contains(String filename) {
+        Set<String> current = names;
+        return current != null && current.contains(filename);
+    }
+
+    /**
+     * 清理上次下载在重命名前中断留下的 {@code <文件名>.tmp}，列表中没有时不访问文件系统
+     */
+    public void deleteStaleTemp(String filename) {
+        Set<String> current = names;
+        String tempName = filename + TEMP_SUFFIX;
+        if (current == null || !current.remove(tempName)) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path.resolve(tempName));
+        } catch (IOException ignored) {
+            // 删不掉就算了
+        }
+    }
+
+    /**
+     * 先写到 .tmp 再原子重命名为目标文件，跨文件系统不支持原子移动时降级为 REPLACE_EXISTING
+     *
+     * @return 写入的文件
+     */
+    public Path write(String filename, byte[] data) throws IOException {
+        Path file = path.resolve(filename);
+        Path tempFile = path.resolve(filename + TEMP_SUFFIX);
+        try {
+            Files.write(tempFile, data);
+        } catch (NoSuchFileException e) {
+            // 准备之后目录被删除
+            Files.createDirectories(path);
+            Files.write(tempFile, data);
+        }
+        try {
+            Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        added(filename);
+        return file;
+    }
+
+    /**
+     * 记录由别处放置到目录中的文件（如从图片存储放置）
+     */
+    public void added(String filename) {
+        Set<String> current = names;
+        if (current != null) {
+            current.add(filename);
+        }
+    }
+}
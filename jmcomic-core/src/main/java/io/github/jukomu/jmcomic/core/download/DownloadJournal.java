@@ -0,0 +1,430 @@
+package io.github.jukomu.jmcomic.core.download;
+
+import io.github.jukomu.jmcomic.api.download.enums.TaskType;
+import io.github.jukomu.jmcomic.api.download.task.BaseDownloadTask;
+import io.github.jukomu.jmcomic.api.model.JmAlbum;
+import io.github.jukomu.jmcomic.api.model.JmImage;
+import io.github.jukomu.jmcomic.api.model.JmPhoto;
+import io.github.jukomu.jmcomic.api.model.JmPhotoMeta;
+import io.github.jukomu.jmcomic.core.download.task.AlbumDownloadTask;
+import io.github.jukomu.jmcomic.core.download.task.ImageDownloadTask;
+import io.github.jukomu.jmcomic.core.download.task.PhotoDownloadTask;
+import io.github.jukomu.jmcomic.core.util.JsonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author JUKOMU
+ * @Description: 下载任务的预写日志，用于进程异常退出后恢复未完成的下载任务
+ * <p>
+ * 每行一条 JSON 记录，只追加不修改：
+ * <ul>
+ *     <li>BEGIN：顶层任务提交时写入，包含重建任务树所需的本子、章节、图片信息和下载目录</li>
+ *     <li>DONE：一张图片下载完成（或已存在被跳过）</li>
+ *     <li>END：顶层任务到达终态，之后不再需要恢复</li>
+ * </ul>
+ * BEGIN 写入后立即刷盘；DONE、END 由后台线程每 {@value #FLUSH_INTERVAL_MS} 毫秒批量刷盘一次，
+ * 异常退出时最多丢失最后一批记录，对应的图片恢复后会因文件已存在而被跳过。
+ * 刷盘不持有写入锁，下载线程追加记录时不会等待正在进行的刷盘。
+ * 打开时重放整个日志，只保留未结束的任务并重写文件。
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+public final class DownloadJournal implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(DownloadJournal.class);
+
+    static final long FLUSH_INTERVAL_MS = 200;
+
+    private static final String OP_BEGIN = "BEGIN";
+    private static final String OP_DONE = "DONE";
+    private static final String OP_END = "END";
+
+    private final Path file;
+    private final FileChannel channel;
+    private final Map<String, Entry> pending;
+    private final ScheduledExecutorService flusher;
+    private final Object writeLock = new Object();
+    // 串行化刷盘和关闭；关闭时先取它再取 writeLock，其他地方不同时持有两者
+    private final Object forceLock = new Object();
+    // 有已写入但未刷盘的记录
+    private volatile boolean dirty;
+    // 只在同时持有 forceLock 和 writeLock 时修改
+    private boolean closed;
+
+    private DownloadJournal(Path file, FileChannel channel, Map<String, Entry> pending) {
+        this.file = file;
+        this.channel = channel;
+        this.pending = pending;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "jmcomic-journal");
+            t.setDaemon(true);
+            return t;
+        });
+        this.flusher.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 打开（不存在时创建）日志文件，读出上次未完成的任务
+     *
+     * @param file 日志文件
+     * @return 日志实例
+     * @throws IOException 读写日志文件失败
+     */
+    public static DownloadJournal open(Path file) throws IOException {
+        Objects.requireNonNull(file);
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Map<String, Entry> pending = replay(file);
+        rewrite(file, pending.values());
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        if (!pending.isEmpty()) {
+            logger.info("下载日志 {} 中有 {} 个未完成的任务", file, pending.size());
+        }
+        return new DownloadJournal(file, channel, pending);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * 获取打开日志时读出的未完成任务，按提交顺序排列
+     */
+    public List<Entry> getPendingEntries() {
+        synchronized (writeLock) {
+            return new ArrayList<>(pending.values());
+        }
+    }
+
+    /**
+     * 记录顶层任务的任务树，立即刷盘
+     *
+     * @param key  日志中的任务键
+     * @param root 顶层任务
+     * @return 是否记录（不支持的任务类型不记录）
+     */
+    boolean begin(String key, BaseDownloadTask root) {
+        Entry entry = describe(key, root);
+        if (entry == null) {
+            return false;
+        }
+        boolean appended;
+        synchronized (writeLock) {
+            appended = append(entry);
+        }
+        if (appended) {
+            force();
+        }
+        return true;
+    }
+
+    /**
+     * 记录图片已下载
+     */
+    void done(String key, JmImage image) {
+        Entry entry = new Entry();
+        entry.op = OP_DONE;
+        entry.key = key;
+        entry.photoId = image.getPhotoId();
+        entry.filename = image.getFilename();
+        synchronized (writeLock) {
+            append(entry);
+            Entry recovered = pending.get(key);
+            if (recovered != null) {
+                recovered.markDone(entry.photoId, entry.filename);
+            }
+        }
+    }
+
+    /**
+     * 记录顶层任务已结束
+     */
+    void end(String key) {
+        Entry entry = new Entry();
+        entry.op = OP_END;
+        entry.key = key;
+        synchronized (writeLock) {
+            append(entry);
+            pending.remove(key);
+        }
+    }
+
+    /**
+     * 将已写入的记录刷到磁盘
+     */
+    public void flush() {
+        if (dirty) {
+            force();
+        }
+    }
+
+    @Override
+    public void close() {
+        // 不中断刷盘线程：中断正在 force 的 FileChannel 会把它关闭
+        flusher.shutdown();
+        synchronized (forceLock) {
+            synchronized (writeLock) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+            }
+            // 之后不再有新的记录写入
+            try {
+                channel.force(false);
+            } catch (IOException e) {
+                logger.warn("下载日志 {} 刷盘失败: {}", file, e.getMessage());
+            }
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.warn("关闭下载日志 {} 失败: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    private boolean append(Entry entry) {
+        if (closed) {
+            return false;
+        }
+        byte[] line = (JsonUtils.toJson(entry) + "\n").getBytes(StandardCharsets.UTF_8);
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            dirty = true;
+            return true;
+        } catch (IOException e) {
+            logger.warn("写入下载日志 {} 失败: {}", file, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 刷盘，不持有 writeLock。先清除 dirty：刷盘期间写入的记录会重新置位，由下一次刷盘写到磁盘
+     */
+    private void force() {
+        synchronized (forceLock) {
+            if (closed) {
+                return;
+            }
+            dirty = false;
+            try {
+                channel.force(false);
+            } catch (IOException e) {
+                dirty = true;
+                logger.warn("下载日志 {} 刷盘失败: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 从任务树生成 BEGIN 记录
+     */
+    private static Entry describe(String key, BaseDownloadTask root) {
+        Entry entry = new Entry();
+        entry.op = OP_BEGIN;
+        entry.key = key;
+        entry.photos = new ArrayList<>();
+        if (root instanceof AlbumDownloadTask albumTask) {
+            entry.type = TaskType.ALBUM;
+            entry.album = albumTask.getAlbum();
+            entry.dir = pathString(albumTask.getDirectory());
+            if (albumTask.isStreaming()) {
+                // 流式任务提交时还没有章节详情，只记录章节元数据，恢复时重新获取
+                JmAlbum album = albumTask.getAlbum();
+                for (JmPhotoMeta photoMeta : album.photoMetas()) {
+                    PhotoEntry photoEntry = new PhotoEntry();
+                    photoEntry.photo = new JmPhoto(photoMeta.getId(), photoMeta.getTitle(), album.getId(), null,
+                            photoMeta.getSortOrder(), null, null, null, album.photoMetas().size() == 1);
+                    entry.photos.add(photoEntry);
+                }
+                return entry;
+            }
+            for (BaseDownloadTask child : albumTask.getChildTasks()) {
+                if (child instanceof PhotoDownloadTask photoTask) {
+                    entry.photos.add(describePhoto(photoTask));
+                }
+            }
+        } else if (root instanceof PhotoDownloadTask photoTask) {
+            entry.type = TaskType.PHOTO;
+            entry.photos.add(describePhoto(photoTask));
+        } else if (root instanceof ImageDownloadTask imageTask) {
+            entry.type = TaskType.IMAGE;
+            JmImage image = imageTask.getImage();
+            JmPhoto photo = new JmPhoto(image.getPhotoId(), null, null, image.getScrambleId(), 0,
+                    null, null, List.of(image), false);
+            PhotoEntry photoEntry = new PhotoEntry();
+            photoEntry.photo = photo;
+            photoEntry.dir = pathString(imageTask.getLocalFilePath().getParent());
+            entry.photos.add(photoEntry);
+        } else {
+            return null;
+        }
+        return entry;
+    }
+
+    private static PhotoEntry describePhoto(PhotoDownloadTask photoTask) {
+        PhotoEntry photoEntry = new PhotoEntry();
+        photoEntry.photo = photoTask.getPhoto();
+        photoEntry.dir = pathString(photoTask.getDirectory());
+        return photoEntry;
+    }
+
+    private static String pathString(Path path) {
+        return path != null ? path.toString() : null;
+    }
+
+    private static Map<String, Entry> replay(Path file) throws IOException {
+        Map<String, Entry> pending = new LinkedHashMap<>();
+        if (!Files.isRegularFile(file)) {
+            return pending;
+        }
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            Entry entry;
+            try {
+                entry = JsonUtils.fromJson(line, Entry.class);
+            } catch (RuntimeException e) {
+                // 异常退出时最后一行可能只写了一半
+                logger.warn("跳过下载日志 {} 中无法解析的记录", file);
+                continue;
+            }
+            if (entry == null || entry.op == null || entry.key == null) {
+                continue;
+            }
+            switch (entry.op) {
+                case OP_BEGIN -> pending.put(entry.key, entry);
+                case OP_DONE -> {
+                    Entry begin = pending.get(entry.key);
+                    if (begin != null) {
+                        begin.markDone(entry.photoId, entry.filename);
+                    }
+                }
+                case OP_END -> pending.remove(entry.key);
+                default -> {
+                }
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * 只保留未完成的任务重写日志，已完成的图片合并进 BEGIN 记录
+     */
+    private static void rewrite(Path file, Collection<Entry> entries) throws IOException {
+        List<String> lines = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            entry.completed = entry.done != null ? new ArrayList<>(entry.done) : null;
+            lines.add(JsonUtils.toJson(entry));
+        }
+        Path dir = file.toAbsolutePath().getParent();
+        Path tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(tmp, lines, StandardCharsets.UTF_8);
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            try {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * 日志记录。BEGIN 记录同时作为恢复时的任务描述
+     */
+    public static final class Entry {
+        private String op;
+        private String key;
+        private TaskType type;
+        private JmAlbum album;
+        // 本子任务的下载目录
+        private String dir;
+        private List<PhotoEntry> photos;
+        // 重写日志时合并进 BEGIN 记录的已完成图片，"章节ID/文件名"
+        private List<String> completed;
+        // DONE 记录
+        private String photoId;
+        private String filename;
+        private transient Set<String> done;
+
+        public String getKey() {
+            return key;
+        }
+
+        public TaskType getType() {
+            return type;
+        }
+
+        public JmAlbum getAlbum() {
+            return album;
+        }
+
+        public Path getDirectory() {
+            return dir != null ? Path.of(dir) : null;
+        }
+
+        public List<PhotoEntry> getPhotos() {
+            return photos != null ? photos : List.of();
+        }
+
+        /**
+         * 判断图片是否已在上次运行中下载完成
+         */
+        public synchronized boolean isDone(String photoId, String filename) {
+            return doneSet().contains(photoId + "/" + filename);
+        }
+
+        private synchronized void markDone(String photoId, String filename) {
+            doneSet().add(photoId + "/" + filename);
+        }
+
+        private Set<String> doneSet() {
+            if (done == null) {
+                done = new HashSet<>();
+                if (completed != null) {
+                    done.addAll(completed);
+                }
+            }
+            return done;
+        }
+    }
+
+    /**
+     * 章节的描述：章节信息（含图片列表）和下载目录
+     */
+    public static final class PhotoEntry {
+        private JmPhoto photo;
+        private String dir;
+
+        public JmPhoto getPhoto() {
+            return photo;
+        }
+
+        public Path getDirectory() {
+            return dir != null ? Path.of(dir) : null;
+        }
+    }
+}
@@ -3,9 +3,14 @@ package io.github.jukomu.jmcomic.core.download;
 import io.github.jukomu.jmcomic.api.download.DownloadProgress;
 import io.github.jukomu.jmcomic.api.download.DownloadResult;
 import io.github.jukomu.jmcomic.api.download.IDownloadManager;
+import io.github.jukomu.jmcomic.api.download.enums.ArchiveMode;
 import io.github.jukomu.jmcomic.api.download.enums.TaskState;
 import io.github.jukomu.jmcomic.api.download.task.BaseDownloadTask;
 import io.github.jukomu.jmcomic.api.download.task.TaskObserver;
+import io.github.jukomu.jmcomic.core.download.task.AlbumDownloadTask;
+import io.github.jukomu.jmcomic.core.download.task.ImageDownloadTask;
+import io.github.jukomu.jmcomic.core.download.task.PhotoDownloadTask;
+import io.github.jukomu.jmcomic.core.download.task.ProgressPublisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -14,6 +19,7 @@ import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -28,11 +34,107 @@ public class DownloadManager implements IDownloadManager, TaskObserver {
     private final ConcurrentMap<String, BaseDownloadTask> taskRegistry = new ConcurrentHashMap<>();
     private final ConcurrentMap<String, BaseDownloadTask> activeTasks = new ConcurrentHashMap<>();
     private final ExecutorService executor;
+    // 图片任务的调度器，按优先级和顶层任务轮转交给线程池
+    private final DownloadScheduler scheduler;
+    // 本子、章节任务的进度合并发布
+    private final ProgressPublisher progressPublisher = new ProgressPublisher();
+    // 异步观察者的事件投递
+    private final TaskEventBus eventBus = new TaskEventBus();
+    // 本管理器所有下载共用的限速器
+    private final BandwidthLimiter bandwidthLimiter = new BandwidthLimiter(0);
+    // 设置了限速的任务：任务编号 -> 限速器
+    private final ConcurrentMap<String, BandwidthLimiter> taskLimiters = new ConcurrentHashMap<>();
     private final long closeTimeoutMs;
+    // 线程池是否由本管理器独占，共享线程池关闭时只取消自己的任务
+    private final boolean ownsExecutor;
+    // 下载日志，为 null 表示不记录
+    private final DownloadJournal journal;
+    // 已写入下载日志的顶层任务：任务编号 -> 日志中的任务键
+    private final ConcurrentMap<String, String> journalKeys = new ConcurrentHashMap<>();
+    private volatile boolean closing;
 
     public DownloadManager(ExecutorService executor, long closeTimeoutMs) {
+        this(executor, closeTimeoutMs, true);
+    }
+
+    public DownloadManager(ExecutorService executor, long closeTimeoutMs, boolean ownsExecutor) {
+        this(executor, closeTimeoutMs, ownsExecutor, null);
+    }
+
+    public DownloadManager(ExecutorService executor, long closeTimeoutMs, boolean ownsExecutor, DownloadJournal journal) {
         this.executor = executor;
+        this.scheduler = new DownloadScheduler(executor);
         this.closeTimeoutMs = closeTimeoutMs;
+        this.ownsExecutor = ownsExecutor;
+        this.journal = journal;
+    }
+
+    public ProgressPublisher getProgressPublisher() {
+        return progressPublisher;
+    }
+
+    public TaskEventBus getEventBus() {
+        return eventBus;
+    }
+
+    public BandwidthLimiter getBandwidthLimiter() {
+        return bandwidthLimiter;
+    }
+
+    /**
+     * 获取任务下载时需要遵守的限速器：任务及其各级父任务的、本管理器的和全局的
+     */
+    public BandwidthLimiter[] limitersOf(BaseDownloadTask task) {
+        List<BandwidthLimiter> limiters = new ArrayList<>(4);
+        if (!taskLimiters.isEmpty()) {
+            for (BaseDownloadTask t = task; t != null; t = t.getParentTask()) {
+                BandwidthLimiter limiter = taskLimiters.get(t.getTaskId());
+                if (limiter != null) {
+                    limiters.add(limiter);
+                }
+            }
+        }
+        limiters.add(bandwidthLimiter);
+        limiters.add(BandwidthLimiter.global());
+        return limiters.toArray(new BandwidthLimiter[0]);
+    }
+
+    /**
+     * 获取下载日志，未启用时返回 null
+     */
+    public DownloadJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * 登记从下载日志恢复的顶层任务，提交时沿用日志中原来的记录，不再重复写入任务树
+     *
+     * @param task       恢复出的顶层任务
+     * @param journalKey 日志中的任务键
+     */
+    public void registerRecovered(BaseDownloadTask task, String journalKey) {
+        if (journal != null) {
+            journalKeys.put(task.getTaskId(), journalKey);
+        }
+    }
+
+    /**
+     * 进行中（未到终态）的任务数
+     */
+    public int getActiveTaskCount() {
+        return activeTasks.size();
+    }
+
+    /**
+     * 已提交但尚未开始执行的任务数，包括调度器中等待的图片任务和线程池队列中的任务
+     * （线程池不是 ThreadPoolExecutor 时不计后者）
+     */
+    public int getQueuedTaskCount() {
+        int queued = scheduler.getQueuedCount();
+        if (executor instanceof ThreadPoolExecutor) {
+            queued += ((ThreadPoolExecutor) executor).getQueue().size();
+        }
+        return queued;
     }
 
     @Override
@@ -57,7 +159,13 @@ public class DownloadManager implements IDownloadManager, TaskObserver {
             taskRegistry.put(task.getTaskId(), task);
             activeTasks.put(task.getTaskId(), task);
             task.addObserver(this);
+            journalBegin(task);
             task.notifyStateChanged(TaskState.QUEUED);
+            if (task instanceof ImageDownloadTask) {
+                // 图片任务排队等待调度；本子、章节任务只负责提交子任务，直接执行
+                scheduler.enqueue(task);
+                return;
+            }
             try {
                 executor.submit(task);
             } catch (Exception e) {
@@ -75,6 +183,16 @@ public class DownloadManager implements IDownloadManager, TaskObserver {
         }
     }
 
+    /**
+     * 在下载线程池上执行辅助工作（如流式任务获取章节详情），不经过调度器
+     *
+     * @param job 要执行的工作
+     * @throws java.util.concurrent.RejectedExecutionException 线程池已关闭
+     */
+    public void execute(Runnable job) {
+        executor.execute(job);
+    }
+
     @Override
     public void pause(String taskId) {
         BaseDownloadTask task = taskRegistry.get(taskId);
@@ -102,12 +220,68 @@ public class DownloadManager implements IDownloadManager, TaskObserver {
         task.cancel();
     }
 
+    @Override
+    public void setPriority(String taskId, int priority) {
+        BaseDownloadTask task = taskRegistry.get(taskId);
+        if (task == null) {
+            return;
+        }
+        task.setPriority(priority);
+    }
+
+    @Override
+    public void setSpeedLimit(long bytesPerSecond) {
+        bandwidthLimiter.setBytesPerSecond(bytesPerSecond);
+    }
+
+    /**
+     * 限制任务（含全部子任务）的下载速率。任务原来没有限速时，对已经在下载的图片从下一张开始生效
+     */
+    @Override
+    public void setSpeedLimit(String taskId, long bytesPerSecond) {
+        BaseDownloadTask task = taskRegistry.get(taskId);
+        if (task == null) {
+            return;
+        }
+        if (bytesPerSecond == 0) {
+            BandwidthLimiter limiter = taskLimiters.remove(taskId);
+            if (limiter != null) {
+                // 正在下载的图片还持有这个限速器
+                limiter.setBytesPerSecond(0);
+            }
+            return;
+        }
+        taskLimiters.computeIfAbsent(taskId, id -> new BandwidthLimiter(bytesPerSecond))
+                .setBytesPerSecond(bytesPerSecond);
+    }
+
+    @Override
+    public void addObserver(BaseDownloadTask task, TaskObserver observer) {
+        task.addObserver(eventBus.wrap(observer));
+    }
+
+    @Override
+    public void removeObserver(BaseDownloadTask task, TaskObserver observer) {
+        task.removeObserver(eventBus.wrap(observer));
+    }
+
     @Override
     public void close() {
+        // 关闭导致的取消不写入下载日志，下次启动时还能恢复
+        closing = true;
         for (BaseDownloadTask task : taskRegistry.values()) {
             task.cancel();
         }
+        scheduler.clear();
+        progressPublisher.close();
+        if (journal != null) {
+            journal.close();
+        }
 
+        if (!ownsExecutor) {
+            eventBus.close();
+            return;
+        }
         executor.shutdown();
         try {
             if (!executor.awaitTermination(closeTimeoutMs, TimeUnit.MILLISECONDS)) {
@@ -118,6 +292,8 @@ public class DownloadManager implements IDownloadManager, TaskObserver {
             Thread.currentThread().interrupt();
         }
 
+        // 取消引起的事件投递完后再停止事件线程
+        eventBus.close();
         taskRegistry.clear();
         activeTasks.clear();
     }
@@ -127,7 +303,56 @@ public class DownloadManager implements IDownloadManager, TaskObserver {
         // 移除终态任务
         if (newState.isTerminal()) {
             activeTasks.remove(task.getTaskId());
+            taskLimiters.remove(task.getTaskId());
+        }
+        if (journal != null && !closing) {
+            journalStateChanged(task, newState);
+        }
+    }
+
+    private void journalBegin(BaseDownloadTask task) {
+        if (journal == null || task.getParentTask() != null || journalKeys.containsKey(task.getTaskId())) {
+            return;
+        }
+        if (writesArchive(task)) {
+            // 归档中断后不能续写，恢复时整体重新下载，不需要逐张记录
+            logger.debug("任务 {} 写入归档，不记录下载日志", task.getTaskId());
+            return;
+        }
+        if (journal.begin(task.getTaskId(), task)) {
+            journalKeys.put(task.getTaskId(), task.getTaskId());
+        }
+    }
+
+    private void journalStateChanged(BaseDownloadTask task, TaskState newState) {
+        if (task instanceof ImageDownloadTask imageTask
+                && (newState == TaskState.COMPLETED || newState == TaskState.SKIPPED)) {
+            String key = journalKeys.get(rootOf(task).getTaskId());
+            if (key != null) {
+                journal.done(key, imageTask.getImage());
+            }
+        }
+        if (task.getParentTask() == null && newState.isTerminal()) {
+            String key = journalKeys.remove(task.getTaskId());
+            if (key != null) {
+                journal.end(key);
+            }
+        }
+    }
+
+    private static boolean writesArchive(BaseDownloadTask task) {
+        if (task instanceof AlbumDownloadTask album) {
+            return album.getArchiveMode() != ArchiveMode.NONE;
+        }
+        return task instanceof PhotoDownloadTask photo && photo.getArchiveMode() != ArchiveMode.NONE;
+    }
+
+    static BaseDownloadTask rootOf(BaseDownloadTask task) {
+        BaseDownloadTask root = task;
+        while (root.getParentTask() != null) {
+            root = root.getParentTask();
         }
+        return root;
     }
 
     @Override
@@ -135,7 +360,8 @@ public class DownloadManager implements IDownloadManager, TaskObserver {
         if (task.getParentTask() != null) {
             return;
         }
-        logger.info("Task: {}, progress with downloaded bytes: {}", task.getTaskId(), progress.downloadedBytes());
+        // 进度事件很频繁，INFO 级别输出会让日志后端拖慢发布进度的线程
+        logger.debug("Task: {}, progress with downloaded bytes: {}", task.getTaskId(), progress.downloadedBytes());
     }
 
     @Override
@@ -143,7 +369,9 @@ public class DownloadManager implements IDownloadManager, TaskObserver {
         if (task.getParentTask() != null) {
             return;
         }
-        logger.info("Task: {}, finished with result: {}", task.getTaskId(), result);
+        // 只输出数量，大本子的完整文件列表很长
+        logger.info("Task: {}, finished with {} files, {} failures", task.getTaskId(),
+                result.getSuccessfulFiles().size(), result.getFailedTasks().size());
     }
 
     @Override
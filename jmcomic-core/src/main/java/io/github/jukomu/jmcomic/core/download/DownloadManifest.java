@@ -0,0 +1,193 @@
+package io.github.jukomu.jmcomic.core.download;
+
+import io.github.jukomu.jmcomic.api.download.enums.TaskState;
+import io.github.jukomu.jmcomic.api.download.task.BaseDownloadTask;
+import io.github.jukomu.jmcomic.core.download.task.ImageDownloadTask;
+import io.github.jukomu.jmcomic.core.download.task.PhotoDownloadTask;
+import io.github.jukomu.jmcomic.core.util.JsonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * @author JUKOMU
+ * @Description: 一个本子的下载清单，记录已完整下载的章节
+ * <p>
+ * 清单保存在本子目录下的 {@value #FILE_NAME}，每个章节记录章节目录（相对本子目录）和每张图片的文件名、大小、CRC32。
+ * 只有图片全部下载成功或已存在的章节才会记录。创建本子任务时一次读入，清单中的章节直接创建为跳过的章节任务，
+ * 不获取章节详情、不创建图片任务，也不逐张检查文件。本子任务结束时把新完成的章节写回清单。
+ * <p>
+ * 清单不会察觉之后在外部删除、修改的图片，需要补全时删除清单文件（或其中的章节）即可。
+ * 清单损坏时按空清单处理。
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+public final class DownloadManifest {
+
+    private static final Logger logger = LoggerFactory.getLogger(DownloadManifest.class);
+
+    public static final String FILE_NAME = ".jmcomic-manifest.json";
+
+    static final int VERSION = 1;
+
+    private final Path directory;
+    private final Path file;
+    // 章节 ID -> 章节记录，按完成顺序排列
+    private final Map<String, PhotoRecord> photos;
+    private boolean dirty;
+
+    private DownloadManifest(Path directory, Map<String, PhotoRecord> photos) {
+        this.directory = directory;
+        this.file = directory.resolve(FILE_NAME);
+        this.photos = photos;
+    }
+
+    /**
+     * 读入本子目录下的清单，不存在或无法读取时为空清单
+     *
+     * @param directory 本子目录
+     * @return 清单
+     */
+    public static DownloadManifest load(Path directory) {
+        Objects.requireNonNull(directory);
+        Map<String, PhotoRecord> photos = new LinkedHashMap<>();
+        Path file = directory.resolve(FILE_NAME);
+        try {
+            Content content = JsonUtils.fromJson(Files.readString(file, StandardCharsets.UTF_8), Content.class);
+            if (content != null && content.version == VERSION && content.photos != null) {
+                for (PhotoRecord photo : content.photos) {
+                    if (photo != null && photo.id != null && photo.images != null && !photo.images.isEmpty()) {
+                        photos.put(photo.id, photo);
+                    }
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // 第一次下载
+        } catch (IOException | RuntimeException e) {
+            logger.warn("无法读取下载清单 {}，按空清单处理: {}", file, e.getMessage());
+        }
+        return new DownloadManifest(directory, photos);
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * 清单中记录为已完整下载的章节的图片文件
+     *
+     * @param photoId 章节 ID
+     * @return 图片文件，按章节中的顺序排列；清单中没有该章节时为 null
+     */
+    public synchronized List<Path> completedFiles(String photoId) {
+        PhotoRecord photo = photos.get(photoId);
+        if (photo == null) {
+            return null;
+        }
+        Path photoDir = photo.dir == null || photo.dir.isEmpty() ? directory : directory.resolve(photo.dir);
+        List<Path> files = new ArrayList<>(photo.images.size());
+        for (ImageRecord image : photo.images) {
+            files.add(photoDir.resolve(image.name));
+        }
+        return files;
+    }
+
+    /**
+     * 章节的图片全部下载成功或已存在时记入清单；按清单跳过、没有图片的章节不变
+     *
+     * @param photoTask 已结束的章节任务
+     */
+    public synchronized void record(PhotoDownloadTask photoTask) {
+        List<BaseDownloadTask> children = photoTask.getChildTasks();
+        if (children.isEmpty() || photoTask.getDirectory() == null) {
+            return;
+        }
+        List<ImageRecord> images = new ArrayList<>(children.size());
+        for (BaseDownloadTask child : children) {
+            TaskState state = child.currentState();
+            if (!(child instanceof ImageDownloadTask imageTask)
+                    || (state != TaskState.COMPLETED && state != TaskState.SKIPPED)) {
+                return;
+            }
+            ImageRecord image = new ImageRecord();
+            Path file = imageTask.getLocalFilePath();
+            image.name = file.getFileName().toString();
+            if (imageTask.getFileSize() >= 0) {
+                image.size = imageTask.getFileSize();
+                image.crc32 = String.format("%08x", imageTask.getFileCrc32());
+            } else {
+                // 已存在被跳过的图片没有读取内容，只记录文件大小，不为计算校验和重新读取
+                try {
+                    image.size = Files.size(file);
+                } catch (IOException e) {
+                    // 文件已经不在了，章节并不完整
+                    return;
+                }
+            }
+            images.add(image);
+        }
+        PhotoRecord photo = new PhotoRecord();
+        photo.id = photoTask.getPhoto().getId();
+        photo.dir = directory.equals(photoTask.getDirectory()) ? "" : directory.relativize(photoTask.getDirectory()).toString();
+        photo.images = images;
+        photos.put(photo.id, photo);
+        dirty = true;
+    }
+
+    /**
+     * 有新记录的章节时写回清单：先写临时文件再原子重命名
+     */
+    public synchronized void save() throws IOException {
+        if (!dirty) {
+            return;
+        }
+        Content content = new Content();
+        content.version = VERSION;
+        content.photos = new ArrayList<>(photos.values());
+        Files.createDirectories(directory);
+        Path tmp = file.resolveSibling(FILE_NAME + ".tmp");
+        Files.writeString(tmp, JsonUtils.toJson(content), StandardCharsets.UTF_8);
+        try {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        dirty = false;
+    }
+
+    private static final class Content {
+        private int version;
+        private List<PhotoRecord> photos;
+    }
+
+    private static final class PhotoRecord {
+        private String id;
+        // 章节目录，相对本子目录，单章节本子为空字符串
+        private String dir;
+        private List<ImageRecord> images;
+    }
+
+    private static final class ImageRecord {
+        private String name;
+        // 文件大小
+        private long size;
+        // CRC32（十六进制），已存在被跳过的图片为 null
+        private String crc32;
+    }
+}
@@ -0,0 +1,219 @@
+package io.github.jukomu.jmcomic.core.download;
+
+import io.github.jukomu.jmcomic.api.download.enums.TaskState;
+import io.github.jukomu.jmcomic.api.download.task.BaseDownloadTask;
+import io.github.jukomu.jmcomic.core.download.task.ImageDownloadTask;
+import io.github.jukomu.jmcomic.core.download.task.PhotoDownloadTask;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * @author JUKOMU
+ * @Description: 图片下载任务的调度器
+ * <p>
+ * 每个顶层任务（本子、章节或单张图片）一个队列，同时交给线程池的任务数不超过线程数，
+ * 其余任务留在队列中，每空出一个线程再挑选下一个：
+ * <ul>
+ *     <li>优先从优先级最高的顶层任务中挑选</li>
+ *     <li>优先级相同的顶层任务中，优先挑选正在下载的图片最少的，其次轮流挑选；
+ *     后提交的小任务不会被排在大本子的全部图片之后，被限速而下载较慢的任务也不会占满线程</li>
+ *     <li>同一顶层任务内按章节顺序、图片顺序挑选，前面的页先下载完</li>
+ * </ul>
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+final class DownloadScheduler {
+
+    private final ExecutorService executor;
+    private final int maxInFlight;
+    private final Object lock = new Object();
+    // 顶层任务编号 -> 队列
+    private final Map<String, Lane> lanes = new HashMap<>();
+    // 轮转顺序，刚被挑选过的队列移到末尾
+    private final Deque<Lane> rotation = new ArrayDeque<>();
+    // 顶层任务编号 -> 已交给线程池、尚未结束的图片数
+    private final Map<String, Integer> running = new HashMap<>();
+    private int inFlight;
+    private int queued;
+    private long sequence;
+
+    DownloadScheduler(ExecutorService executor) {
+        this.executor = executor;
+        this.maxInFlight = parallelismOf(executor);
+    }
+
+    /**
+     * 同时交给线程池的任务数取线程池的最大线程数，无法得知时取 CPU 核心数
+     */
+    private static int parallelismOf(ExecutorService executor) {
+        if (executor instanceof ThreadPoolExecutor pool && pool.getMaximumPoolSize() < Integer.MAX_VALUE) {
+            return Math.max(1, pool.getMaximumPoolSize());
+        }
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * 加入等待队列，有空闲线程时立即开始
+     */
+    void enqueue(BaseDownloadTask task) {
+        BaseDownloadTask root = DownloadManager.rootOf(task);
+        synchronized (lock) {
+            Lane lane = lanes.get(root.getTaskId());
+            if (lane == null) {
+                lane = new Lane(root);
+                lanes.put(root.getTaskId(), lane);
+                rotation.addLast(lane);
+            }
+            lane.tasks.add(new Entry(task, lane.rootId, photoOrder(task), imageOrder(task), sequence++));
+            queued++;
+        }
+        dispatch();
+    }
+
+    /**
+     * 等待中（尚未交给线程池）的任务数
+     */
+    int getQueuedCount() {
+        synchronized (lock) {
+            return queued;
+        }
+    }
+
+    /**
+     * 丢弃所有等待中的任务
+     */
+    void clear() {
+        synchronized (lock) {
+            lanes.clear();
+            rotation.clear();
+            queued = 0;
+        }
+    }
+
+    private void dispatch() {
+        while (true) {
+            Entry next;
+            synchronized (lock) {
+                if (inFlight >= maxInFlight) {
+                    return;
+                }
+                next = poll();
+                if (next == null) {
+                    return;
+                }
+                inFlight++;
+                running.merge(next.rootId, 1, Integer::sum);
+            }
+            try {
+                executor.submit(() -> {
+                    try {
+                        next.task.run();
+                    } finally {
+                        release(next.rootId);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                synchronized (lock) {
+                    inFlight--;
+                    running.computeIfPresent(next.rootId, (id, count) -> count > 1 ? count - 1 : null);
+                }
+                reject(next.task, e);
+            }
+        }
+    }
+
+    private void release(String rootId) {
+        synchronized (lock) {
+            inFlight--;
+            running.computeIfPresent(rootId, (id, count) -> count > 1 ? count - 1 : null);
+        }
+        dispatch();
+    }
+
+    /**
+     * 挑选下一个任务：优先级最高的队列中，正在下载的图片最少、轮转顺序最靠前的一个。已暂停、取消的任务直接丢弃。
+     */
+    private Entry poll() {
+        while (!rotation.isEmpty()) {
+            Lane chosen = null;
+            int chosenRunning = 0;
+            for (Lane lane : rotation) {
+                int laneRunning = running.getOrDefault(lane.rootId, 0);
+                if (chosen == null
+                        || lane.root.getPriority() > chosen.root.getPriority()
+                        || (lane.root.getPriority() == chosen.root.getPriority() && laneRunning < chosenRunning)) {
+                    chosen = lane;
+                    chosenRunning = laneRunning;
+                }
+            }
+            Entry entry = chosen.tasks.poll();
+            queued--;
+            rotation.remove(chosen);
+            if (chosen.tasks.isEmpty()) {
+                lanes.remove(chosen.rootId);
+            } else {
+                rotation.addLast(chosen);
+            }
+            if (entry.task.isState(TaskState.QUEUED)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 线程池拒绝（已关闭）时，与提交失败一样将任务置为失败
+     */
+    private static void reject(BaseDownloadTask task, Exception e) {
+        if (task.transitState(TaskState.QUEUED, TaskState.FAILED)) {
+            task.recordEndTimestamp();
+            task.notifyError(e);
+            task.notifyStateChanged(TaskState.FAILED);
+        }
+    }
+
+    private static int photoOrder(BaseDownloadTask task) {
+        if (task.getParentTask() instanceof PhotoDownloadTask photoTask && photoTask.getPhoto() != null) {
+            return photoTask.getPhoto().getSortOrder();
+        }
+        return 0;
+    }
+
+    private static int imageOrder(BaseDownloadTask task) {
+        if (task instanceof ImageDownloadTask imageTask && imageTask.getImage() != null) {
+            return imageTask.getImage().getSortOrder();
+        }
+        return 0;
+    }
+
+    /**
+     * 一个顶层任务的等待队列
+     */
+    private static final class Lane {
+        private final BaseDownloadTask root;
+        private final String rootId;
+        private final PriorityQueue<Entry> tasks = new PriorityQueue<>();
+
+        private Lane(BaseDownloadTask root) {
+            this.root = root;
+            this.rootId = root.getTaskId();
+        }
+    }
+
+    private record Entry(BaseDownloadTask task, String rootId, int photoOrder, int imageOrder, long sequence)
+            implements Comparable<Entry> {
+        @Override
+        public int compareTo(Entry o) {
+            if (photoOrder != o.photoOrder) {
+                return Integer.compare(photoOrder, o.photoOrder);
+            }
+            if (imageOrder != o.imageOrder) {
+                return Integer.compare(imageOrder, o.imageOrder);
+            }
+            return Long.compare(sequence, o.sequence);
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package io.github.jukomu.jmcomic.core.download;
+
+import io.github.jukomu.jmcomic.api.download.DownloadProgress;
+import io.github.jukomu.jmcomic.api.download.DownloadResult;
+import io.github.jukomu.jmcomic.api.download.enums.TaskState;
+import io.github.jukomu.jmcomic.api.download.task.BaseDownloadTask;
+import io.github.jukomu.jmcomic.api.download.task.TaskObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author JUKOMU
+ * @Description: 异步投递任务事件的事件总线
+ * <p>
+ * 经 {@link #wrap(TaskObserver)} 包装的观察者不在下载线程上执行：事件放入缓冲区，
+ * 由 "jmcomic-events" 线程按顺序投递，观察者处理缓慢或抛出异常都不会影响下载。
+ * <ul>
+ *     <li>进度事件按 (观察者, 任务) 合并，两次状态类事件之间缓冲区中最多一个，投递时取这期间最新的进度</li>
+ *     <li>缓冲区中的进度和非终态的状态事件最多 capacity 个，超出时丢弃，丢弃数见 {@link #getDroppedCount()}</li>
+ *     <li>终态、完成、异常事件不丢弃也不占用 capacity，总是放入缓冲区（每个任务只有少数几个）</li>
+ * </ul>
+ * 同一观察者收到的同一任务的事件顺序与发生顺序一致：发布状态、完成、异常事件时结束当前的进度合并，
+ * 之后的进度排在它后面，不会越过它先投递。不同任务之间，合并后的进度可能带着较新的值排在其他任务的事件之前。
+ * 除关闭之后发布的不可丢弃事件在当前线程直接投递外，
+ * 观察者只在投递线程上执行。所有异步观察者共用一个投递线程，观察者中不应长时间阻塞。
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+public final class TaskEventBus implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskEventBus.class);
+
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    // 关闭时等待已缓冲事件投递完的时间
+    static final long DRAIN_TIMEOUT_MS = 1000;
+
+    // 关闭时放入，投递线程取到后退出
+    private static final Event SHUTDOWN = new Event(() -> {
+    }, false);
+
+    private final BlockingQueue<Event> buffer = new LinkedBlockingQueue<>();
+    private final int capacity;
+    // 缓冲区中可丢弃事件的数量
+    private final AtomicInteger droppablePending = new AtomicInteger();
+    // (观察者, 任务) -> 仍可合并进度的待投递槽位
+    private final Map<ProgressKey, ProgressSlot> progressSlots = new ConcurrentHashMap<>();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Object threadLock = new Object();
+    private volatile Thread dispatcher;
+    private volatile boolean closed;
+
+    public TaskEventBus() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public TaskEventBus(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * 包装为异步观察者。对同一观察者多次包装得到的对象相等，可用于 {@link BaseDownloadTask#removeObserver}
+     *
+     * @param observer 实际处理事件的观察者
+     * @return 异步观察者
+     */
+    public TaskObserver wrap(TaskObserver observer) {
+        Objects.requireNonNull(observer);
+        if (observer instanceof AsyncObserver async && async.bus == this) {
+            return observer;
+        }
+        return new AsyncObserver(this, observer);
+    }
+
+    /**
+     * 因缓冲区已满而丢弃的事件数
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * 缓冲区中尚未投递的事件数
+     */
+    public int getPendingCount() {
+        return buffer.size();
+    }
+
+    private void publish(TaskObserver observer, BaseDownloadTask task, Runnable action, boolean mustDeliver) {
+        // 之后的进度不再并入已排队的槽位，以免越过这个事件
+        progressSlots.remove(new ProgressKey(observer, task));
+        if (closed) {
+            if (mustDeliver) {
+                deliver(action);
+            }
+            return;
+        }
+        if (dispatcher == null) {
+            startDispatcher();
+        }
+        if (mustDeliver) {
+            buffer.add(new Event(action, false));
+        } else if (!offerDroppable(action)) {
+            onDropped();
+        }
+    }
+
+    /**
+     * 可丢弃的事件未超出 capacity 时放入缓冲区
+     */
+    private boolean offerDroppable(Runnable action) {
+        if (droppablePending.incrementAndGet() > capacity) {
+            droppablePending.decrementAndGet();
+            return false;
+        }
+        buffer.add(new Event(action, true));
+        return true;
+    }
+
+    private void publishProgress(TaskObserver observer, BaseDownloadTask task, DownloadProgress progress) {
+        if (closed) {
+            return;
+        }
+        ProgressKey key = new ProgressKey(observer, task);
+        ProgressSlot pending = progressSlots.get(key);
+        if (pending != null && pending.merge(progress)) {
+            // 已有待投递的进度，投递时会取到这一次的值
+            return;
+        }
+        if (dispatcher == null) {
+            startDispatcher();
+        }
+        ProgressSlot slot = new ProgressSlot(progress);
+        progressSlots.put(key, slot);
+        Runnable action = () -> {
+            progressSlots.remove(key, slot);
+            observer.onProgressUpdate(task, slot.take());
+        };
+        if (!offerDroppable(action)) {
+            progressSlots.remove(key, slot);
+            onDropped();
+        }
+    }
+
+    private void onDropped() {
+        long count = dropped.incrementAndGet();
+        // 只在第 1、1024、2048... 次丢弃时记录，避免日志本身拖慢下载线程
+        if (count == 1 || count % 1024 == 0) {
+            logger.warn("任务事件缓冲区已满，累计丢弃 {} 个事件", count);
+        }
+    }
+
+    private void startDispatcher() {
+        synchronized (threadLock) {
+            if (dispatcher != null || closed) {
+                return;
+            }
+            Thread t = new Thread(this::dispatchLoop, "jmcomic-events");
+            t.setDaemon(true);
+            t.start();
+            dispatcher = t;
+        }
+    }
+
+    private void dispatchLoop() {
+        try {
+            Event event;
+            while ((event = buffer.take()) != SHUTDOWN) {
+                dispatch(event);
+            }
+            // 与关闭同时发布、排在结束标记之后的事件
+            while ((event = buffer.poll()) != null) {
+                dispatch(event);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void dispatch(Event event) {
+        if (event.droppable()) {
+            droppablePending.decrementAndGet();
+        }
+        deliver(event.action());
+    }
+
+    private static void deliver(Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            logger.warn("任务观察者处理事件失败: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 停止接收新事件，等待已缓冲的事件投递完（最多 {@value #DRAIN_TIMEOUT_MS} 毫秒）
+     */
+    @Override
+    public void close() {
+        closed = true;
+        Thread t;
+        synchronized (threadLock) {
+            t = dispatcher;
+        }
+        if (t == null) {
+            return;
+        }
+        buffer.add(SHUTDOWN);
+        if (t == Thread.currentThread()) {
+            return;
+        }
+        try {
+            t.join(DRAIN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (t.isAlive()) {
+            t.interrupt();
+        }
+        buffer.clear();
+        droppablePending.set(0);
+        progressSlots.clear();
+    }
+
+    /**
+     * 缓冲区中的一个事件
+     *
+     * @param action    投递动作
+     * @param droppable 是否计入 capacity
+     */
+    private record Event(Runnable action, boolean droppable) {
+    }
+
+    private record ProgressKey(TaskObserver observer, BaseDownloadTask task) {
+    }
+
+    /**
+     * 缓冲区中的一个进度事件，投递前后来的进度都并入其中
+     */
+    private static final class ProgressSlot {
+        private DownloadProgress latest;
+        private boolean taken;
+
+        private ProgressSlot(DownloadProgress progress) {
+            this.latest = progress;
+        }
+
+        /**
+         * 尚未投递时替换为更新的进度
+         *
+         * @return 已经开始投递时返回 false
+         */
+        synchronized boolean merge(DownloadProgress progress) {
+            if (taken) {
+                return false;
+            }
+            latest = progress;
+            return true;
+        }
+
+        synchronized DownloadProgress take() {
+            taken = true;
+            return latest;
+        }
+    }
+
+    /**
+     * 将事件转交给事件总线的观察者
+     */
+    private static final class AsyncObserver implements TaskObserver {
+        private final TaskEventBus bus;
+        private final TaskObserver delegate;
+
+        private AsyncObserver(TaskEventBus bus, TaskObserver delegate) {
+            this.bus = bus;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onStateChanged(BaseDownloadTask task, TaskState newState) {
+            bus.publish(delegate, task, () -> delegate.onStateChanged(task, newState), newState.isTerminal());
+        }
+
+        @Override
+        public void onProgressUpdate(BaseDownloadTask task, DownloadProgress progress) {
+            bus.publishProgress(delegate, task, progress);
+        }
+
+        @Override
+        public void onFinished(BaseDownloadTask task, DownloadResult result) {
+            bus.publish(delegate, task, () -> delegate.onFinished(task, result), true);
+        }
+
+        @Override
+        public void onError(BaseDownloadTask task, Exception e) {
+            bus.publish(delegate, task, () -> delegate.onError(task, e), true);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof AsyncObserver other && other.bus == bus && other.delegate.equals(delegate);
+        }
+
+        @Override
+        public int hashCode() {
+            return delegate.hashCode();
+        }
+    }
+}
@@ -2,17 +2,31 @@ package io.github.jukomu.jmcomic.core.download.task;
 
 import io.github.jukomu.jmcomic.api.download.DownloadProgress;
 import io.github.jukomu.jmcomic.api.download.DownloadResult;
+import io.github.jukomu.jmcomic.api.download.enums.ArchiveMode;
 import io.github.jukomu.jmcomic.api.download.enums.TaskState;
+import io.github.jukomu.jmcomic.api.download.enums.TaskType;
 import io.github.jukomu.jmcomic.api.download.task.BaseDownloadTask;
 import io.github.jukomu.jmcomic.api.download.task.TaskObserver;
 import io.github.jukomu.jmcomic.api.model.JmAlbum;
-import io.github.jukomu.jmcomic.api.model.JmImage;
+import io.github.jukomu.jmcomic.api.model.JmPhoto;
+import io.github.jukomu.jmcomic.api.model.JmPhotoMeta;
 import io.github.jukomu.jmcomic.core.download.DownloadManager;
+import io.github.jukomu.jmcomic.core.download.DownloadManifest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.nio.file.Path;
-import java.util.Map;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
 
 /**
  * @author JUKOMU
@@ -20,11 +34,38 @@ import java.util.concurrent.ConcurrentHashMap;
  * @Project: JMComic-Api-Java
  * @Date: 2026/5/4
  */
-public class AlbumDownloadTask extends BaseDownloadTask implements TaskObserver {
+public class AlbumDownloadTask extends BaseDownloadTask implements TaskObserver, ProgressAggregator {
+
+    private static final Logger logger = LoggerFactory.getLogger(AlbumDownloadTask.class);
+
+    // 流式创建时同时获取章节详情的数量，与一次性创建时的辅助线程数相同
+    static final int STREAMING_FETCH_PARALLELISM = 2;
 
     private final JmAlbum album;
     private final DownloadManager downloadManager;
     private final Set<String> countedTerminalTasks = ConcurrentHashMap.newKeySet();
+    // 子任务推送的字节数、图片数汇总
+    private final LongAdder downloadedBytesSum = new LongAdder();
+    private final LongAdder totalBytesSum = new LongAdder();
+    private final LongAdder completedImages = new LongAdder();
+    private final LongAdder failedImages = new LongAdder();
+    private volatile int totalImages;
+    // 速率统计
+    private final ThroughputMeter throughput = new ThroughputMeter();
+    // 下载目录，用于下载日志记录任务
+    private Path directory;
+    // 流式创建：根据章节元数据获取详情并创建章节任务，为 null 表示子任务已一次性创建
+    private volatile Function<JmPhotoMeta, BaseDownloadTask> photoLoader;
+    // 尚未挂上的章节数
+    private final AtomicInteger unloadedPhotos = new AtomicInteger();
+    // 下一个要获取的章节下标
+    private final AtomicInteger nextPhotoIndex = new AtomicInteger();
+    private final AtomicBoolean loadingStarted = new AtomicBoolean();
+    // 输出方式，整本一个归档时 archiveWriter 为该归档
+    private volatile ArchiveMode archiveMode = ArchiveMode.NONE;
+    private volatile ArchiveWriter archiveWriter;
+    // 下载清单，为 null 时不使用
+    private volatile DownloadManifest manifest;
 
     public AlbumDownloadTask(JmAlbum album, DownloadManager downloadManager) {
         super();
@@ -40,6 +81,9 @@ public class AlbumDownloadTask extends BaseDownloadTask implements TaskObserver
             for (BaseDownloadTask childTask : this.childTasks) {
                 downloadManager.submit(childTask);
             }
+            if (this.photoLoader != null && loadingStarted.compareAndSet(false, true)) {
+                startLoading();
+            }
             TaskState terminalState = aggregateTerminalState();
             if (terminalState != null) {
                 doAggregateTerminalState(terminalState);
@@ -82,21 +126,220 @@ public class AlbumDownloadTask extends BaseDownloadTask implements TaskObserver
         return this.album;
     }
 
+    public Path getDirectory() {
+        return this.directory;
+    }
+
+    public void setDirectory(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * 改为流式创建章节任务：任务开始后在下载管理器的线程池上按章节顺序获取章节详情，
+     * 每个章节的详情到达后立即挂上并提交对应的章节任务，不必等待所有章节获取完成。
+     * 只能在提交前调用。
+     *
+     * @param photoLoader 根据章节元数据获取章节详情并创建章节任务，抛出异常时该章节记为失败
+     */
+    public void streamChildTasks(Function<JmPhotoMeta, BaseDownloadTask> photoLoader) {
+        if (!isState(TaskState.PENDING)) {
+            throw new IllegalStateException("Streaming child tasks must be configured before the task is submitted");
+        }
+        this.childTasks = new CopyOnWriteArrayList<>();
+        this.unloadedPhotos.set(this.album.photoMetas().size());
+        this.photoLoader = Objects.requireNonNull(photoLoader);
+    }
+
+    /**
+     * 改为写入 CBZ 归档，只能在提交前调用。
+     * {@link ArchiveMode#ALBUM} 时整本写入 {@code <下载目录>.cbz}，
+     * {@link ArchiveMode#PHOTO} 时每个章节写入各自的 {@code <章节目录>.cbz}。
+     * 流式创建的章节在挂上时同样写入归档。
+     *
+     * @param mode 输出方式
+     */
+    public void writeToArchive(ArchiveMode mode) {
+        if (!isState(TaskState.PENDING)) {
+            throw new IllegalStateException("Archive output must be configured before the task is submitted");
+        }
+        if (mode == ArchiveMode.ALBUM) {
+            Path file = this.directory.resolveSibling(this.directory.getFileName() + ".cbz");
+            this.archiveWriter = new ArchiveWriter(file, ComicInfo.of(this.album));
+        }
+        this.archiveMode = Objects.requireNonNull(mode);
+        for (BaseDownloadTask childTask : this.childTasks) {
+            archiveChild(childTask);
+        }
+    }
+
+    /**
+     * 使用下载清单：清单中的章节可以通过 {@link #skippedPhotoTask(JmPhotoMeta)} 直接跳过，
+     * 流式创建时也不再获取这些章节的详情；结束时把新完成的章节写回清单。只能在提交前调用。
+     */
+    public void useManifest(DownloadManifest manifest) {
+        if (!isState(TaskState.PENDING)) {
+            throw new IllegalStateException("Download manifest must be configured before the task is submitted");
+        }
+        this.manifest = Objects.requireNonNull(manifest);
+    }
+
+    public DownloadManifest getManifest() {
+        return this.manifest;
+    }
+
+    /**
+     * 下载清单中记录为已完整下载的章节，创建为已跳过、没有图片子任务的章节任务，并登记为本任务的子任务的观察对象
+     *
+     * @return 没有使用清单或清单中没有该章节时为 null
+     */
+    public PhotoDownloadTask skippedPhotoTask(JmPhotoMeta photoMeta) {
+        DownloadManifest current = this.manifest;
+        List<Path> files = current != null ? current.completedFiles(photoMeta.getId()) : null;
+        if (files == null) {
+            return null;
+        }
+        PhotoDownloadTask task = placeholderTask(photoMeta);
+        task.setDirectory(files.get(0).getParent());
+        task.setParentTask(this);
+        task.addObserver(this);
+        task.markDownloaded(files);
+        return task;
+    }
+
+    public ArchiveMode getArchiveMode() {
+        return this.archiveMode;
+    }
+
+    /**
+     * 整本写入的归档文件，不是整本写入归档时为 null
+     */
+    public Path getArchiveFile() {
+        ArchiveWriter writer = this.archiveWriter;
+        return writer != null ? writer.getFile() : null;
+    }
+
+    private void archiveChild(BaseDownloadTask task) {
+        if (!(task instanceof PhotoDownloadTask photoTask) || !photoTask.isState(TaskState.PENDING)) {
+            // 获取详情失败的章节没有图片
+            return;
+        }
+        if (this.archiveMode == ArchiveMode.PHOTO) {
+            photoTask.writeToArchive(this.album);
+        } else if (this.archiveMode == ArchiveMode.ALBUM) {
+            JmPhoto photo = photoTask.getPhoto();
+            // 单章节本子不分目录，多章节按章节序号分目录，阅读器按名称排序即章节顺序
+            String prefix = this.album.photoMetas().size() <= 1
+                    ? ""
+                    : String.format("%04d_%s/", photo.getSortOrder(), photo.getId());
+            photoTask.useArchive(this.archiveWriter, prefix, ArchiveMode.ALBUM);
+        }
+    }
+
+    /**
+     * 是否流式创建章节任务。流式任务在所有章节挂上之前，子任务列表只包含已获取到详情的章节
+     */
+    public boolean isStreaming() {
+        return this.photoLoader != null;
+    }
+
+    private void startLoading() {
+        int workers = Math.min(STREAMING_FETCH_PARALLELISM, unloadedPhotos.get());
+        for (int i = 0; i < workers; i++) {
+            try {
+                downloadManager.execute(this::loadPhotos);
+            } catch (RejectedExecutionException e) {
+                // 线程池不再接受任务，在当前线程处理剩余章节
+                loadPhotos();
+            }
+        }
+    }
+
+    private void loadPhotos() {
+        List<JmPhotoMeta> photoMetas = this.album.photoMetas();
+        int index;
+        while ((index = nextPhotoIndex.getAndIncrement()) < photoMetas.size()) {
+            JmPhotoMeta photoMeta = photoMetas.get(index);
+            BaseDownloadTask task;
+            if (isState(TaskState.CANCELLING) || isState(TaskState.CANCELLED)) {
+                // 已取消，不再获取详情，挂上占位任务后随即取消
+                task = placeholderTask(photoMeta);
+            } else {
+                task = skippedPhotoTask(photoMeta);
+                if (task == null) {
+                    try {
+                        task = this.photoLoader.apply(photoMeta);
+                    } catch (RuntimeException e) {
+                        logger.warn("获取章节 {} 详情失败: {}", photoMeta.getId(), e.getMessage());
+                        task = failedTask(photoMeta, e);
+                    }
+                }
+            }
+            attach(task);
+        }
+    }
+
+    /**
+     * 挂上新获取到的章节任务，本子正在运行时立即提交
+     */
+    private void attach(BaseDownloadTask task) {
+        task.setParentTask(this);
+        task.addObserver(this);
+        this.childTasks.add(task);
+        synchronized (counterLock) {
+            this.totalImages += imageCount(task);
+        }
+        archiveChild(task);
+        unloadedPhotos.decrementAndGet();
+        if (isState(TaskState.RUNNING)) {
+            downloadManager.submit(task);
+            // 提交的同时本子可能被暂停、取消，补上对新章节的操作
+            if (isState(TaskState.PAUSED)) {
+                task.pause();
+            } else if (isState(TaskState.CANCELLING) || isState(TaskState.CANCELLED)) {
+                task.cancel();
+            }
+        } else if (isState(TaskState.CANCELLING) || isState(TaskState.CANCELLED)) {
+            task.cancel();
+        }
+        // 暂停时保持等待，恢复时随其他章节一起提交
+        finishIfDone();
+    }
+
+    private PhotoDownloadTask placeholderTask(JmPhotoMeta photoMeta) {
+        JmPhoto photo = new JmPhoto(photoMeta.getId(), photoMeta.getTitle(), this.album.getId(), null,
+                photoMeta.getSortOrder(), null, null, null, this.album.photoMetas().size() == 1);
+        PhotoDownloadTask task = new PhotoDownloadTask(photo, downloadManager);
+        task.setType(TaskType.PHOTO);
+        return task;
+    }
+
+    private PhotoDownloadTask failedTask(JmPhotoMeta photoMeta, Exception e) {
+        PhotoDownloadTask task = placeholderTask(photoMeta);
+        task.setParentTask(this);
+        task.addObserver(this);
+        if (task.transitState(TaskState.PENDING, TaskState.FAILED)) {
+            task.recordEndTimestamp();
+            task.notifyError(e);
+            task.notifyStateChanged(TaskState.FAILED);
+        }
+        return task;
+    }
+
+    @Override
+    protected TaskState aggregateTerminalState() {
+        if (unloadedPhotos.get() > 0) {
+            // 还有章节没有挂上
+            return null;
+        }
+        return super.aggregateTerminalState();
+    }
+
     @Override
     public void onStateChanged(BaseDownloadTask task, TaskState newState) {
         if (newState.isTerminal() && !countedTerminalTasks.add(task.getTaskId())) {
             // 已计数
             return;
         }
-        if (newState.isTerminal()) {
-            DownloadResult result = task.getCurrentDownloadResult();
-            for (Path path : result.getSuccessfulFiles()) {
-                addSuccessfulFile(path);
-            }
-            for (Map.Entry<JmImage, Exception> entry : result.getFailedTasks().entrySet()) {
-                addFailedTask(entry.getKey(), entry.getValue());
-            }
-        }
         switch (newState) {
             case COMPLETED:
                 synchronized (counterLock) {
@@ -117,6 +360,10 @@ public class AlbumDownloadTask extends BaseDownloadTask implements TaskObserver
                 synchronized (counterLock) {
                     this.skippedCount++;
                 }
+                if (task instanceof PhotoDownloadTask photoTask && photoTask.getChildTasks().isEmpty()) {
+                    // 按清单跳过的章节没有图片子任务，图片数直接计入完成
+                    completedImages.add(photoTask.getImageCount());
+                }
                 break;
             case COMPLETED_WITH_ERRORS:
                 synchronized (counterLock) {
@@ -127,12 +374,20 @@ public class AlbumDownloadTask extends BaseDownloadTask implements TaskObserver
                 break;
         }
 
+        finishIfDone();
+    }
+
+    private void finishIfDone() {
         TaskState terminalState = aggregateTerminalState();
         if (terminalState == null) {
             // 子任务没有全部结束
             return;
         }
 
+        terminalState = finishArchive(terminalState);
+        saveManifest();
+        // 子任务已全部结束，先发布最终进度再迁移到终态，观察者收到终态时进度已是最终值
+        publishProgress();
         if (doAggregateTerminalState(terminalState)) {
             // 当前任务处于终态
             DownloadResult result = getCurrentDownloadResult();
@@ -140,70 +395,170 @@ public class AlbumDownloadTask extends BaseDownloadTask implements TaskObserver
         }
     }
 
+    /**
+     * 把完整下载的章节写回下载清单，写入失败不影响任务结果
+     */
+    private void saveManifest() {
+        DownloadManifest current = this.manifest;
+        if (current == null) {
+            return;
+        }
+        for (BaseDownloadTask child : this.childTasks) {
+            if (child instanceof PhotoDownloadTask photoTask) {
+                current.record(photoTask);
+            }
+        }
+        try {
+            current.save();
+        } catch (IOException e) {
+            logger.warn("写入下载清单 {} 失败: {}", current.getFile(), e.getMessage());
+        }
+    }
+
+    /**
+     * 整本写入归档时，在迁移到终态前结束归档：有图片下载成功时保留，否则删除
+     *
+     * @return 归档写入失败时为 FAILED，否则为原终态
+     */
+    private TaskState finishArchive(TaskState terminalState) {
+        ArchiveWriter writer = this.archiveWriter;
+        if (writer == null) {
+            return terminalState;
+        }
+        boolean keep = terminalState == TaskState.COMPLETED || terminalState == TaskState.COMPLETED_WITH_ERRORS;
+        try {
+            if (writer.finish(keep)) {
+                logger.debug("本子 {} 已写入归档 {}", this.album.getId(), writer.getFile());
+            }
+            return terminalState;
+        } catch (IOException e) {
+            logger.error("写入归档 {} 失败: {}", writer.getFile(), e.getMessage());
+            return TaskState.FAILED;
+        }
+    }
+
     @Override
     public void onProgressUpdate(BaseDownloadTask task, DownloadProgress progress) {
+        // 字节数和图片数已由子任务以增量推送，这里只标记待发布
+        schedulePublish();
+    }
+
+    @Override
+    public void addProgressDelta(long downloadedDelta, long totalDelta) {
+        downloadedBytesSum.add(downloadedDelta);
+        totalBytesSum.add(totalDelta);
+        throughput.recordBytes(downloadedDelta);
+        schedulePublish();
+    }
+
+    /**
+     * 累加章节推送的一张图片的结束
+     *
+     * @param done       是否视为完成（成功或跳过）
+     * @param imageBytes 实际下载的字节数，跳过、失败时为 0
+     */
+    void addFinishedImage(boolean done, long imageBytes) {
+        if (done) {
+            completedImages.increment();
+        } else {
+            failedImages.increment();
+        }
+        throughput.recordImage(done, imageBytes);
+        schedulePublish();
+    }
+
+    @Override
+    public void publishProgress() {
         synchronized (progressLock) {
-            long totalDownloadedBytes = 0;
-            long totalBytes = 0;
-            int totalImageCompleted = 0;
-            int totalImageFailed = 0;
-            int totalImage = 0;
-            for (BaseDownloadTask childTask : childTasks) {
-                long bytes = childTask.getDownloadedBytes();
-                long childTotalBytes = childTask.getTotalBytes();
-                // 统计总字节数
-                if (childTotalBytes == -1) {
-                    childTotalBytes = bytes;
-                }
-                totalDownloadedBytes += bytes;
-                totalBytes += childTotalBytes;
-
-                // 统计图片
-                int imageCompleted = childTask.getCompletedCount();
-                int imageSkipped = childTask.getSkippedCount();
-                int imageFailed = childTask.getFailedCount();
-                int imageCancelled = childTask.getCancelledCount();
-                int imageCompletedWithErrors = childTask.getCompletedWithErrorsCount();
-                totalImageCompleted += imageCompleted + imageSkipped + imageCompletedWithErrors;
-                totalImageFailed += imageFailed + imageCancelled;
-                totalImage += childTask.getChildTasks().size();
-            }
-            this.downloadedBytes = totalDownloadedBytes;
-            this.totalBytes = totalBytes;
             DownloadProgress partialProgress = new DownloadProgress(
                     this.album.getId(),
                     this.album.getTitle(),
                     null,
                     null,
-                    totalImageCompleted,
-                    totalImageFailed,
-                    totalImage,
+                    completedImages.intValue(),
+                    failedImages.intValue(),
+                    this.totalImages,
                     this.completedCount + this.completedWithErrorsCount + this.skippedCount,
                     this.failedCount + this.cancelledCount,
-                    this.childTasks.size(),
+                    this.childTasks.size() + unloadedPhotos.get(),
                     true,
-                    totalDownloadedBytes,
+                    getDownloadedBytes(),
                     String.valueOf(System.currentTimeMillis())
             );
             notifyProgressUpdate(partialProgress);
         }
     }
 
+    private void schedulePublish() {
+        if (downloadManager != null) {
+            downloadManager.getProgressPublisher().schedule(this);
+        } else {
+            publishProgress();
+        }
+    }
+
     @Override
-    public void onFinished(BaseDownloadTask task, DownloadResult result) {
-        for (Path path : result.getSuccessfulFiles()) {
-            addSuccessfulFile(path);
+    public void setChildTasks(List<BaseDownloadTask> childTasks) {
+        super.setChildTasks(childTasks);
+        int images = 0;
+        for (BaseDownloadTask childTask : childTasks) {
+            images += imageCount(childTask);
+        }
+        this.totalImages = images;
+    }
+
+    private static int imageCount(BaseDownloadTask task) {
+        return task instanceof PhotoDownloadTask photoTask ? photoTask.getImageCount() : task.getChildTasks().size();
+    }
+
+    @Override
+    public long getDownloadedBytes() {
+        return downloadedBytesSum.sum();
+    }
+
+    @Override
+    public long getTotalBytes() {
+        return totalBytesSum.sum();
+    }
+
+    @Override
+    public double getBytesPerSecond() {
+        return throughput.bytesPerSecond();
+    }
+
+    @Override
+    public double getImagesPerSecond() {
+        return throughput.imagesPerSecond();
+    }
+
+    @Override
+    public long getEstimatedTotalBytes() {
+        long remainingImages;
+        int loadedPhotos;
+        synchronized (counterLock) {
+            remainingImages = this.totalImages;
+            loadedPhotos = this.childTasks.size();
         }
-        for (Map.Entry<JmImage, Exception> entry : result.getFailedTasks().entrySet()) {
-            addFailedTask(entry.getKey(), entry.getValue());
+        remainingImages -= completedImages.sum() + failedImages.sum();
+        int unloaded = unloadedPhotos.get();
+        if (unloaded > 0) {
+            if (loadedPhotos == 0) {
+                // 还没有章节挂上，图片数未知
+                return -1;
+            }
+            // 流式创建时尚未挂上的章节按已挂上章节的平均图片数估算
+            remainingImages += (long) unloaded * this.totalImages / loadedPhotos;
         }
+        return throughput.estimateTotalBytes(remainingImages, getDownloadedBytes());
+    }
+
+    @Override
+    public void onFinished(BaseDownloadTask task, DownloadResult result) {
+        // 子任务的结果在 getCurrentDownloadResult 时按任务树收集，这里不复制
     }
 
     @Override
     public void onError(BaseDownloadTask task, Exception e) {
-        DownloadResult result = task.getCurrentDownloadResult();
-        for (Map.Entry<JmImage, Exception> entry : result.getFailedTasks().entrySet()) {
-            addFailedTask(entry.getKey(), entry.getValue());
-        }
+        // 同上，失败记录保留在子任务中
     }
 }
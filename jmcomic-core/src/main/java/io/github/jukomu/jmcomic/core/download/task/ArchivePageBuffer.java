@@ -0,0 +1,105 @@
+package io.github.jukomu.jmcomic.core.download.task;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * @author JUKOMU
+ * @Description: 一个章节写入归档时的页面重排缓冲
+ * <p>
+ * 图片并发下载、完成顺序不定，这里按页码顺序写入归档：下一页还没到时先把后面的页暂存，
+ * 失败、取消、跳过的页由 {@link #skip(int)} 让出位置。暂存超过 {@value #MAX_PENDING_PAGES} 页时
+ * 不再等待缺的页，从暂存的最小页码继续写，缺的页到达后直接追加（条目名自带页码，阅读器按名称排序，不影响阅读顺序）。
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+final class ArchivePageBuffer {
+
+    static final int MAX_PENDING_PAGES = 8;
+
+    private final ArchiveWriter writer;
+    // 条目名前缀，整本一个归档时为章节目录
+    private final String entryPrefix;
+    // 页码 -> 暂存的页，null 值表示该页不会写入
+    private final TreeMap<Integer, Page> pending = new TreeMap<>();
+    private int nextIndex;
+
+    ArchivePageBuffer(ArchiveWriter writer, String entryPrefix) {
+        this.writer = writer;
+        this.entryPrefix = entryPrefix;
+    }
+
+    ArchiveWriter getWriter() {
+        return writer;
+    }
+
+    /**
+     * 图片在归档中的路径，用作下载结果中的文件路径
+     */
+    Path pathOf(String filename) {
+        return writer.getFile().resolve(entryPrefix + filename);
+    }
+
+    /**
+     * 写入一页
+     *
+     * @param index    页在章节中的下标（从 0 开始）
+     * @param filename 条目文件名
+     * @param data     图片内容
+     */
+    synchronized void put(int index, String filename, byte[] data) throws IOException {
+        if (index < nextIndex) {
+            // 已经不再等待的页，到达后直接写入
+            writer.write(entryPrefix + filename, data);
+            return;
+        }
+        if (index > nextIndex) {
+            pending.put(index, new Page(filename, data));
+            if (pending.size() > MAX_PENDING_PAGES) {
+                // 前面的页迟迟不到，不再等待，从暂存的最小页码继续
+                Map.Entry<Integer, Page> first = pending.pollFirstEntry();
+                nextIndex = first.getKey() + 1;
+                if (first.getValue() != null) {
+                    writer.write(entryPrefix + first.getValue().filename, first.getValue().data);
+                }
+                drain();
+            }
+            return;
+        }
+        writer.write(entryPrefix + filename, data);
+        nextIndex++;
+        drain();
+    }
+
+    /**
+     * 该页不会写入（失败、取消、跳过），不再等待
+     */
+    synchronized void skip(int index) throws IOException {
+        if (index < nextIndex) {
+            return;
+        }
+        if (index != nextIndex) {
+            pending.putIfAbsent(index, null);
+            return;
+        }
+        nextIndex++;
+        drain();
+    }
+
+    private void drain() throws IOException {
+        Map.Entry<Integer, Page> first;
+        while ((first = pending.firstEntry()) != null && first.getKey() == nextIndex) {
+            pending.pollFirstEntry();
+            nextIndex++;
+            Page page = first.getValue();
+            if (page != null) {
+                writer.write(entryPrefix + page.filename, page.data);
+            }
+        }
+    }
+
+    private record Page(String filename, byte[] data) {
+    }
+}
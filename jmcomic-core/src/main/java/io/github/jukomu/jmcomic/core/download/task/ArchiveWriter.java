@@ -0,0 +1,152 @@
+package io.github.jukomu.jmcomic.core.download.task;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * @author JUKOMU
+ * @Description: CBZ 归档的写入端
+ * <p>
+ * 图片以不压缩（STORED）的条目追加写入 {@code <归档>.part}，结束时写入 ComicInfo.xml，
+ * 再原子重命名为最终文件。整个归档只产生一个文件的创建、重命名，不再为每张图片各做一次。
+ * 第一次写入时才创建文件，一张图片都没有写入时不留下任何文件。
+ * <p>
+ * 写入失败后归档作废，之后的写入直接抛出同一个异常，{@link #finish(boolean)} 时删除残文件，要求保留时抛出该异常。
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+final class ArchiveWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path file;
+    private final Path partFile;
+    private final ComicInfo comicInfo;
+    // 创建时归档是否已存在，已存在时整个归档跳过
+    private final boolean existed;
+    private final CRC32 crc = new CRC32();
+    private ZipOutputStream out;
+    private int pageCount;
+    private IOException failure;
+    private boolean finished;
+
+    ArchiveWriter(Path file, ComicInfo comicInfo) {
+        this.file = file;
+        this.partFile = file.resolveSibling(file.getFileName() + ".part");
+        this.comicInfo = comicInfo;
+        this.existed = Files.exists(file);
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    boolean existed() {
+        return existed;
+    }
+
+    /**
+     * 结束后归档是否因写入失败而作废，作废时返回失败原因
+     */
+    synchronized IOException getFailure() {
+        return finished ? failure : null;
+    }
+
+    /**
+     * 追加一张图片
+     *
+     * @param entryName 归档内的路径
+     * @param data      图片内容
+     */
+    synchronized void write(String entryName, byte[] data) throws IOException {
+        if (failure != null) {
+            throw failure;
+        }
+        if (finished) {
+            throw new IOException("Archive already finished: " + file);
+        }
+        try {
+            if (out == null) {
+                open();
+            }
+            putEntry(entryName, data);
+            pageCount++;
+        } catch (IOException e) {
+            failure = e;
+            throw e;
+        }
+    }
+
+    private void open() throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        // 上次中断留下的 .part 直接覆盖
+        out = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(partFile), BUFFER_SIZE));
+    }
+
+    private void putEntry(String entryName, byte[] data) throws IOException {
+        ZipEntry entry = new ZipEntry(entryName);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(data.length);
+        entry.setCompressedSize(data.length);
+        crc.reset();
+        crc.update(data);
+        entry.setCrc(crc.getValue());
+        out.putNextEntry(entry);
+        out.write(data);
+        out.closeEntry();
+    }
+
+    /**
+     * 结束写入
+     *
+     * @param keep true 时写入 ComicInfo.xml 并重命名为最终文件，false 时删除已写入的部分
+     * @return 是否生成了归档文件
+     */
+    synchronized boolean finish(boolean keep) throws IOException {
+        if (finished) {
+            // 同时结束的子任务可能重复调用，结果与第一次一致
+            if (failure != null && keep) {
+                throw failure;
+            }
+            return false;
+        }
+        finished = true;
+        if (out == null) {
+            return false;
+        }
+        if (failure == null && keep) {
+            try {
+                putEntry(ComicInfo.ENTRY_NAME, comicInfo.toXml(pageCount).getBytes(StandardCharsets.UTF_8));
+                out.close();
+                try {
+                    Files.move(partFile, file, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(partFile, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+                return true;
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        try {
+            out.close();
+        } catch (IOException ignored) {
+            // 已经出错或不再需要，关闭失败不影响结果
+        }
+        Files.deleteIfExists(partFile);
+        if (failure != null && keep) {
+            throw failure;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,105 @@
+package io.github.jukomu.jmcomic.core.download.task;
+
+import io.github.jukomu.jmcomic.api.model.JmAlbum;
+import io.github.jukomu.jmcomic.api.model.JmPhoto;
+
+import java.util.List;
+
+/**
+ * @author JUKOMU
+ * @Description: 写入 CBZ 归档的 ComicInfo.xml（ComicRack 格式）
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+final class ComicInfo {
+
+    static final String ENTRY_NAME = "ComicInfo.xml";
+
+    private final String title;
+    private final String series;
+    private final int number;
+    private final int count;
+    private final String summary;
+    private final String writer;
+    private final String tags;
+
+    private ComicInfo(String title, String series, int number, int count, String summary, String writer, String tags) {
+        this.title = title;
+        this.series = series;
+        this.number = number;
+        this.count = count;
+        this.summary = summary;
+        this.writer = writer;
+        this.tags = tags;
+    }
+
+    /**
+     * 整个本子一个归档
+     */
+    static ComicInfo of(JmAlbum album) {
+        return new ComicInfo(album.getTitle(), album.getTitle(), 0, album.photoMetas().size(),
+                album.getDescription(), join(album.getAuthors()), join(album.getTags()));
+    }
+
+    /**
+     * 每个章节一个归档
+     *
+     * @param album 章节所属的本子，单独下载章节时可以为 null
+     */
+    static ComicInfo of(JmPhoto photo, JmAlbum album) {
+        if (album == null) {
+            return new ComicInfo(photo.getTitle(), null, photo.getSortOrder(), 0,
+                    null, photo.getAuthor(), join(photo.getTags()));
+        }
+        List<String> tags = album.getTags() != null && !album.getTags().isEmpty() ? album.getTags() : photo.getTags();
+        return new ComicInfo(photo.getTitle(), album.getTitle(), photo.getSortOrder(), album.photoMetas().size(),
+                album.getDescription(), join(album.getAuthors()), join(tags));
+    }
+
+    String toXml(int pageCount) {
+        StringBuilder sb = new StringBuilder(512);
+        sb.append("<?xml version=\"1.0\" encoding=\"utf-8\"?>\n");
+        sb.append("<ComicInfo xmlns:xsd=\"http://www.w3.org/2001/XMLSchema\" xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\">\n");
+        element(sb, "Title", title);
+        element(sb, "Series", series);
+        if (number > 0) {
+            element(sb, "Number", String.valueOf(number));
+        }
+        if (count > 0) {
+            element(sb, "Count", String.valueOf(count));
+        }
+        element(sb, "Summary", summary);
+        element(sb, "Writer", writer);
+        element(sb, "Tags", tags);
+        element(sb, "PageCount", String.valueOf(pageCount));
+        sb.append("</ComicInfo>\n");
+        return sb.toString();
+    }
+
+    private static void element(StringBuilder sb, String name, String value) {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        sb.append("  <").append(name).append('>');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<' -> sb.append("&lt;");
+                case '>' -> sb.append("&gt;");
+                case '&' -> sb.append("&amp;");
+                case '"' -> sb.append("&quot;");
+                default -> {
+                    // XML 1.0 不允许的控制字符直接丢弃
+                    if (c >= 0x20 || c == '\n' || c == '\r' || c == '\t') {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        sb.append("</").append(name).append(">\n");
+    }
+
+    private static String join(List<String> values) {
+        return values == null || values.isEmpty() ? null : String.join(", ", values);
+    }
+}
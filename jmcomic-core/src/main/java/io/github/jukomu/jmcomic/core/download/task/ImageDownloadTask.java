@@ -7,7 +7,11 @@ import io.github.jukomu.jmcomic.api.exception.NetworkException;
 import io.github.jukomu.jmcomic.api.exception.ResponseException;
 import io.github.jukomu.jmcomic.api.model.JmImage;
 import io.github.jukomu.jmcomic.core.crypto.JmImageTool;
+import io.github.jukomu.jmcomic.core.download.BandwidthLimiter;
+import io.github.jukomu.jmcomic.core.download.ChapterDirectory;
 import io.github.jukomu.jmcomic.core.download.DownloadManager;
+import io.github.jukomu.jmcomic.core.metrics.JmMetrics;
+import io.github.jukomu.jmcomic.core.store.JmImageStore;
 import io.github.jukomu.jmcomic.core.util.FileUtils;
 import okhttp3.Call;
 import okhttp3.OkHttpClient;
@@ -17,11 +21,14 @@ import okhttp3.Response;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
-import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.CRC32;
 import java.util.zip.GZIPInputStream;
 
 /**
@@ -32,22 +39,64 @@ import java.util.zip.GZIPInputStream;
  */
 public class ImageDownloadTask extends BaseDownloadTask {
 
+    // 限速等待时每隔这么久检查一次暂停、取消
+    private static final long THROTTLE_CHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
     private final JmImage image;
+    // 下载目录，同一章节的图片任务共用同一个对象；指定了 localFilePath 时为 null
+    private final Path directory;
+    // 章节任务准备好的下载目录，为 null 时逐张检查、创建目录
+    private transient ChapterDirectory chapterDirectory;
+    // 目标文件和临时文件，按目录创建时在开始下载前才生成
     private Path localFilePath;
     private Path tempFilePath;
     private volatile transient Call networkCall;
+    // 已配置好图片读超时的客户端，由调用方预先构建并在任务间复用
     private transient OkHttpClient httpClient;
-    private final Duration imageTimeout;
     private final DownloadManager downloadManager;
+    private final transient JmMetrics metrics;
+    private final transient JmImageStore imageStore;
+    // 写入归档时的页面缓冲和本图片的页下标，为 null 时写成单独的文件
+    private transient ArchivePageBuffer archive;
+    private int archivePage;
+    // 已写入归档（写入后、迁移到完成前被暂停时，恢复后不再重复写入）
+    private boolean archived;
+    // 写入文件的大小和 CRC32，文件已存在被跳过、写入归档时为 -1
+    private long fileSize = -1;
+    private long fileCrc32 = -1;
+    // 已推送给父任务的字节数，只在本任务的下载线程上读写
+    private long reportedDownloadedBytes;
+    private long reportedTotalBytes;
+
+    public ImageDownloadTask(JmImage image, OkHttpClient httpClient, Path localFilePath, Path tempFilePath, DownloadManager downloadManager) {
+        this(image, httpClient, localFilePath, tempFilePath, downloadManager, JmMetrics.none());
+    }
 
-    public ImageDownloadTask(JmImage image, OkHttpClient httpClient, Path localFilePath, Path tempFilePath, Duration imageTimeout, DownloadManager downloadManager) {
+    public ImageDownloadTask(JmImage image, OkHttpClient httpClient, Path localFilePath, Path tempFilePath, DownloadManager downloadManager, JmMetrics metrics) {
+        this(image, httpClient, localFilePath, tempFilePath, downloadManager, metrics, JmImageStore.none());
+    }
+
+    public ImageDownloadTask(JmImage image, OkHttpClient httpClient, Path localFilePath, Path tempFilePath, DownloadManager downloadManager, JmMetrics metrics, JmImageStore imageStore) {
+        this(image, httpClient, null, localFilePath, tempFilePath, downloadManager, metrics, imageStore);
+    }
+
+    /**
+     * 下载到 directory 下的同名文件。排队期间不为每张图片单独生成路径对象，适合大量排队的任务。
+     */
+    public ImageDownloadTask(JmImage image, OkHttpClient httpClient, Path directory, DownloadManager downloadManager, JmMetrics metrics, JmImageStore imageStore) {
+        this(image, httpClient, directory, null, null, downloadManager, metrics, imageStore);
+    }
+
+    private ImageDownloadTask(JmImage image, OkHttpClient httpClient, Path directory, Path localFilePath, Path tempFilePath, DownloadManager downloadManager, JmMetrics metrics, JmImageStore imageStore) {
         super();
         this.image = image;
         this.httpClient = httpClient;
+        this.directory = directory;
         this.localFilePath = localFilePath;
         this.tempFilePath = tempFilePath;
-        this.imageTimeout = imageTimeout;
         this.downloadManager = downloadManager;
+        this.metrics = metrics;
+        this.imageStore = imageStore;
     }
 
     @Override
@@ -59,24 +108,19 @@ public class ImageDownloadTask extends BaseDownloadTask {
             try {
                 this.downloadedBytes = 0;
                 this.totalBytes = -1;
-                downloadImage(this.image);
-                if (transitState(TaskState.RUNNING, TaskState.COMPLETED)) {
+                // 重新下载（暂停后恢复）时先撤回上次推送的字节数
+                pushProgressDelta();
+                if (!downloadImage(this.image)) {
+                    // 已存在，跳过
+                    if (isState(TaskState.SKIPPED)) {
+                        addSuccessfulFile(this.localFilePath);
+                        notifyFinish(getCurrentDownloadResult());
+                        notifyStateChanged(TaskState.SKIPPED);
+                    }
+                } else if (transitState(TaskState.RUNNING, TaskState.COMPLETED)) {
                     recordEndTimestamp();
-                    DownloadProgress finalPartialProgress = new DownloadProgress(
-                            null,
-                            null,
-                            null,
-                            null,
-                            0,
-                            0,
-                            0,
-                            0,
-                            0,
-                            0,
-                            false,
-                            this.downloadedBytes,
-                            String.valueOf(System.currentTimeMillis())
-                    );
+                    DownloadProgress finalPartialProgress = imageProgress(this.downloadedBytes);
+                    pushProgressDelta();
                     notifyProgressUpdate(finalPartialProgress);
                     addSuccessfulFile(this.localFilePath);
                     notifyFinish(getCurrentDownloadResult());
@@ -87,11 +131,6 @@ public class ImageDownloadTask extends BaseDownloadTask {
                     // 暂停导致的中断，不算失败
                 } else if (currentState() == TaskState.CANCELLING) {
                     // 取消导致的中断，交给 finally 收尾到 CANCELLED
-                } else if (currentState() == TaskState.SKIPPED) {
-                    // 任务跳过说明之前已完成
-                    addSuccessfulFile(this.localFilePath);
-                    notifyFinish(getCurrentDownloadResult());
-                    notifyStateChanged(TaskState.SKIPPED);
                 } else if (transitState(TaskState.RUNNING, TaskState.FAILED)) {
                     recordEndTimestamp();
                     addFailedTask(this.image, e);
@@ -104,12 +143,10 @@ public class ImageDownloadTask extends BaseDownloadTask {
                     notifyStateChanged(TaskState.CANCELLED);
                 }
 
-                synchronized (stateLock) {
-                    if (this.state.isTerminal()) {
-                        // 终态时清理资源
-                        this.networkCall = null;
-                        this.httpClient = null;
-                    }
+                if (currentState().isTerminal()) {
+                    // 终态时清理资源
+                    this.networkCall = null;
+                    this.httpClient = null;
                 }
             }
         }
@@ -147,21 +184,130 @@ public class ImageDownloadTask extends BaseDownloadTask {
         }
     }
 
+    /**
+     * 将本任务字节数的变化推送给父任务汇总
+     */
+    private void pushProgressDelta() {
+        long downloaded = this.downloadedBytes;
+        // 总大小未知时按已下载字节数计，与父任务原来的统计口径一致
+        long total = this.totalBytes == -1 ? downloaded : this.totalBytes;
+        long downloadedDelta = downloaded - reportedDownloadedBytes;
+        long totalDelta = total - reportedTotalBytes;
+        reportedDownloadedBytes = downloaded;
+        reportedTotalBytes = total;
+        if ((downloadedDelta != 0 || totalDelta != 0) && parentTask instanceof ProgressAggregator parent) {
+            parent.addProgressDelta(downloadedDelta, totalDelta);
+        }
+    }
+
+    /**
+     * 图片级进度只包含字节数，速率与估算信息见 {@link #getThroughput()}
+     */
+    private DownloadProgress imageProgress(long downloaded) {
+        return new DownloadProgress(
+                null,
+                null,
+                null,
+                null,
+                0,
+                0,
+                0,
+                0,
+                0,
+                0,
+                false,
+                downloaded,
+                String.valueOf(System.currentTimeMillis())
+        );
+    }
+
     public JmImage getImage() {
         return this.image;
     }
 
+    public Path getLocalFilePath() {
+        Path path = this.localFilePath;
+        if (path != null) {
+            return path;
+        }
+        return archive != null ? archive.pathOf(archiveEntryName()) : this.directory.resolve(this.image.getFilename());
+    }
+
+    /**
+     * 改为写入归档，由章节任务在提交前设置
+     *
+     * @param archive 章节的页面缓冲
+     * @param page    本图片在章节中的下标
+     */
+    void writeToArchive(ArchivePageBuffer archive, int page) {
+        this.archive = archive;
+        this.archivePage = page;
+    }
+
+    /**
+     * 写入的文件大小，文件已存在被跳过、从图片存储放置、写入归档时为 -1
+     */
+    public long getFileSize() {
+        return this.fileSize;
+    }
+
+    /**
+     * 写入的文件内容的 CRC32，{@link #getFileSize()} 为 -1 时无意义
+     */
+    public long getFileCrc32() {
+        return this.fileCrc32;
+    }
+
+    /**
+     * 使用章节任务准备好的下载目录，由章节任务在提交图片前设置；只对按目录创建且目录相同的任务生效
+     */
+    void useChapterDirectory(ChapterDirectory chapterDirectory) {
+        if (this.directory != null && this.directory.equals(chapterDirectory.getPath())) {
+            this.chapterDirectory = chapterDirectory;
+        }
+    }
+
+    /**
+     * 本图片不会写入归档（失败、取消、跳过），让后面的页不再等待
+     */
+    void skipArchivePage() {
+        if (archive == null) {
+            return;
+        }
+        try {
+            archive.skip(archivePage);
+        } catch (IOException e) {
+            // 写入失败已记录在归档上，结束时由章节或本子任务处理
+        }
+    }
+
+    private String archiveEntryName() {
+        return FileUtils.sanitizeFilename(image.getFilename());
+    }
+
+    /**
+     * 将未开始的任务直接标记为已下载（跳过），用于从下载日志恢复时跳过上次已完成的图片
+     *
+     * @return 是否标记成功
+     */
+    public boolean markDownloaded() {
+        if (!transitState(TaskState.PENDING, TaskState.SKIPPED)) {
+            return false;
+        }
+        resolveLocalFilePath();
+        addSuccessfulFile(this.localFilePath);
+        notifyFinish(getCurrentDownloadResult());
+        notifyStateChanged(TaskState.SKIPPED);
+        return true;
+    }
+
     private byte[] fetchImageBytes(JmImage image) throws IOException {
         Request request = new Request.Builder()
                 .url(image.getDownloadUrl())
                 .get()
                 .build();
 
-        OkHttpClient imageClient = httpClient.newBuilder()
-                .readTimeout(this.imageTimeout)
-                .build();
-
-        Call currentCall = imageClient.newCall(request);
+        Call currentCall = httpClient.newCall(request);
         this.networkCall = currentCall;
 
         try (Response response = currentCall.execute()) {
@@ -193,6 +339,11 @@ public class ImageDownloadTask extends BaseDownloadTask {
                                 ? new ByteArrayOutputStream((int) totalBytes)
                                 : new ByteArrayOutputStream(8192);
 
+                // 限速器在开始读取时确定，速率的调整对本次读取立即生效
+                BandwidthLimiter[] limiters = downloadManager != null
+                        ? downloadManager.limitersOf(this)
+                        : new BandwidthLimiter[]{BandwidthLimiter.global()};
+
                 // 进度控制与流读取
                 byte[] buffer = new byte[8192];
                 int len;
@@ -210,60 +361,77 @@ public class ImageDownloadTask extends BaseDownloadTask {
                     baos.write(buffer, 0, len);
                     currentDownloadedBytes += len;
                     this.downloadedBytes = currentDownloadedBytes;
+                    throttle(limiters, len);
 
                     // 判断增量是否达到了 256KB
                     if (currentDownloadedBytes - lastNotifiedBytes >= NOTIFY_THRESHOLD) {
                         lastNotifiedBytes = currentDownloadedBytes;
 
-                        DownloadProgress partialProgress = new DownloadProgress(
-                                null,
-                                null,
-                                null,
-                                null,
-                                0,
-                                0,
-                                0,
-                                0,
-                                0,
-                                0,
-                                false,
-                                currentDownloadedBytes,
-                                String.valueOf(System.currentTimeMillis())
-                        );
+                        DownloadProgress partialProgress = imageProgress(currentDownloadedBytes);
+                        pushProgressDelta();
                         notifyProgressUpdate(partialProgress);
                     }
                 }
 
                 if (currentDownloadedBytes > lastNotifiedBytes) {
-                    DownloadProgress finalPartialProgress = new DownloadProgress(
-                            null,
-                            null,
-                            null,
-                            null,
-                            0,
-                            0,
-                            0,
-                            0,
-                            0,
-                            0,
-                            false,
-                            currentDownloadedBytes,
-                            String.valueOf(System.currentTimeMillis())
-                    );
+                    DownloadProgress finalPartialProgress = imageProgress(currentDownloadedBytes);
+                    pushProgressDelta();
                     notifyProgressUpdate(finalPartialProgress);
                 }
 
+                metrics.bytesDownloaded(currentDownloadedBytes);
                 byte[] content = baos.toByteArray();
 
                 if (image.isGif()) {
                     return content;
                 }
-                return JmImageTool.decryptImage(content, image);
+                long decryptStart = System.nanoTime();
+                byte[] decrypted = JmImageTool.decryptImage(content, image);
+                metrics.operationTimed(JmMetrics.OP_IMAGE_DECRYPT, System.nanoTime() - decryptStart);
+                return decrypted;
+            }
+        }
+    }
+
+    /**
+     * 向各级限速器预约读到的字节数，按最慢的一级等待
+     */
+    private void throttle(BandwidthLimiter[] limiters, int bytes) throws IOException {
+        long waitNanos = 0;
+        for (BandwidthLimiter limiter : limiters) {
+            waitNanos = Math.max(waitNanos, limiter.reserve(bytes));
+        }
+        if (waitNanos <= 0) {
+            return;
+        }
+        long deadline = System.nanoTime() + waitNanos;
+        while (waitNanos > 0) {
+            LockSupport.parkNanos(Math.min(waitNanos, THROTTLE_CHECK_NANOS));
+            TaskState state = currentState();
+            if (state == TaskState.PAUSED || state == TaskState.CANCELLING) {
+                throw new IOException("Download manually interrupted by state: " + state.name());
             }
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException("Interrupted while throttling download");
+            }
+            waitNanos = deadline - System.nanoTime();
         }
     }
 
-    public void downloadImage(JmImage image) throws IOException {
+    private void resolveLocalFilePath() {
+        if (archive != null) {
+            // 归档中的条目，结果中的路径为 <归档文件>/<条目名>
+            localFilePath = archive.pathOf(archiveEntryName());
+            return;
+        }
+        if (localFilePath == null && chapterDirectory != null && chapterDirectory.isPrepared()) {
+            // 目录由章节任务准备，文件名直接净化，不再检查路径是否为目录
+            localFilePath = directory.resolve(FileUtils.sanitizeFilename(image.getFilename()));
+            return;
+        }
+        if (localFilePath == null) {
+            localFilePath = directory.resolve(image.getFilename());
+        }
         if (Files.isDirectory(localFilePath)) {
             // 路径为目录则拼接文件名（净化非法字符）
             localFilePath = localFilePath.resolve(FileUtils.sanitizeFilename(image.filename()));
@@ -272,6 +440,29 @@ public class ImageDownloadTask extends BaseDownloadTask {
         Path parent = localFilePath.getParent();
         String safeFilename = FileUtils.sanitizeFilename(localFilePath.getFileName().toString());
         localFilePath = parent != null ? parent.resolve(safeFilename) : Path.of(safeFilename);
+    }
+
+    /**
+     * 下载图片到目标文件（或归档）
+     *
+     * @return 是否实际下载；目标已存在时迁移到 SKIPPED 并返回 false，不抛出异常
+     */
+    public boolean downloadImage(JmImage image) throws IOException {
+        resolveLocalFilePath();
+
+        if (archive != null) {
+            // 已存在的归档在创建任务时整体跳过，这里不再逐张检查文件
+            if (!archived) {
+                archive.put(archivePage, archiveEntryName(), fetchImageBytes(image));
+                archived = true;
+            }
+            return true;
+        }
+
+        ChapterDirectory chapter = this.chapterDirectory;
+        if (chapter != null && chapter.isPrepared() && localFilePath.getParent().equals(chapter.getPath())) {
+            return downloadToChapterDirectory(image, chapter);
+        }
 
         // 检查文件是否已存在，避免重复下载
         if (Files.exists(localFilePath)) {
@@ -285,7 +476,12 @@ public class ImageDownloadTask extends BaseDownloadTask {
                 }
             }
             transitState(TaskState.RUNNING, TaskState.SKIPPED);
-            throw new IOException("Download skipped");
+            return false;
+        }
+        // 图片存储中已有（之前下载到过别的目录），直接放置过来
+        if (imageStore.placeInto(image.getPhotoId(), image.getFilename(), localFilePath)) {
+            transitState(TaskState.RUNNING, TaskState.SKIPPED);
+            return false;
         }
         byte[] imageBytes = fetchImageBytes(image);
         // 确保路径存在
@@ -296,11 +492,49 @@ public class ImageDownloadTask extends BaseDownloadTask {
          * 先写到 .tmp 再原子重命名，防止下载中断留下残文件。
          * 跨文件系统不支持原子移动时降级为 REPLACE_EXISTING。
          */
+        if (tempFilePath == null) {
+            tempFilePath = localFilePath.resolveSibling(localFilePath.getFileName() + ".tmp");
+        }
         Files.write(tempFilePath, imageBytes);
         try {
             Files.move(tempFilePath, localFilePath, StandardCopyOption.ATOMIC_MOVE);
         } catch (AtomicMoveNotSupportedException e) {
             Files.move(tempFilePath, localFilePath, StandardCopyOption.REPLACE_EXISTING);
         }
+        recordFile(imageBytes);
+        imageStore.put(image.getPhotoId(), image.getFilename(), localFilePath, imageBytes);
+        return true;
+    }
+
+    /**
+     * 按章节目录的列表判断是否已存在，写入时不再创建目录
+     */
+    private boolean downloadToChapterDirectory(JmImage image, ChapterDirectory chapter) throws IOException {
+        String filename = localFilePath.getFileName().toString();
+        if (chapter.contains(filename)) {
+            chapter.deleteStaleTemp(filename);
+            transitState(TaskState.RUNNING, TaskState.SKIPPED);
+            return false;
+        }
+        if (imageStore.placeInto(image.getPhotoId(), image.getFilename(), localFilePath)) {
+            chapter.added(filename);
+            transitState(TaskState.RUNNING, TaskState.SKIPPED);
+            return false;
+        }
+        byte[] imageBytes = fetchImageBytes(image);
+        chapter.write(filename, imageBytes);
+        recordFile(imageBytes);
+        imageStore.put(image.getPhotoId(), image.getFilename(), localFilePath, imageBytes);
+        return true;
+    }
+
+    /**
+     * 记录写入的文件大小和校验和，用于下载清单
+     */
+    private void recordFile(byte[] imageBytes) {
+        CRC32 crc = new CRC32();
+        crc.update(imageBytes);
+        this.fileCrc32 = crc.getValue();
+        this.fileSize = imageBytes.length;
     }
 }
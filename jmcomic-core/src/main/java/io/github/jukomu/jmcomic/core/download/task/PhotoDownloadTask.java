@@ -2,17 +2,25 @@ package io.github.jukomu.jmcomic.core.download.task;
 
 import io.github.jukomu.jmcomic.api.download.DownloadProgress;
 import io.github.jukomu.jmcomic.api.download.DownloadResult;
+import io.github.jukomu.jmcomic.api.download.enums.ArchiveMode;
 import io.github.jukomu.jmcomic.api.download.enums.TaskState;
 import io.github.jukomu.jmcomic.api.download.task.BaseDownloadTask;
 import io.github.jukomu.jmcomic.api.download.task.TaskObserver;
+import io.github.jukomu.jmcomic.api.model.JmAlbum;
 import io.github.jukomu.jmcomic.api.model.JmImage;
 import io.github.jukomu.jmcomic.api.model.JmPhoto;
+import io.github.jukomu.jmcomic.core.download.ChapterDirectory;
 import io.github.jukomu.jmcomic.core.download.DownloadManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * @author JUKOMU
@@ -20,11 +28,27 @@ import java.util.concurrent.ConcurrentHashMap;
  * @Project: JMComic-Api-Java
  * @Date: 2026/5/4
  */
-public class PhotoDownloadTask extends BaseDownloadTask implements TaskObserver {
+public class PhotoDownloadTask extends BaseDownloadTask implements TaskObserver, ProgressAggregator {
+
+    private static final Logger logger = LoggerFactory.getLogger(PhotoDownloadTask.class);
 
     private final JmPhoto photo;
     private final DownloadManager downloadManager;
     private final Set<String> countedTerminalTasks = ConcurrentHashMap.newKeySet();
+    // 子任务推送的字节数汇总
+    private final LongAdder downloadedBytesSum = new LongAdder();
+    private final LongAdder totalBytesSum = new LongAdder();
+    // 速率统计
+    private final ThroughputMeter throughput = new ThroughputMeter();
+    // 下载目录，用于下载日志记录任务
+    private Path directory;
+    // 开始时准备好的下载目录，图片任务共用
+    private volatile ChapterDirectory chapterDirectory;
+    // 写入归档时的页面缓冲，为 null 时每张图片一个文件
+    private volatile ArchivePageBuffer archivePages;
+    private volatile ArchiveMode archiveMode = ArchiveMode.NONE;
+    // 按下载清单跳过时清单中的图片数，此时没有图片子任务
+    private int manifestImageCount;
 
     public PhotoDownloadTask(JmPhoto photo, DownloadManager downloadManager) {
         super();
@@ -37,6 +61,7 @@ public class PhotoDownloadTask extends BaseDownloadTask implements TaskObserver
         if (transitState(TaskState.QUEUED, TaskState.RUNNING)) {
             recordStartTimestamp();
             notifyStateChanged(TaskState.RUNNING);
+            prepareDirectory();
             for (BaseDownloadTask childTask : this.childTasks) {
                 downloadManager.submit(childTask);
             }
@@ -47,6 +72,42 @@ public class PhotoDownloadTask extends BaseDownloadTask implements TaskObserver
         }
     }
 
+    /**
+     * 提交图片前创建一次下载目录并列出已有文件，图片任务按列表判断是否已存在。
+     * 写入归档、图片都已结束时不需要目录；准备失败时由各图片任务自行检查、创建。
+     */
+    private void prepareDirectory() {
+        if (this.directory == null || this.archivePages != null) {
+            return;
+        }
+        boolean pending = false;
+        for (BaseDownloadTask child : this.childTasks) {
+            if (!child.currentState().isTerminal()) {
+                pending = true;
+                break;
+            }
+        }
+        if (!pending) {
+            return;
+        }
+        ChapterDirectory chapter = this.chapterDirectory;
+        if (chapter == null) {
+            chapter = new ChapterDirectory(this.directory);
+            this.chapterDirectory = chapter;
+        }
+        try {
+            chapter.prepare();
+        } catch (IOException e) {
+            logger.warn("准备章节 {} 的下载目录 {} 失败: {}", this.photo.getId(), this.directory, e.getMessage());
+            return;
+        }
+        for (BaseDownloadTask child : this.childTasks) {
+            if (child instanceof ImageDownloadTask imageTask) {
+                imageTask.useChapterDirectory(chapter);
+            }
+        }
+    }
+
     @Override
     public void pause() {
         if (transitState(TaskState.QUEUED, TaskState.PAUSED) ||
@@ -82,21 +143,103 @@ public class PhotoDownloadTask extends BaseDownloadTask implements TaskObserver
         return this.photo;
     }
 
+    public Path getDirectory() {
+        return this.directory;
+    }
+
+    public void setDirectory(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * 图片数。按下载清单跳过的章节没有图片子任务，为清单中记录的图片数
+     */
+    public int getImageCount() {
+        return this.childTasks.isEmpty() ? this.manifestImageCount : this.childTasks.size();
+    }
+
+    /**
+     * 将未开始、没有图片子任务的章节直接标记为已下载（跳过），用于按下载清单跳过整个章节
+     *
+     * @param files 清单中记录的图片文件
+     * @return 是否标记成功
+     */
+    public boolean markDownloaded(List<Path> files) {
+        if (!this.childTasks.isEmpty() || !transitState(TaskState.PENDING, TaskState.SKIPPED)) {
+            return false;
+        }
+        this.manifestImageCount = files.size();
+        for (Path file : files) {
+            addSuccessfulFile(file);
+        }
+        recordEndTimestamp();
+        notifyFinish(getCurrentDownloadResult());
+        notifyStateChanged(TaskState.SKIPPED);
+        return true;
+    }
+
+    /**
+     * 改为把本章节写入一个 CBZ 归档 {@code <下载目录>.cbz}，只能在提交前调用。
+     * 归档已存在时所有图片直接标记为跳过。
+     *
+     * @param album 章节所属的本子，用于填写 ComicInfo.xml，单独下载章节时可以为 null
+     */
+    public void writeToArchive(JmAlbum album) {
+        Path file = this.directory.resolveSibling(this.directory.getFileName() + ".cbz");
+        useArchive(new ArchiveWriter(file, ComicInfo.of(this.photo, album)), "", ArchiveMode.PHOTO);
+    }
+
+    /**
+     * 把图片写入给定的归档
+     *
+     * @param writer      归档
+     * @param entryPrefix 本章节图片在归档中的路径前缀
+     * @param mode        {@link ArchiveMode#PHOTO} 时由本任务结束归档，{@link ArchiveMode#ALBUM} 时由本子任务结束
+     */
+    void useArchive(ArchiveWriter writer, String entryPrefix, ArchiveMode mode) {
+        if (!isState(TaskState.PENDING)) {
+            throw new IllegalStateException("Archive output must be configured before the task is submitted");
+        }
+        ArchivePageBuffer pages = new ArchivePageBuffer(writer, entryPrefix);
+        List<BaseDownloadTask> children = this.childTasks;
+        for (int i = 0; i < children.size(); i++) {
+            if (children.get(i) instanceof ImageDownloadTask imageTask) {
+                imageTask.writeToArchive(pages, i);
+            }
+        }
+        this.archivePages = pages;
+        this.archiveMode = mode;
+        if (writer.existed()) {
+            logger.info("归档 {} 已存在，跳过章节 {}", writer.getFile(), this.photo.getId());
+            for (BaseDownloadTask child : children) {
+                if (child instanceof ImageDownloadTask imageTask) {
+                    imageTask.markDownloaded();
+                }
+            }
+        }
+    }
+
+    /**
+     * 输出方式，写入本子的归档时为 {@link ArchiveMode#ALBUM}
+     */
+    public ArchiveMode getArchiveMode() {
+        return this.archiveMode;
+    }
+
+    /**
+     * 写入的归档文件，不写入归档时为 null
+     */
+    public Path getArchiveFile() {
+        ArchivePageBuffer pages = this.archivePages;
+        return pages != null ? pages.getWriter().getFile() : null;
+    }
+
     @Override
     public void onStateChanged(BaseDownloadTask task, TaskState newState) {
         if (newState.isTerminal() && !countedTerminalTasks.add(task.getTaskId())) {
             // 已计数
             return;
         }
-        if (newState.isTerminal()) {
-            DownloadResult result = task.getCurrentDownloadResult();
-            for (Path path : result.getSuccessfulFiles()) {
-                addSuccessfulFile(path);
-            }
-            for (Map.Entry<JmImage, Exception> entry : result.getFailedTasks().entrySet()) {
-                addFailedTask(entry.getKey(), entry.getValue());
-            }
-        }
         switch (newState) {
             case COMPLETED:
                 synchronized (counterLock) {
@@ -121,6 +264,19 @@ public class PhotoDownloadTask extends BaseDownloadTask implements TaskObserver
             default:
                 break;
         }
+        if (newState.isTerminal() && newState != TaskState.COMPLETED && task instanceof ImageDownloadTask imageTask) {
+            // 不会写入归档的页，后面的页不再等待
+            imageTask.skipArchivePage();
+        }
+        if (newState.isTerminal()) {
+            boolean done = newState == TaskState.COMPLETED || newState == TaskState.SKIPPED;
+            long imageBytes = newState == TaskState.COMPLETED ? task.getDownloadedBytes() : 0;
+            throughput.recordImage(done, imageBytes);
+            if (parentTask instanceof AlbumDownloadTask album) {
+                // 本子按图片统计完成数，直接推送增量
+                album.addFinishedImage(done, imageBytes);
+            }
+        }
 
         TaskState terminalState = aggregateTerminalState();
         if (terminalState == null) {
@@ -128,6 +284,9 @@ public class PhotoDownloadTask extends BaseDownloadTask implements TaskObserver
             return;
         }
 
+        terminalState = finishArchive(terminalState);
+        // 子任务已全部结束，先发布最终进度再迁移到终态，观察者收到终态时进度已是最终值
+        publishProgress();
         if (doAggregateTerminalState(terminalState)) {
             // 当前任务处于终态
             DownloadResult result = getCurrentDownloadResult();
@@ -135,23 +294,64 @@ public class PhotoDownloadTask extends BaseDownloadTask implements TaskObserver
         }
     }
 
+    /**
+     * 本章节单独写入归档时，在迁移到终态前结束归档：有图片下载成功时保留，否则删除
+     *
+     * @return 归档写入失败时为 FAILED，否则为原终态
+     */
+    private TaskState finishArchive(TaskState terminalState) {
+        ArchivePageBuffer pages = this.archivePages;
+        if (pages == null || this.archiveMode != ArchiveMode.PHOTO) {
+            return terminalState;
+        }
+        boolean keep = terminalState == TaskState.COMPLETED || terminalState == TaskState.COMPLETED_WITH_ERRORS;
+        try {
+            if (pages.getWriter().finish(keep)) {
+                logger.debug("章节 {} 已写入归档 {}", this.photo.getId(), pages.getWriter().getFile());
+            }
+            return terminalState;
+        } catch (IOException e) {
+            logger.error("写入归档 {} 失败: {}", pages.getWriter().getFile(), e.getMessage());
+            return TaskState.FAILED;
+        }
+    }
+
+    @Override
+    protected void collectDownloadResult(List<Path> files, Map<JmImage, Exception> failures) {
+        ArchivePageBuffer pages = this.archivePages;
+        IOException failure = pages != null ? pages.getWriter().getFailure() : null;
+        if (failure == null) {
+            super.collectDownloadResult(files, failures);
+            return;
+        }
+        // 归档作废，已下载的图片也没有保存下来
+        for (BaseDownloadTask child : this.childTasks) {
+            if (child instanceof ImageDownloadTask imageTask) {
+                failures.putIfAbsent(imageTask.getImage(), failure);
+            }
+        }
+    }
+
     @Override
     public void onProgressUpdate(BaseDownloadTask task, DownloadProgress progress) {
+        // 字节数已由子任务以增量推送，这里只标记待发布
+        schedulePublish();
+    }
+
+    @Override
+    public void addProgressDelta(long downloadedDelta, long totalDelta) {
+        downloadedBytesSum.add(downloadedDelta);
+        totalBytesSum.add(totalDelta);
+        throughput.recordBytes(downloadedDelta);
+        if (parentTask instanceof ProgressAggregator parent) {
+            parent.addProgressDelta(downloadedDelta, totalDelta);
+        }
+        schedulePublish();
+    }
+
+    @Override
+    public void publishProgress() {
         synchronized (progressLock) {
-            long totalDownloadedBytes = 0;
-            long totalBytes = 0;
-            for (BaseDownloadTask childTask : childTasks) {
-                long bytes = childTask.getDownloadedBytes();
-                long childTotalBytes = childTask.getTotalBytes();
-                // 统计总字节数
-                if (childTotalBytes == -1) {
-                    childTotalBytes = bytes;
-                }
-                totalDownloadedBytes += bytes;
-                totalBytes += childTotalBytes;
-            }
-            this.downloadedBytes = totalDownloadedBytes;
-            this.totalBytes = totalBytes;
             DownloadProgress partialProgress = new DownloadProgress(
                     this.photo.getAlbumId(),
                     null,
@@ -164,28 +364,58 @@ public class PhotoDownloadTask extends BaseDownloadTask implements TaskObserver
                     0,
                     0,
                     false,
-                    totalDownloadedBytes,
+                    getDownloadedBytes(),
                     String.valueOf(System.currentTimeMillis())
             );
             notifyProgressUpdate(partialProgress);
         }
     }
 
-    @Override
-    public void onFinished(BaseDownloadTask task, DownloadResult result) {
-        for (Path path : result.getSuccessfulFiles()) {
-            addSuccessfulFile(path);
+    private void schedulePublish() {
+        if (downloadManager != null) {
+            downloadManager.getProgressPublisher().schedule(this);
+        } else {
+            publishProgress();
         }
-        for (Map.Entry<JmImage, Exception> entry : result.getFailedTasks().entrySet()) {
-            addFailedTask(entry.getKey(), entry.getValue());
+    }
+
+    @Override
+    public long getDownloadedBytes() {
+        return downloadedBytesSum.sum();
+    }
+
+    @Override
+    public long getTotalBytes() {
+        return totalBytesSum.sum();
+    }
+
+    @Override
+    public double getBytesPerSecond() {
+        return throughput.bytesPerSecond();
+    }
+
+    @Override
+    public double getImagesPerSecond() {
+        return throughput.imagesPerSecond();
+    }
+
+    @Override
+    public long getEstimatedTotalBytes() {
+        int remainingImages;
+        synchronized (counterLock) {
+            remainingImages = this.childTasks.size() - this.completedCount - this.failedCount
+                    - this.cancelledCount - this.skippedCount;
         }
+        return throughput.estimateTotalBytes(remainingImages, getDownloadedBytes());
+    }
+
+    @Override
+    public void onFinished(BaseDownloadTask task, DownloadResult result) {
+        // 子任务的结果在 getCurrentDownloadResult 时按任务树收集，这里不复制
     }
 
     @Override
     public void onError(BaseDownloadTask task, Exception e) {
-        DownloadResult result = task.getCurrentDownloadResult();
-        for (Map.Entry<JmImage, Exception> entry : result.getFailedTasks().entrySet()) {
-            addFailedTask(entry.getKey(), entry.getValue());
-        }
+        // 同上，失败记录保留在子任务中
     }
 }
@@ -0,0 +1,26 @@
+package io.github.jukomu.jmcomic.core.download.task;
+
+/**
+ * @author JUKOMU
+ * @Description: 汇总子任务进度的任务（本子、章节）
+ * <p>
+ * 子任务不再由父任务遍历统计，而是在自身进度变化时把增量推给父任务，父任务再逐级向上推，
+ * 每次进度变化只需 O(层数) 的原子累加。
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+interface ProgressAggregator {
+
+    /**
+     * 累加子任务的字节增量
+     *
+     * @param downloadedDelta 已下载字节数的增量
+     * @param totalDelta      总字节数的增量（子任务总大小未知时按已下载字节数计）
+     */
+    void addProgressDelta(long downloadedDelta, long totalDelta);
+
+    /**
+     * 按当前汇总值向观察者发布一次进度
+     */
+    void publishProgress();
+}
@@ -0,0 +1,84 @@
+package io.github.jukomu.jmcomic.core.download.task;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author JUKOMU
+ * @Description: 合并发布本子、章节任务的进度
+ * <p>
+ * 子任务进度变化时父任务只做标记，由后台线程每 {@value #PUBLISH_INTERVAL_MS} 毫秒统一发布一次，
+ * 同一任务在一个周期内的多次变化只发布一次。任务到达终态时会立即发布最终进度，不经过这里。
+ * 本子、章节任务的进度回调因此在 "jmcomic-progress" 线程上执行。
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+public final class ProgressPublisher implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProgressPublisher.class);
+
+    static final long PUBLISH_INTERVAL_MS = 100;
+
+    private final Set<ProgressAggregator> dirty = ConcurrentHashMap.newKeySet();
+    private final Object timerLock = new Object();
+    private volatile ScheduledExecutorService timer;
+    private volatile boolean closed;
+
+    /**
+     * 标记任务的进度有变化，在下一个周期发布
+     */
+    void schedule(ProgressAggregator task) {
+        if (closed) {
+            return;
+        }
+        dirty.add(task);
+        if (timer == null) {
+            startTimer();
+        }
+    }
+
+    private void startTimer() {
+        synchronized (timerLock) {
+            if (timer != null || closed) {
+                return;
+            }
+            timer = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "jmcomic-progress");
+                t.setDaemon(true);
+                return t;
+            });
+            timer.scheduleAtFixedRate(this::publishPending, PUBLISH_INTERVAL_MS, PUBLISH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void publishPending() {
+        for (Iterator<ProgressAggregator> it = dirty.iterator(); it.hasNext(); ) {
+            ProgressAggregator task = it.next();
+            it.remove();
+            try {
+                task.publishProgress();
+            } catch (RuntimeException e) {
+                // 观察者抛出的异常不能打断定时发布
+                logger.warn("发布下载进度失败: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        dirty.clear();
+        synchronized (timerLock) {
+            if (timer != null) {
+                timer.shutdownNow();
+            }
+        }
+    }
+}
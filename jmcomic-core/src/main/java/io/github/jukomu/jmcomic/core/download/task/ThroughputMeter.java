@@ -0,0 +1,143 @@
+package io.github.jukomu.jmcomic.core.download.task;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author JUKOMU
+ * @Description: 本子、章节任务的下载速率统计与剩余量估算
+ * <p>
+ * 速率按最近 {@value #BUCKETS} 个 {@value #BUCKET_MILLIS} 毫秒的时间桶滑动统计；
+ * 总大小未知（gzip、未返回长度）的图片按已下载完的图片的平均大小估算。
+ * <p>
+ * 读取字节数由各下载线程频繁记录，只累加到 {@link LongAdder}，不加锁；
+ * 计算速率（以及记录图片结束）时再把累加的字节数计入当前时间桶。进度每 100ms 发布一次，
+ * 因此字节数最多晚一个发布周期计入时间桶。
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+final class ThroughputMeter {
+
+    static final int BUCKETS = 10;
+    static final long BUCKET_MILLIS = 500;
+
+    private final long[] bucketBytes = new long[BUCKETS];
+    private final int[] bucketImages = new int[BUCKETS];
+    // 每个桶当前对应的时间段编号（毫秒时间 / BUCKET_MILLIS）
+    private final long[] bucketIndex = new long[BUCKETS];
+    // 尚未计入时间桶的字节数
+    private final LongAdder pendingBytes = new LongAdder();
+    // 第一次记录的时间，统计刚开始时按实际经过的时间计算速率
+    private volatile long firstRecordMillis = -1;
+    // 已下载完（不含跳过）的图片数及其字节数，用于估算平均图片大小
+    private long downloadedImages;
+    private long downloadedImageBytes;
+
+    /**
+     * 记录读取到的字节数（可以为负，重新下载时撤回）
+     */
+    void recordBytes(long bytes) {
+        if (bytes == 0) {
+            return;
+        }
+        if (firstRecordMillis < 0) {
+            firstRecordMillis = System.currentTimeMillis();
+        }
+        pendingBytes.add(bytes);
+    }
+
+    /**
+     * 记录一张图片结束
+     *
+     * @param done       是否视为完成（成功或跳过）
+     * @param imageBytes 实际下载的字节数，跳过、失败时为 0
+     */
+    synchronized void recordImage(boolean done, long imageBytes) {
+        int slot = flushPendingBytes(System.currentTimeMillis());
+        if (done) {
+            bucketImages[slot]++;
+        }
+        if (imageBytes > 0) {
+            downloadedImages++;
+            downloadedImageBytes += imageBytes;
+        }
+    }
+
+    synchronized double bytesPerSecond() {
+        long now = System.currentTimeMillis();
+        flushPendingBytes(now);
+        long sum = 0;
+        long oldest = now / BUCKET_MILLIS - BUCKETS;
+        for (int i = 0; i < BUCKETS; i++) {
+            if (bucketIndex[i] > oldest) {
+                sum += bucketBytes[i];
+            }
+        }
+        return Math.max(0, sum * 1000.0 / windowMillis(now));
+    }
+
+    synchronized double imagesPerSecond() {
+        long now = System.currentTimeMillis();
+        flushPendingBytes(now);
+        long sum = 0;
+        long oldest = now / BUCKET_MILLIS - BUCKETS;
+        for (int i = 0; i < BUCKETS; i++) {
+            if (bucketIndex[i] > oldest) {
+                sum += bucketImages[i];
+            }
+        }
+        return sum * 1000.0 / windowMillis(now);
+    }
+
+    /**
+     * 估算总字节数：已下载的字节数加上未结束图片按平均大小估算的剩余字节数
+     *
+     * @param remainingImages 尚未结束的图片数
+     * @param downloadedBytes 已下载的字节数（含正在下载的图片已读取的部分）
+     * @return 估算的总字节数，无法估算时返回 -1
+     */
+    synchronized long estimateTotalBytes(long remainingImages, long downloadedBytes) {
+        if (remainingImages <= 0) {
+            return downloadedBytes;
+        }
+        if (downloadedImages == 0) {
+            return -1;
+        }
+        long average = downloadedImageBytes / downloadedImages;
+        // 正在下载的图片已读取的部分不重复计算
+        long inFlightBytes = Math.max(0, downloadedBytes - downloadedImageBytes);
+        return downloadedBytes + Math.max(0, remainingImages * average - inFlightBytes);
+    }
+
+    /**
+     * 把累加的字节数计入当前时间桶，调用方持有锁
+     *
+     * @return 当前时间桶
+     */
+    private int flushPendingBytes(long now) {
+        int i = slot(now);
+        bucketBytes[i] += pendingBytes.sumThenReset();
+        return i;
+    }
+
+    private int slot(long now) {
+        if (firstRecordMillis < 0) {
+            firstRecordMillis = now;
+        }
+        long index = now / BUCKET_MILLIS;
+        int i = (int) (index % BUCKETS);
+        if (bucketIndex[i] != index) {
+            bucketIndex[i] = index;
+            bucketBytes[i] = 0;
+            bucketImages[i] = 0;
+        }
+        return i;
+    }
+
+    private long windowMillis(long now) {
+        long window = now - (now / BUCKET_MILLIS - BUCKETS + 1) * BUCKET_MILLIS;
+        if (firstRecordMillis >= 0) {
+            window = Math.min(window, now - firstRecordMillis);
+        }
+        return Math.max(BUCKET_MILLIS, window);
+    }
+}
@@ -0,0 +1,101 @@
+package io.github.jukomu.jmcomic.core.metrics;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * @author JUKOMU
+ * @Description: 指标采集的服务提供者接口 (SPI)
+ * 客户端在请求、重试、缓存、解密/解析、下载等关键路径上回调该接口，
+ * 默认使用不做任何事情的空实现；需要接入监控系统时实现该接口并通过配置传入，
+ * 例如 jmcomic-micrometer 模块提供的 Micrometer 实现。
+ * 实现类必须是线程安全的，且不应在回调中执行耗时操作。
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+public interface JmMetrics {
+
+    // == 指标名称 ==
+
+    String HTTP_REQUESTS = "jmcomic.http.requests";
+    String HTTP_RETRIES = "jmcomic.http.retries";
+    String HTTP_IN_FLIGHT = "jmcomic.http.in_flight";
+    String CACHE_REQUESTS = "jmcomic.cache.requests";
+    String CACHE_EVICTIONS = "jmcomic.cache.evictions";
+    String CACHE_WEIGHT = "jmcomic.cache.weight";
+    String CACHE_SIZE = "jmcomic.cache.size";
+    String OPERATION = "jmcomic.operation";
+    String DOWNLOAD_BYTES = "jmcomic.download.bytes";
+    String DOWNLOAD_ACTIVE_TASKS = "jmcomic.download.active_tasks";
+    String DOWNLOAD_QUEUED_TASKS = "jmcomic.download.queued_tasks";
+
+    // == 计时操作名称 ==
+
+    String OP_IMAGE_DECRYPT = "image.decrypt";
+    String OP_API_DECODE = "api.decode";
+    String OP_HTML_PARSE = "html.parse";
+
+    /**
+     * 一次 HTTP 请求尝试完成（每次重试单独记录）
+     *
+     * @param endpoint      请求路径的第一段，例如 "album"、"search"、"media"
+     * @param domain        实际请求的域名
+     * @param statusCode    HTTP 状态码，I/O 异常时为 -1
+     * @param durationNanos 从发出请求到收到响应头的耗时（纳秒）
+     */
+    void requestCompleted(String endpoint, String domain, int statusCode, long durationNanos);
+
+    /**
+     * 一次 HTTP 请求失败后进行了重试
+     *
+     * @param endpoint 请求路径的第一段
+     * @param domain   失败的域名
+     */
+    void requestRetried(String endpoint, String domain);
+
+    /**
+     * 缓存查询
+     *
+     * @param hit 是否命中
+     */
+    void cacheAccessed(boolean hit);
+
+    /**
+     * 缓存条目因容量不足被淘汰
+     */
+    void cacheEvicted();
+
+    /**
+     * 记录一次耗时操作，例如图片解密、API 响应解密、HTML 解析
+     *
+     * @param operation     操作名称，见 OP_* 常量
+     * @param durationNanos 耗时（纳秒）
+     */
+    void operationTimed(String operation, long durationNanos);
+
+    /**
+     * 下载了若干字节的图片数据
+     *
+     * @param bytes 字节数
+     */
+    void bytesDownloaded(long bytes);
+
+    /**
+     * 注册一个瞬时值指标，例如缓存占用、队列深度、进行中的请求数
+     * 实现不应强引用 obj，以免阻止已关闭客户端被回收
+     *
+     * @param name     指标名称
+     * @param obj      被观测的对象
+     * @param function 从对象读取当前值的函数
+     * @param <T>      被观测对象类型
+     */
+    <T> void gauge(String name, T obj, ToDoubleFunction<T> function);
+
+    /**
+     * 不采集任何指标的空实现，未配置指标时使用
+     *
+     * @return 空实现
+     */
+    static JmMetrics none() {
+        return NoOpMetrics.INSTANCE;
+    }
+}
@@ -0,0 +1,52 @@
+package io.github.jukomu.jmcomic.core.metrics;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * @author JUKOMU
+ * @Description: 不采集任何指标的空实现
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+final class NoOpMetrics implements JmMetrics {
+
+    static final NoOpMetrics INSTANCE = new NoOpMetrics();
+
+    private NoOpMetrics() {
+    }
+
+    @Override
+    public void requestCompleted(String endpoint, String domain, int statusCode, long durationNanos) {
+        // 不采集
+    }
+
+    @Override
+    public void requestRetried(String endpoint, String domain) {
+        // 不采集
+    }
+
+    @Override
+    public void cacheAccessed(boolean hit) {
+        // 不采集
+    }
+
+    @Override
+    public void cacheEvicted() {
+        // 不采集
+    }
+
+    @Override
+    public void operationTimed(String operation, long durationNanos) {
+        // 不采集
+    }
+
+    @Override
+    public void bytesDownloaded(long bytes) {
+        // 不采集
+    }
+
+    @Override
+    public <T> void gauge(String name, T obj, ToDoubleFunction<T> function) {
+        // 不采集
+    }
+}
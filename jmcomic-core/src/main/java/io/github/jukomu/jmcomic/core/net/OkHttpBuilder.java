@@ -3,16 +3,17 @@ package io.github.jukomu.jmcomic.core.net;
 import io.github.jukomu.jmcomic.api.enums.ClientType;
 import io.github.jukomu.jmcomic.core.config.JmConfiguration;
 import io.github.jukomu.jmcomic.core.constant.JmConstants;
+import io.github.jukomu.jmcomic.core.net.interceptor.DomainConcurrencyInterceptor;
 import io.github.jukomu.jmcomic.core.net.interceptor.RetryAndDomainRedirectInterceptor;
 import io.github.jukomu.jmcomic.core.net.interceptor.UserAgentInterceptor;
 import io.github.jukomu.jmcomic.core.net.provider.JmDomainManager;
-import okhttp3.CookieJar;
 import okhttp3.JavaNetCookieJar;
 import okhttp3.OkHttpClient;
 
 import java.net.CookieManager;
 import java.net.CookiePolicy;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 /**
  * @author JUKOMU
@@ -34,33 +35,82 @@ public final class OkHttpBuilder {
      * @return 一个配置好的 OkHttpClient 实例
      */
     public static HttpClientContext build(JmConfiguration config) {
-        CookieManager cookieManager = new CookieManager();
-        cookieManager.setCookiePolicy(CookiePolicy.ACCEPT_ALL);
-        CookieJar cookieJar = new JavaNetCookieJar(cookieManager);
+        CookieManager cookieManager = newCookieManager();
+        JmDomainManager domainManager = newDomainManager(config);
+        OkHttpClient client = buildBase(config, domainManager).newBuilder()
+                .cookieJar(new JavaNetCookieJar(cookieManager))
+                .build();
+
+        return new HttpClientContext(client, domainManager, cookieManager);
+    }
 
+    /**
+     * 根据配置创建域名管理器，初始域名优先使用配置中的域名
+     *
+     * @param config 用户的配置对象
+     * @return 域名管理器
+     */
+    public static JmDomainManager newDomainManager(JmConfiguration config) {
         List<String> initialDomains;
         if (config.getClientType() == ClientType.API) {
             initialDomains = config.getApiDomains().isEmpty() ? JmConstants.DEFAULT_API_DOMAINS : config.getApiDomains();
         } else {
             initialDomains = config.getHtmlDomains().isEmpty() ? List.of("18comic.vip") : config.getHtmlDomains();
         }
-        JmDomainManager domainManager = new JmDomainManager(initialDomains);
+        return new JmDomainManager(initialDomains);
+    }
 
+    /**
+     * 创建不带 CookieJar 的基础 OkHttpClient。
+     * 通过 {@link OkHttpClient#newBuilder()} 派生出的客户端共享它的连接池和调度器。
+     *
+     * @param config        用户的配置对象
+     * @param domainManager 重试拦截器使用的域名管理器
+     * @return 基础 OkHttpClient
+     */
+    public static OkHttpClient buildBase(JmConfiguration config, JmDomainManager domainManager) {
         OkHttpClient.Builder builder = new OkHttpClient.Builder();
 
-        // 配置 proxy, timeout, cookieJar
+        // 配置 proxy, timeout
         builder.proxy(config.getProxy());
         builder.connectTimeout(config.getTimeout());
         builder.readTimeout(config.getTimeout());
         builder.writeTimeout(config.getTimeout());
         builder.addInterceptor(new UserAgentInterceptor(config));
-        builder.cookieJar(cookieJar);
 
-        builder.addInterceptor(new RetryAndDomainRedirectInterceptor(config.getRetryTimes(), domainManager));
+        builder.addInterceptor(new RetryAndDomainRedirectInterceptor(config.getRetryTimes(), domainManager, config.getMetrics()));
+        // 放在重试拦截器之后，按每次尝试实际使用的域名限流
+        if (config.getMaxRequestsPerDomain() > 0) {
+            builder.addInterceptor(new DomainConcurrencyInterceptor(config.getMaxRequestsPerDomain()));
+        }
         builder.retryOnConnectionFailure(false);
-        OkHttpClient client = builder.build();
+        config.getHttpClientCustomizer().accept(builder);
+        return builder.build();
+    }
 
-        return new HttpClientContext(client, domainManager, cookieManager);
+    /**
+     * 从共享的基础客户端派生一个拥有独立 CookieJar 的客户端上下文。
+     * 连接池、调度器、域名管理器和线程池都与其他派生客户端共享，Cookie 与登录状态互相隔离。
+     *
+     * @param baseClient        共享的基础客户端
+     * @param domainManager     共享的域名管理器
+     * @param executor          共享的内部线程池
+     * @param downloadExecutor  共享的下载任务线程池
+     * @return 共享模式的客户端上下文
+     */
+    public static HttpClientContext derive(OkHttpClient baseClient, JmDomainManager domainManager,
+                                           ExecutorService executor, ExecutorService downloadExecutor) {
+        CookieManager cookieManager = newCookieManager();
+        OkHttpClient client = baseClient.newBuilder()
+                .cookieJar(new JavaNetCookieJar(cookieManager))
+                .build();
+        return new HttpClientContext(client, domainManager, cookieManager, executor, downloadExecutor, true);
+    }
+
+    private static CookieManager newCookieManager() {
+        CookieManager cookieManager = new CookieManager();
+        cookieManager.setCookiePolicy(CookiePolicy.ACCEPT_ALL);
+        return cookieManager;
     }
 
     /**
@@ -70,11 +120,24 @@ public final class OkHttpBuilder {
         private final OkHttpClient client;
         private final JmDomainManager domainManager;
         private final CookieManager cookieManager;
+        // 共享模式下由外部提供的线程池，独占模式下为 null
+        private final ExecutorService executor;
+        private final ExecutorService downloadExecutor;
+        // 连接池、调度器、域名管理器是否与其他客户端共享
+        private final boolean shared;
 
-        HttpClientContext(OkHttpClient client, JmDomainManager domainManager, CookieManager cookieManager) {
+        public HttpClientContext(OkHttpClient client, JmDomainManager domainManager, CookieManager cookieManager) {
+            this(client, domainManager, cookieManager, null, null, false);
+        }
+
+        HttpClientContext(OkHttpClient client, JmDomainManager domainManager, CookieManager cookieManager,
+                          ExecutorService executor, ExecutorService downloadExecutor, boolean shared) {
             this.client = client;
             this.domainManager = domainManager;
             this.cookieManager = cookieManager;
+            this.executor = executor;
+            this.downloadExecutor = downloadExecutor;
+            this.shared = shared;
         }
 
         public OkHttpClient getClient() {
@@ -88,5 +151,17 @@ public final class OkHttpBuilder {
         public CookieManager getCookieManager() {
             return cookieManager;
         }
+
+        public ExecutorService getExecutor() {
+            return executor;
+        }
+
+        public ExecutorService getDownloadExecutor() {
+            return downloadExecutor;
+        }
+
+        public boolean isShared() {
+            return shared;
+        }
     }
 }
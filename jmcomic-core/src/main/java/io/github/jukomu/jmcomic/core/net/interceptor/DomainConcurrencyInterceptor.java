@@ -0,0 +1,50 @@
+package io.github.jukomu.jmcomic.core.net.interceptor;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * @author JUKOMU
+ * @Description: 一个OkHttp拦截器，限制同一域名同时等待响应的请求数
+ * <p>
+ * 客户端使用同步调用，OkHttp Dispatcher 的 maxRequestsPerHost 对其不生效，所以在拦截器里用信号量限流。
+ * 需要放在重试和域名切换拦截器之后，这样计数的是每次实际发往某个域名的请求。
+ * 收到响应头即释放许可，响应体的读取不占用许可。
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+public final class DomainConcurrencyInterceptor implements Interceptor {
+
+    private final int maxRequestsPerDomain;
+    private final Map<String, Semaphore> permits = new ConcurrentHashMap<>();
+
+    public DomainConcurrencyInterceptor(int maxRequestsPerDomain) {
+        if (maxRequestsPerDomain <= 0) {
+            throw new IllegalArgumentException("Max requests per domain must be positive.");
+        }
+        this.maxRequestsPerDomain = maxRequestsPerDomain;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        String host = chain.request().url().host();
+        Semaphore semaphore = permits.computeIfAbsent(host, h -> new Semaphore(maxRequestsPerDomain, true));
+        try {
+            semaphore.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("等待域名 " + host + " 的请求许可时被中断");
+        }
+        try {
+            return chain.proceed(chain.request());
+        } finally {
+            semaphore.release();
+        }
+    }
+}
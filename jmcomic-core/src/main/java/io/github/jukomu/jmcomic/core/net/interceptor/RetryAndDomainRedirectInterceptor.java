@@ -1,6 +1,7 @@
 package io.github.jukomu.jmcomic.core.net.interceptor;
 
 import io.github.jukomu.jmcomic.core.constant.JmConstants;
+import io.github.jukomu.jmcomic.core.metrics.JmMetrics;
 import io.github.jukomu.jmcomic.core.net.provider.JmDomainManager;
 import okhttp3.HttpUrl;
 import okhttp3.Interceptor;
@@ -12,6 +13,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author JUKOMU
@@ -25,10 +27,19 @@ public final class RetryAndDomainRedirectInterceptor implements Interceptor {
     private static final Logger logger = LoggerFactory.getLogger(RetryAndDomainRedirectInterceptor.class);
     private final JmDomainManager domainManager;
     private final int maxRetriesPerRequest;
+    private final JmMetrics metrics;
+    // 正在进行中的请求尝试数
+    private final AtomicInteger inFlight = new AtomicInteger();
 
     public RetryAndDomainRedirectInterceptor(int maxRetries, JmDomainManager domainManager) {
+        this(maxRetries, domainManager, JmMetrics.none());
+    }
+
+    public RetryAndDomainRedirectInterceptor(int maxRetries, JmDomainManager domainManager, JmMetrics metrics) {
         this.maxRetriesPerRequest = maxRetries;
         this.domainManager = domainManager;
+        this.metrics = metrics;
+        metrics.gauge(JmMetrics.HTTP_IN_FLIGHT, inFlight, AtomicInteger::get);
     }
 
     @NotNull
@@ -56,15 +67,28 @@ public final class RetryAndDomainRedirectInterceptor implements Interceptor {
 
             HttpUrl requestUrl = requestToProceed.url();
             String currentHost = requestUrl.host();
+            String endpoint = endpointOf(requestUrl);
 
             if (tryCount == 0) {
-                logger.info("Sending request to {}", requestUrl);
+                logger.debug("Sending request to {}", requestUrl);
             } else {
                 logger.warn("Retrying request to {} (Attempt {}/{})", requestUrl, tryCount, maxRetriesPerRequest);
+                metrics.requestRetried(endpoint, currentHost);
             }
 
+            long start = System.nanoTime();
+            inFlight.incrementAndGet();
             try {
-                Response response = chain.withConnectTimeout(5, TimeUnit.SECONDS).proceed(requestToProceed);
+                Response response;
+                try {
+                    response = chain.withConnectTimeout(5, TimeUnit.SECONDS).proceed(requestToProceed);
+                } catch (IOException e) {
+                    metrics.requestCompleted(endpoint, currentHost, -1, System.nanoTime() - start);
+                    throw e;
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+                metrics.requestCompleted(endpoint, currentHost, response.code(), System.nanoTime() - start);
 
                 if (response.isSuccessful()) {
                     domainManager.reportSuccess(currentHost);
@@ -110,6 +134,14 @@ public final class RetryAndDomainRedirectInterceptor implements Interceptor {
         throw new IOException("Request failed after " + maxRetriesPerRequest + " retries for URL: " + originalRequest.url(), lastException);
     }
 
+    /**
+     * 取请求路径的第一段作为指标中的接口名，避免把 ID 等高基数值带进指标标签
+     */
+    private static String endpointOf(HttpUrl url) {
+        String first = url.pathSegments().get(0);
+        return first.isEmpty() ? "/" : first;
+    }
+
     /**
      * 检查请求是否使用了占位符
      */
@@ -3,13 +3,20 @@ package io.github.jukomu.jmcomic.core.net.model;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import io.github.jukomu.jmcomic.core.util.JsonUtils;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
 
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
@@ -31,6 +38,10 @@ public class CommonResponse {
 
     // 使用volatile确保多线程可见性
     protected volatile byte[] cachedContent;
+    // 缓存按 UTF-8 解码后的文本，避免多次 getText() 重复解码
+    private volatile String cachedText;
+    // 响应体是否已被 openStream() 以流的方式消费
+    private volatile boolean streamed;
     // 用于同步的锁对象
     private final Object contentLock = new Object();
 
@@ -87,8 +98,12 @@ public class CommonResponse {
      */
     public String getText() {
         // 从缓存的字节数组中获取文本
-        byte[] content = getContent();
-        return new String(content, StandardCharsets.UTF_8);
+        String text = cachedText;
+        if (text == null) {
+            text = new String(getContent(), StandardCharsets.UTF_8);
+            cachedText = text;
+        }
+        return text;
     }
 
     /**
@@ -111,6 +126,7 @@ public class CommonResponse {
 
     /**
      * 获取响应的原始字节内容
+     * GZIP 编码的响应体边读边解压，只在内存中保留解压后的一份
      *
      * @return 字节数组
      */
@@ -120,22 +136,16 @@ public class CommonResponse {
             synchronized (contentLock) {
                 // 双重检查锁定，防止多个线程同时读取
                 if (cachedContent == null) {
+                    if (streamed) {
+                        throw new IllegalStateException("Response body has already been consumed as a stream.");
+                    }
                     ResponseBody body = rawResponse.body();
                     if (body == null) {
                         cachedContent = new byte[0];
                         return cachedContent;
                     }
-                    try {
-                        byte[] rawBytes = body.bytes(); // 读取并关闭响应体
-
-                        // 检查是否需要GZIP解压
-                        if ("gzip".equalsIgnoreCase(rawResponse.header("Content-Encoding"))) {
-                            // 如果响应是GZIP编码，则解压
-                            cachedContent = decompressGzip(rawBytes);
-                        } else {
-                            // 否则直接使用原始字节
-                            cachedContent = rawBytes;
-                        }
+                    try (InputStream is = decodedStream(body)) {
+                        cachedContent = readAll(is, isGzip() ? -1 : body.contentLength());
                     } catch (IllegalStateException e) {
                         // 如果响应已被关闭，返回空内容
                         cachedContent = new byte[0];
@@ -149,26 +159,100 @@ public class CommonResponse {
     }
 
     /**
-     * 解压GZIP数据
+     * 以流的方式读取响应体，GZIP 编码时透明解压
+     * <p>
+     * 内容已经被 getContent() 缓存时直接返回缓存内容的流；否则直接返回网络流，
+     * 不在内存中缓存完整响应体，因此只能读取一次，且必须在原始响应关闭前读完。
+     *
+     * @return 解压后的响应体输入流
      */
-    private byte[] decompressGzip(byte[] compressedData) throws IOException {
-        if (compressedData == null || compressedData.length == 0) {
-            return new byte[0];
+    public InputStream openStream() {
+        byte[] content = cachedContent;
+        if (content != null) {
+            return new ByteArrayInputStream(content);
         }
-        try (ByteArrayInputStream bis = new ByteArrayInputStream(compressedData);
-             GZIPInputStream gis = new GZIPInputStream(bis);
-             ByteArrayOutputStream bos = new ByteArrayOutputStream()) {
-
-            // 使用一个缓冲区和 while 循环来替代 transferTo 方法
-            // 这种方式在所有 Java 和 Android 版本上都兼容
-            byte[] buffer = new byte[8192]; // 创建一个 8KB 的缓冲区
-            int len;
-            while ((len = gis.read(buffer)) != -1) {
-                bos.write(buffer, 0, len);
+        synchronized (contentLock) {
+            if (cachedContent != null) {
+                return new ByteArrayInputStream(cachedContent);
             }
+            if (streamed) {
+                throw new IllegalStateException("Response body has already been consumed as a stream.");
+            }
+            ResponseBody body = rawResponse.body();
+            if (body == null) {
+                cachedContent = new byte[0];
+                return new ByteArrayInputStream(cachedContent);
+            }
+            streamed = true;
+            try {
+                return decodedStream(body);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    /**
+     * 以 UTF-8 字符流的方式读取响应体，规则同 {@link #openStream()}
+     *
+     * @return 响应体字符流
+     */
+    public Reader openReader() {
+        return new InputStreamReader(openStream(), StandardCharsets.UTF_8);
+    }
 
-            return bos.toByteArray();
+    /**
+     * 判断响应体是否确定为空，不会读取响应体
+     * 未缓存且服务器未声明长度时视为非空
+     *
+     * @return 响应体为空时返回 true
+     */
+    public boolean isBodyEmpty() {
+        byte[] content = cachedContent;
+        if (content != null) {
+            return content.length == 0;
+        }
+        ResponseBody body = rawResponse.body();
+        return body == null || body.contentLength() == 0;
+    }
+
+    private boolean isGzip() {
+        return "gzip".equalsIgnoreCase(rawResponse.header("Content-Encoding"));
+    }
+
+    /**
+     * 获取响应体的输入流，如果响应是GZIP编码则包装解压流
+     */
+    private InputStream decodedStream(ResponseBody body) throws IOException {
+        InputStream raw = body.byteStream();
+        if (!isGzip()) {
+            return raw;
         }
+        // 空的 GZIP 响应体直接返回空流，GZIPInputStream 读不到头部会抛异常
+        BufferedInputStream buffered = new BufferedInputStream(raw);
+        buffered.mark(1);
+        if (buffered.read() == -1) {
+            return buffered;
+        }
+        buffered.reset();
+        return new GZIPInputStream(buffered);
+    }
+
+    /**
+     * 读取整个输入流，已知长度时一次分配到位
+     */
+    private static byte[] readAll(InputStream is, long expectedLength) throws IOException {
+        // 使用一个缓冲区和 while 循环来替代 transferTo 方法
+        // 这种方式在所有 Java 和 Android 版本上都兼容
+        ByteArrayOutputStream bos = (expectedLength > 0 && expectedLength <= Integer.MAX_VALUE)
+                ? new ByteArrayOutputStream((int) expectedLength)
+                : new ByteArrayOutputStream(8192);
+        byte[] buffer = new byte[8192]; // 创建一个 8KB 的缓冲区
+        int len;
+        while ((len = is.read(buffer)) != -1) {
+            bos.write(buffer, 0, len);
+        }
+        return bos.toByteArray();
     }
 
     /**
@@ -203,18 +287,24 @@ public class CommonResponse {
      * @throws JsonParseException 如果解析失败
      */
     public Map<String, Object> getMap() {
-        String text = getText();
-        if (text == null || text.isEmpty()) {
+        if (isBodyEmpty()) {
             return Collections.emptyMap();
         }
-        Map<String, Object> json;
-        try {
-            json = JsonUtils.getGson().fromJson(text, new TypeToken<Map<String, Object>>() {
+        // 直接从响应流解析，不缓存完整的响应体；未缓存时响应体只能读取一次
+        try (JsonReader reader = new JsonReader(openReader())) {
+            if (reader.peek() == JsonToken.END_DOCUMENT) {
+                return Collections.emptyMap();
+            }
+            return JsonUtils.getGson().fromJson(reader, new TypeToken<Map<String, Object>>() {
             }.getType());
+        } catch (EOFException e) {
+            // 没有任何内容（或只有空白）的响应体
+            return Collections.emptyMap();
         } catch (JsonSyntaxException e) {
-            throw new JsonSyntaxException(text, e);
+            throw new JsonSyntaxException("Malformed JSON response from " + getUrl(), e);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
         }
-        return json;
     }
 
     /**
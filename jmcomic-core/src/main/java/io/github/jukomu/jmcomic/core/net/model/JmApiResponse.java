@@ -7,6 +7,7 @@ import io.github.jukomu.jmcomic.core.constant.JmConstants;
 import io.github.jukomu.jmcomic.core.crypto.JmCryptoTool;
 import okhttp3.Response;
 
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
@@ -21,6 +22,8 @@ public class JmApiResponse extends JmResponse {
     private final String timestamp;
     // 缓存解密后的数据
     private final AtomicReference<String> decodedDataCache = new AtomicReference<>();
+    // 缓存解析后的 JSON 外层结构，isSuccess() 和 getEncodedData() 共用
+    private volatile Map<String, Object> envelope;
 
 
     /**
@@ -63,6 +66,16 @@ public class JmApiResponse extends JmResponse {
         }
     }
 
+    @Override
+    public Map<String, Object> getJson() {
+        Map<String, Object> json = envelope;
+        if (json == null) {
+            json = super.getJson();
+            envelope = json;
+        }
+        return json;
+    }
+
     /**
      * 获取加密的API数据
      *
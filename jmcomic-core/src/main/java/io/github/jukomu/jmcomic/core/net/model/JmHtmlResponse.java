@@ -1,8 +1,16 @@
 package io.github.jukomu.jmcomic.core.net.model;
 
+import io.github.jukomu.jmcomic.api.exception.NetworkException;
 import io.github.jukomu.jmcomic.api.exception.ResourceNotFoundException;
 import io.github.jukomu.jmcomic.api.exception.ResponseException;
 import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 
 /**
  * @author JUKOMU
@@ -27,6 +35,38 @@ public class JmHtmlResponse extends JmResponse {
     @Override
     public void requireSuccess() throws ResponseException {
         super.requireSuccess();
+        requireNotErrorRedirect();
+    }
+
+    /**
+     * 不读取响应体的成功检查，供之后用 {@link #getDocument()} 流式解析的调用方使用
+     * 只检查状态码、响应体是否为空和错误页重定向
+     *
+     * @throws ResponseException 如果请求不成功
+     */
+    public void requireSuccessWithoutBuffering() throws ResponseException {
+        if (!rawResponse.isSuccessful() || isBodyEmpty() || peekBodyEmpty()) {
+            throw new ResponseException("Request failed with code: " + getHttpCode() + ", error message: " + getErrorMessage(), getHttpCode());
+        }
+        requireNotErrorRedirect();
+    }
+
+    /**
+     * 未声明长度（分块传输）时预读一个字节判断响应体是否为空，预读的字节仍留在流中
+     */
+    private boolean peekBodyEmpty() {
+        ResponseBody body = rawResponse.body();
+        if (cachedContent != null || body == null) {
+            return false;
+        }
+        try {
+            return !body.source().request(1);
+        } catch (IOException e) {
+            throw new NetworkException("Failed to read response body", e);
+        }
+    }
+
+    private void requireNotErrorRedirect() throws ResponseException {
         // 检查重定向
         if (isRedirect()) {
             // 检查是否重定向为错误页面
@@ -57,9 +97,25 @@ public class JmHtmlResponse extends JmResponse {
             return "";
         }
 
-        while (text.charAt(0) < 0 || text.charAt(0) > 127) {
-            text = text.substring(1);
+        int start = 0;
+        while (start < text.length() && text.charAt(start) > 127) {
+            start++;
+        }
+        return start == 0 ? text : text.substring(start);
+    }
+
+    /**
+     * 将响应体解析为 Jsoup 文档
+     * 响应体未被缓存时直接从网络流解析，不在内存中保留完整的字节和文本副本，
+     * 此时必须在原始响应关闭前调用，且只能调用一次
+     *
+     * @return 解析后的文档
+     */
+    public Document getDocument() {
+        try (InputStream is = openStream()) {
+            return Jsoup.parse(is, StandardCharsets.UTF_8.name(), "");
+        } catch (IOException e) {
+            throw new NetworkException("Failed to read response body", e);
         }
-        return text;
     }
 }
@@ -0,0 +1,57 @@
+package io.github.jukomu.jmcomic.core.net.provider;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 域名列表及探活结果的快照，用于在进程重启后快速恢复上一次可用的域名状态。
+ * <p>
+ * 由 {@link io.github.jukomu.jmcomic.core.state.JmStateStore} 以 JSON 形式保存。
+ *
+ * @author JUKOMU
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+public final class DomainSnapshot {
+
+    // 域名列表，保持原有顺序
+    private final List<String> domains;
+    // 域名 -> 失败计数
+    private final Map<String, Integer> failureCounts;
+    // 快照生成时间，即探活结果的时间
+    private final long savedAt;
+    // 域名列表从域名服务器获取的时间
+    private final long discoveredAt;
+
+    public DomainSnapshot(List<String> domains, Map<String, Integer> failureCounts, long savedAt, long discoveredAt) {
+        this.domains = List.copyOf(domains);
+        this.failureCounts = Collections.unmodifiableMap(new LinkedHashMap<>(failureCounts));
+        this.savedAt = savedAt;
+        this.discoveredAt = discoveredAt;
+    }
+
+    public List<String> getDomains() {
+        return domains == null ? List.of() : domains;
+    }
+
+    public Map<String, Integer> getFailureCounts() {
+        return failureCounts == null ? Map.of() : failureCounts;
+    }
+
+    public long getSavedAt() {
+        return savedAt;
+    }
+
+    public long getDiscoveredAt() {
+        return discoveredAt;
+    }
+
+    /**
+     * 快照距今的时长（毫秒）
+     */
+    public long ageMillis() {
+        return System.currentTimeMillis() - savedAt;
+    }
+}
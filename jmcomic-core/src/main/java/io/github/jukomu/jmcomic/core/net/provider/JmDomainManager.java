@@ -4,10 +4,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
@@ -15,6 +18,9 @@ import java.util.stream.Collectors;
  * 管理和选择域名。跟踪每个域名的失败次数，优先选择状态最佳的域名。
  * 支持探活预处理：在初始化时探测所有域名可达性，排除死域名后
  * 再开放请求，避免重试次数被永久不可达的域名消耗。
+ * <p>
+ * 域名列表和失败计数放在同一个不可变的 {@link DomainTable} 中，更新域名、恢复快照时整体替换，
+ * 读取方先取出当前表再只读这一张表，不会看到清空了一半的列表或缺少计数的域名。
  *
  * @author JUKOMU
  * @Project: jmcomic-api-java
@@ -29,10 +35,16 @@ public final class JmDomainManager {
      */
     static final int DEAD_MARK = Integer.MAX_VALUE / 2;
 
-    private final CopyOnWriteArrayList<String> domains;
-    private final ConcurrentHashMap<String, AtomicInteger> failureCounts = new ConcurrentHashMap<>();
+    // 当前的域名列表和失败计数，整体替换
+    private volatile DomainTable table;
     private volatile boolean initialized = false;
     private volatile CountDownLatch initLatch = new CountDownLatch(1);
+    // 后台初始化只由第一个使用该实例的客户端执行，多个客户端共享同一个域名管理器时不会重复初始化
+    private final AtomicBoolean initializationStarted = new AtomicBoolean(false);
+    // 后台初始化（域名更新、探活、客户端初始化）完成时完成
+    private final CompletableFuture<Void> initializationFuture = new CompletableFuture<>();
+    // 当前域名列表从域名服务器获取的时间，0 表示尚未成功获取
+    private volatile long discoveredAt = 0;
 
     /**
      * 后台复探定时器，由 startPeriodicProbe 创建
@@ -42,8 +54,7 @@ public final class JmDomainManager {
     private volatile boolean allDeadFallback;
 
     public JmDomainManager(List<String> domains) {
-        this.domains = new CopyOnWriteArrayList<>(domains);
-        domains.forEach(domain -> failureCounts.putIfAbsent(domain, new AtomicInteger(0)));
+        this.table = DomainTable.of(domains, Map.of());
     }
 
     /**
@@ -54,8 +65,9 @@ public final class JmDomainManager {
      */
     public String getBestDomain() {
         blockUntilInitialized();
-        return domains.stream()
-                .min(Comparator.comparingInt(domain -> failureCounts.get(domain).get()))
+        DomainTable current = this.table;
+        return current.domains.stream()
+                .min(Comparator.comparingInt(current::failureCount))
                 .orElse(null);
     }
 
@@ -65,7 +77,7 @@ public final class JmDomainManager {
      * @param domain 请求成功的域名。
      */
     public void reportSuccess(String domain) {
-        AtomicInteger count = failureCounts.get(domain);
+        AtomicInteger count = table.failureCounts.get(domain);
         if (count != null) {
             count.set(0);
         }
@@ -77,7 +89,7 @@ public final class JmDomainManager {
      * @param domain 请求失败的域名。
      */
     public void reportFailure(String domain) {
-        AtomicInteger count = failureCounts.get(domain);
+        AtomicInteger count = table.failureCounts.get(domain);
         if (count != null) {
             count.incrementAndGet();
         }
@@ -88,10 +100,11 @@ public final class JmDomainManager {
      */
     public Map<String, Integer> getDomainStates() {
         blockUntilInitialized();
-        return domains.stream()
+        DomainTable current = this.table;
+        return current.domains.stream()
                 .collect(Collectors.toMap(
                         domain -> domain,
-                        domain -> failureCounts.get(domain).get()
+                        current::failureCount
                 ));
     }
 
@@ -99,20 +112,117 @@ public final class JmDomainManager {
      * 更新域名列表并清空所有失败计数。
      */
     public void updateDomains(List<String> newDomains) {
-        domains.clear();
-        domains.addAll(newDomains);
-        failureCounts.clear();
-        domains.forEach(domain -> failureCounts.putIfAbsent(domain, new AtomicInteger(0)));
+        this.table = DomainTable.of(newDomains, Map.of());
+        this.discoveredAt = System.currentTimeMillis();
     }
 
+    public long getDiscoveredAt() {
+        return discoveredAt;
+    }
+
+    /**
+     * 当前域名列表的副本
+     */
     public CopyOnWriteArrayList<String> getDomains() {
-        return domains;
+        return new CopyOnWriteArrayList<>(table.domains);
+    }
+
+    // == 快照相关 ==
+
+    /**
+     * 用持久化的快照恢复域名列表和失败计数，并立即放行阻塞在 getBestDomain() 上的调用（快速启动）。
+     * <p>
+     * 不会修改 initialized 状态：后台探活完成后仍由 setInitialized(true) 标记真正就绪。
+     * 如果快照里所有域名都已标记为不可达，则按全死降级处理，计数全部归零。
+     *
+     * @param snapshot 上一次保存的域名快照
+     * @return 是否成功恢复
+     */
+    public boolean restoreSnapshot(DomainSnapshot snapshot) {
+        return restoreSnapshot(snapshot, true);
+    }
+
+    /**
+     * 用持久化的快照恢复域名列表和失败计数。
+     * <p>
+     * releaseWaiters 为 false 时只替换域名列表，阻塞在 getBestDomain() 上的调用仍等到 setInitialized(true)
+     * （探活完成）才放行，用于未开启快速启动的客户端。
+     *
+     * @param snapshot       上一次保存的域名快照
+     * @param releaseWaiters 是否立即放行等待初始化的调用
+     * @return 是否成功恢复
+     */
+    public boolean restoreSnapshot(DomainSnapshot snapshot, boolean releaseWaiters) {
+        if (snapshot == null || snapshot.getDomains().isEmpty()) {
+            return false;
+        }
+        List<String> snapshotDomains = snapshot.getDomains();
+        Map<String, Integer> snapshotCounts = snapshot.getFailureCounts();
+        boolean allDead = snapshotDomains.stream()
+                .allMatch(d -> snapshotCounts.getOrDefault(d, 0) >= DEAD_MARK);
+
+        this.table = DomainTable.of(snapshotDomains, allDead ? Map.of() : snapshotCounts);
+        this.discoveredAt = snapshot.getDiscoveredAt();
+        if (!releaseWaiters) {
+            logger.info("已从快照恢复 {} 个域名", snapshotDomains.size());
+            return true;
+        }
+        if (initLatch.getCount() > 0) {
+            initLatch.countDown();
+        }
+        logger.info("已从快照恢复 {} 个域名，探活将在后台进行", snapshotDomains.size());
+        return true;
+    }
+
+    /**
+     * 生成当前域名列表及失败计数的快照。
+     *
+     * @return 域名快照
+     */
+    public DomainSnapshot snapshot() {
+        DomainTable current = this.table;
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (String domain : current.domains) {
+            counts.put(domain, current.failureCount(domain));
+        }
+        return new DomainSnapshot(new ArrayList<>(counts.keySet()), counts, System.currentTimeMillis(), discoveredAt);
     }
 
     public boolean isInitialized() {
         return initialized;
     }
 
+    /**
+     * 尝试成为后台初始化的执行者。只有第一次调用返回 true。
+     *
+     * @return 调用方是否需要执行后台初始化
+     */
+    public boolean beginInitialization() {
+        return initializationStarted.compareAndSet(false, true);
+    }
+
+    /**
+     * 标记后台初始化结束。
+     *
+     * @param error 初始化失败的原因，成功时为 null
+     */
+    public void completeInitialization(Throwable error) {
+        if (error == null) {
+            initializationFuture.complete(null);
+        } else {
+            initializationFuture.completeExceptionally(error);
+        }
+    }
+
+    /**
+     * 获取后台初始化完成的 Future。
+     *
+     * @return 初始化完成时完成的 Future，初始化失败时异常完成
+     */
+    public CompletableFuture<Void> initializationFuture() {
+        return initializationFuture.copy();
+    }
+
     /**
      * 设置初始化状态。初始化完成时释放阻塞的 getBestDomain() 调用。
      */
@@ -144,6 +254,10 @@ public final class JmDomainManager {
      */
     public void probeAllDomains(DomainProbe probe) {
         this.allDeadFallback = false;
+        // 探活期间域名列表被整体替换时，结果只写入探活开始时的表
+        DomainTable current = this.table;
+        List<String> domains = current.domains;
+        Map<String, AtomicInteger> failureCounts = current.failureCounts;
         if (domains.isEmpty()) {
             logger.warn("域名列表为空，跳过探活");
             return;
@@ -221,8 +335,9 @@ public final class JmDomainManager {
 
         probeScheduler.scheduleWithFixedDelay(() -> {
             try {
-                List<String> deadDomains = domains.stream()
-                        .filter(d -> failureCounts.get(d).get() >= DEAD_MARK)
+                DomainTable current = this.table;
+                List<String> deadDomains = current.domains.stream()
+                        .filter(d -> current.failureCount(d) >= DEAD_MARK)
                         .collect(Collectors.toList());
 
                 if (deadDomains.isEmpty()) {
@@ -233,7 +348,7 @@ public final class JmDomainManager {
                 for (String domain : deadDomains) {
                     try {
                         if (probe.isReachable(domain)) {
-                            failureCounts.get(domain).set(0);
+                            current.failureCounts.get(domain).set(0);
                             logger.info("域名 {} 已恢复，重新加入可用池", domain);
                         }
                     } catch (Exception e) {
@@ -274,4 +389,31 @@ public final class JmDomainManager {
             throw new RuntimeException("Wait for initialization was interrupted", e);
         }
     }
+
+    /**
+     * 域名列表及对应的失败计数。列表和映射本身不可变，只有计数值会变化
+     */
+    private static final class DomainTable {
+        private final List<String> domains;
+        private final Map<String, AtomicInteger> failureCounts;
+
+        private DomainTable(List<String> domains, Map<String, AtomicInteger> failureCounts) {
+            this.domains = domains;
+            this.failureCounts = failureCounts;
+        }
+
+        static DomainTable of(List<String> domains, Map<String, Integer> initialCounts) {
+            List<String> list = List.copyOf(domains);
+            Map<String, AtomicInteger> counts = new LinkedHashMap<>();
+            for (String domain : list) {
+                counts.putIfAbsent(domain, new AtomicInteger(initialCounts.getOrDefault(domain, 0)));
+            }
+            return new DomainTable(list, Collections.unmodifiableMap(counts));
+        }
+
+        int failureCount(String domain) {
+            AtomicInteger count = failureCounts.get(domain);
+            return count != null ? count.get() : 0;
+        }
+    }
 }
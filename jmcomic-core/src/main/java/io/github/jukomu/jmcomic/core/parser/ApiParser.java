@@ -26,6 +26,7 @@ import java.util.regex.Pattern;
 public final class ApiParser {
 
     private static final Random RANDOM = new Random();
+    private static final Pattern PATTERN_SCRAMBLE_ID = Pattern.compile("var scramble_id = (\\d+);");
 
     private ApiParser() {
     }
@@ -315,7 +316,7 @@ public final class ApiParser {
      * @return 图片解密的scramble id
      */
     public static String parsePhotoScrambleId(String html) {
-        Matcher matcher = Pattern.compile("var scramble_id = (\\d+);").matcher(html);
+        Matcher matcher = PATTERN_SCRAMBLE_ID.matcher(html);
         if (matcher.find()) {
             return matcher.group(1);
         }
@@ -31,13 +31,19 @@ public final class HtmlParser {
     }
 
     private static final Pattern PATTERN_B64_DECODE = Pattern.compile("const html = base64DecodeUtf8\\(\"(.+?)\"\\)");
-    private static final Pattern PATTERN_SCRIPT_VAR = Pattern.compile("var\\s+%s\\s*=\\s*['\"]?(.+?)['\"]?;");
     private static final Pattern PATTERN_HTML_JM_PUB_DOMAIN = Pattern.compile("[\\w-]+\\.\\w+/?\\w+");
     private static final Pattern PATTERN_JM_DOMAIN = Pattern.compile("^(?:https?://)?(?:[^@\\n]+@)?(?:www\\.)?([^:/\\n?]+)");
     public static final Pattern PATTERN_HTML_ALBUM_VIEWS = Pattern.compile("<span>(.*?)</span>\\n *<span>(次觀看|观看次数|次观看次数|次觀看次數|觀看次數|views)</span>");
     public static final Pattern PATTERN_HTML_SEARCH_TOTAL = Pattern.compile("<span class=\"text-white\">(\\d+)\\+?</span>(?=[^<]*?(?:搜索|結果|顯示|结果|显示))");
     public static final Pattern PATTERN_HTML_SEARCH_TOTAL2 = Pattern.compile("class=\"text-white\">(\\d+)</span> A漫.");
     private static final Pattern PATTERN_PHOTO_ID = Pattern.compile("/photo/(\\d+)/?");
+    private static final Pattern PATTERN_ALBUM_OR_PHOTO_ID = Pattern.compile("/(?:album|photo)/(\\d+)");
+    private static final Pattern PATTERN_PAGE_COUNT = Pattern.compile("页数：(\\d+)");
+    private static final Pattern PATTERN_PAGE_COUNT_TC = Pattern.compile("頁數：(\\d+)");
+    private static final Pattern PATTERN_FAVORITE_TOTAL = Pattern.compile(":\\s*(\\d+)/");
+    private static final Pattern PATTERN_NON_DIGIT = Pattern.compile("[^0-9]");
+    private static final Pattern PATTERN_WHITESPACE = Pattern.compile("\\s");
+    private static final Pattern PATTERN_EPISODE_PREFIX = Pattern.compile("第[\\d\\s]+[话話]");
 
     /**
      * 解析本子详情页 (Album Page)。
@@ -47,6 +53,8 @@ public final class HtmlParser {
      */
     public static JmAlbum parseAlbum(String html) {
         String decodedHtml = decodeBase64Html(html);
+        // 脚本变量直接从文本中扫描，找到即停止
+        String scrambleId = ScriptVarExtractor.extract(decodedHtml, "scramble_id").get("scramble_id");
         Document doc = Jsoup.parse(decodedHtml);
 
         String id = parseAlbumId(doc);
@@ -55,7 +63,7 @@ public final class HtmlParser {
                 id,
                 ParseHelper.selectFirstText(doc, "h1#book-name", "album title"),
                 ParseHelper.selectFirstText(doc, "h2:contains(叙述：), h2:contains(敘述：)", "album description").replace("叙述：", "").trim(),
-                extractVarFromScript(doc, "scramble_id"),
+                scrambleId,
                 // 添加时间 (HTML 中为 "更新日期")
                 extractDate(doc, "更新日期"),
                 // 页数
@@ -114,7 +122,7 @@ public final class HtmlParser {
         if (h2Element != null && h2Element.parent() != null) {
             Element parentDiv = h2Element.parent();
             String fullText = parentDiv.text();
-            String id = fullText.replaceAll("[^0-9]", "");
+            String id = PATTERN_NON_DIGIT.matcher(fullText).replaceAll("");
             if (!id.isEmpty()) {
                 return id;
             }
@@ -122,7 +130,7 @@ public final class HtmlParser {
         // 备用，从移动端布局的 span.number 提取
         Element mobileIdElement = doc.selectFirst("span.number:contains(禁漫车：), pan.number:contains(禁漫車：)");
         if (mobileIdElement != null) {
-            return mobileIdElement.text().replaceAll("[^0-9]", "");
+            return PATTERN_NON_DIGIT.matcher(mobileIdElement.text()).replaceAll("");
         }
         throw new ParseResponseException("Could not parse album id.");
     }
@@ -184,11 +192,12 @@ public final class HtmlParser {
         // 备用PC端，从文本中提取
         Element pcTextContainer = doc.selectFirst("div.col-lg-7 div.p-t-5.p-b-5:contains(页数：), div.col-lg-7 div.p-t-5.p-b-5:contains(頁數：)");
         if (pcTextContainer != null) {
-            Matcher matcher = Pattern.compile("页数：(\\d+)").matcher(pcTextContainer.text());
+            String text = pcTextContainer.text();
+            Matcher matcher = PATTERN_PAGE_COUNT.matcher(text);
             if (matcher.find()) {
                 return Integer.parseInt(matcher.group(1));
             }
-            matcher = Pattern.compile("頁數：(\\d+)").matcher(pcTextContainer.text());
+            matcher = PATTERN_PAGE_COUNT_TC.matcher(text);
             if (matcher.find()) {
                 return Integer.parseInt(matcher.group(1));
             }
@@ -199,16 +208,18 @@ public final class HtmlParser {
 
     private static String extractViewsCount(Document doc) {
         // 优先PC端结构
-        if (PATTERN_HTML_ALBUM_VIEWS.matcher(doc.text()).find()) {
-            return PATTERN_HTML_ALBUM_VIEWS.matcher(doc.text()).group(0);
+        Matcher docMatcher = PATTERN_HTML_ALBUM_VIEWS.matcher(doc.text());
+        if (docMatcher.find()) {
+            return docMatcher.group(0);
         }
         Element pcContainer = doc.selectFirst("div.col-lg-7 span:has(span:matches(次觀看|观看次数|次观看次数|次觀看次數|觀看次數|views))");
         if (pcContainer != null) {
             // 在这个容器内，第一个 span 就是我们想要的数字
             Element valueElement = pcContainer.selectFirst("span");
             if (valueElement != null && StringUtils.isNotBlank(valueElement.text())) {
-                if (PATTERN_HTML_ALBUM_VIEWS.matcher(valueElement.text()).find()) {
-                    return PATTERN_HTML_ALBUM_VIEWS.matcher(valueElement.text()).group(0);
+                Matcher valueMatcher = PATTERN_HTML_ALBUM_VIEWS.matcher(valueElement.text());
+                if (valueMatcher.find()) {
+                    return valueMatcher.group(0);
                 }
             }
         }
@@ -270,7 +281,7 @@ public final class HtmlParser {
 
         List<JmPhotoMeta> metas = new ArrayList<>();
         for (Element item : items) {
-            String title = item.text().replaceAll("第[\\d\\s]+[话話]", "").trim();
+            String title = PATTERN_EPISODE_PREFIX.matcher(item.text()).replaceAll("").trim();
             if (title.isEmpty()) {
                 // 兼容只有序号没有标题的情况
                 title = item.text().trim();
@@ -286,22 +297,9 @@ public final class HtmlParser {
         return metas;
     }
 
-    private static String extractVarFromScript(Document doc, String varName) {
-        Pattern pattern = Pattern.compile(String.format(PATTERN_SCRIPT_VAR.pattern(), varName));
-        return doc.select("script:not([src])")
-                .stream()
-                .map(Element::html)
-                .map(pattern::matcher)
-                .filter(Matcher::find)
-                .map(matcher -> matcher.group(1))
-                .findFirst()
-                .orElse("");
-    }
-
     private static String extractIdFromUrl(String url) {
         // 从 "/album/12345" 或 "/photo/12345" 中提取ID
-        Pattern pattern = Pattern.compile("/(?:album|photo)/(\\d+)");
-        Matcher matcher = pattern.matcher(url);
+        Matcher matcher = PATTERN_ALBUM_OR_PHOTO_ID.matcher(url);
         if (matcher.find()) {
             return matcher.group(1);
         }
@@ -315,14 +313,23 @@ public final class HtmlParser {
      * @return 一个 JmPhoto 对象。
      */
     public static JmPhoto parsePhoto(String html) {
-        Document doc = Jsoup.parse(html);
+        return parsePhoto(Jsoup.parse(html));
+    }
 
-        // 从 <script> 标签中提取JS变量
-        String photoId = extractVarFromScript(doc, "aid");
-        String scrambleId = extractVarFromScript(doc, "scramble_id");
-        String seriesId = extractVarFromScript(doc, "series_id");
-        int sortOrder = ParseHelper.parseIntOrDefault(extractVarFromScript(doc, "sort"), 1);
-        String pageArrJson = extractVarFromScript(doc, "page_arr");
+    /**
+     * 从已解析的文档解析章节详情页，可配合 JmHtmlResponse.getDocument() 直接从响应流解析。
+     *
+     * @param doc 解析后的文档
+     * @return 同 {@link #parsePhoto(String)}
+     */
+    public static JmPhoto parsePhoto(Document doc) {
+        // 从 <script> 标签中提取JS变量，一次遍历取齐
+        Map<String, String> vars = ScriptVarExtractor.extract(doc, "aid", "scramble_id", "series_id", "sort", "page_arr");
+        String photoId = vars.get("aid");
+        String scrambleId = vars.get("scramble_id");
+        String seriesId = vars.get("series_id");
+        int sortOrder = ParseHelper.parseIntOrDefault(vars.get("sort"), 1);
+        String pageArrJson = vars.get("page_arr");
         boolean isSingleAlbum = false;
         if ("0".equals(seriesId)) {
             seriesId = photoId;
@@ -466,7 +473,16 @@ public final class HtmlParser {
      * @return 一个 JmPromoteCategory 列表。
      */
     public static List<JmPromoteCategory> parsePromote(String html) {
-        Document doc = Jsoup.parse(html);
+        return parsePromote(Jsoup.parse(html));
+    }
+
+    /**
+     * 从已解析的文档解析首页，可配合 JmHtmlResponse.getDocument() 直接从响应流解析。
+     *
+     * @param doc 解析后的文档
+     * @return 同 {@link #parsePromote(String)}
+     */
+    public static List<JmPromoteCategory> parsePromote(Document doc) {
         List<JmPromoteCategory> result = new ArrayList<>();
         for (Element talkTitle : doc.select("h4.talk-title")) {
             Element titleSpan = talkTitle.selectFirst("span");
@@ -536,8 +552,17 @@ public final class HtmlParser {
      * @return 一个 JmFavoritePage 对象。
      */
     public static JmFavoritePage parseFavoritePage(String html, int currentPage) {
-        Document doc = Jsoup.parse(html);
+        return parseFavoritePage(Jsoup.parse(html), currentPage);
+    }
 
+    /**
+     * 从已解析的文档解析收藏夹页面，可配合 JmHtmlResponse.getDocument() 直接从响应流解析。
+     *
+     * @param doc 解析后的文档
+     * @param currentPage 当前页码。
+     * @return 同 {@link #parseFavoritePage(String, int)}
+     */
+    public static JmFavoritePage parseFavoritePage(Document doc, int currentPage) {
         int totalItems = parseFavoriteTotalItems(doc);
         int totalPages = (totalItems == 0) ? 0 : (int) Math.ceil((double) totalItems / JmConstants.PAGE_SIZE_FAVORITE);
 
@@ -568,7 +593,7 @@ public final class HtmlParser {
                 "> div.panel-heading " +
                 "> div.pull-left").nextElementSibling();
         if (totalElement != null) {
-            Matcher matcher = Pattern.compile(":\\s*(\\d+)/").matcher(totalElement.text().replaceAll("\\s", ""));
+            Matcher matcher = PATTERN_FAVORITE_TOTAL.matcher(PATTERN_WHITESPACE.matcher(totalElement.text()).replaceAll(""));
             if (matcher.find()) {
                 return Integer.parseInt(matcher.group(1));
             }
@@ -611,7 +636,16 @@ public final class HtmlParser {
      * @return 一个 JmAlbumMeta 列表。
      */
     public static List<JmAlbumMeta> parseWatchHistory(String html) {
-        Document doc = Jsoup.parse(html);
+        return parseWatchHistory(Jsoup.parse(html));
+    }
+
+    /**
+     * 从已解析的文档解析浏览历史页面，可配合 JmHtmlResponse.getDocument() 直接从响应流解析。
+     *
+     * @param doc 解析后的文档
+     * @return 同 {@link #parseWatchHistory(String)}
+     */
+    public static List<JmAlbumMeta> parseWatchHistory(Document doc) {
         List<JmAlbumMeta> albumList = new ArrayList<>();
         Elements albumDivs = doc.select("form#watch_form div[id^=watchlist_album_]");
         for (Element albumDiv : albumDivs) {
@@ -657,7 +691,17 @@ public final class HtmlParser {
      * @return 评论列表
      */
     public static JmCommentList parseAlbumCommentsAjax(String responseHtml, String albumId) {
-        Document doc = Jsoup.parse(responseHtml);
+        return parseAlbumCommentsAjax(Jsoup.parse(responseHtml), albumId);
+    }
+
+    /**
+     * 从已解析的文档解析评论分页响应，可配合 JmHtmlResponse.getDocument() 直接从响应流解析。
+     *
+     * @param doc 解析后的文档
+     * @param albumId 本子 ID
+     * @return 同 {@link #parseAlbumCommentsAjax(String, String)}
+     */
+    public static JmCommentList parseAlbumCommentsAjax(Document doc, String albumId) {
         String domain = extractDomain(doc);
         List<JmComment> comments = parseTimelineComments(doc, albumId, domain);
         return new JmCommentList(comments.size(), comments);
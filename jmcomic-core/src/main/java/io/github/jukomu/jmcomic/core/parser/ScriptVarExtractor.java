@@ -0,0 +1,128 @@
+package io.github.jukomu.jmcomic.core.parser;
+
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * @author JUKOMU
+ * @Description: 内联脚本变量提取器
+ * <p>
+ * 每个变量名对应的正则只编译一次并缓存；一次遍历内联脚本即可提取多个变量，
+ * 所有变量都找到后立即停止，不再扫描后续脚本。
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+final class ScriptVarExtractor {
+
+    private static final String SCRIPT_VAR_TEMPLATE = "var\\s+%s\\s*=\\s*['\"]?(.+?)['\"]?;";
+    private static final ConcurrentMap<String, Pattern> PATTERNS = new ConcurrentHashMap<>();
+
+    private ScriptVarExtractor() {
+    }
+
+    /**
+     * 获取变量名对应的预编译正则
+     */
+    static Pattern patternFor(String varName) {
+        return PATTERNS.computeIfAbsent(varName,
+                name -> Pattern.compile(String.format(SCRIPT_VAR_TEMPLATE, Pattern.quote(name))));
+    }
+
+    /**
+     * 从文档的内联脚本中提取变量
+     *
+     * @param doc      已解析的文档
+     * @param varNames 变量名
+     * @return 变量名 -> 变量值，未找到的变量值为空字符串
+     */
+    static Map<String, String> extract(Document doc, String... varNames) {
+        Map<String, String> result = new HashMap<>();
+        Set<String> pending = new LinkedHashSet<>(List.of(varNames));
+        for (Element script : doc.select("script:not([src])")) {
+            if (pending.isEmpty()) {
+                break;
+            }
+            matchPending(script.data(), pending, result);
+        }
+        for (String name : pending) {
+            result.put(name, "");
+        }
+        return result;
+    }
+
+    /**
+     * 不构建 DOM，直接扫描 HTML 文本中的内联脚本提取变量
+     *
+     * @param html     HTML 文本
+     * @param varNames 变量名
+     * @return 变量名 -> 变量值，未找到的变量值为空字符串
+     */
+    static Map<String, String> extract(String html, String... varNames) {
+        Map<String, String> result = new HashMap<>();
+        Set<String> pending = new LinkedHashSet<>(List.of(varNames));
+        int from = 0;
+        while (!pending.isEmpty()) {
+            int tagStart = indexOfIgnoreCase(html, "<script", from);
+            if (tagStart < 0) {
+                break;
+            }
+            int tagEnd = html.indexOf('>', tagStart);
+            if (tagEnd < 0) {
+                break;
+            }
+            int scriptEnd = indexOfIgnoreCase(html, "</script", tagEnd);
+            if (scriptEnd < 0) {
+                scriptEnd = html.length();
+            }
+            // 跳过外链脚本
+            if (!html.substring(tagStart, tagEnd).toLowerCase(Locale.ROOT).contains("src=")) {
+                matchPending(html.substring(tagEnd + 1, scriptEnd), pending, result);
+            }
+            from = scriptEnd;
+        }
+        for (String name : pending) {
+            result.put(name, "");
+        }
+        return result;
+    }
+
+    private static void matchPending(String script, Set<String> pending, Map<String, String> result) {
+        pending.removeIf(name -> {
+            // 先用 contains 快速排除，避免对每个脚本都跑正则
+            if (!script.contains(name)) {
+                return false;
+            }
+            Matcher matcher = patternFor(name).matcher(script);
+            if (matcher.find()) {
+                result.put(name, matcher.group(1));
+                return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * 忽略大小写查找以 '<' 开头的标签，先用 indexOf 定位 '<' 再比较，避免逐字符比较
+     */
+    private static int indexOfIgnoreCase(String text, String tag, int from) {
+        int i = text.indexOf('<', from);
+        while (i >= 0) {
+            if (text.regionMatches(true, i, tag, 0, tag.length())) {
+                return i;
+            }
+            i = text.indexOf('<', i + 1);
+        }
+        return -1;
+    }
+}
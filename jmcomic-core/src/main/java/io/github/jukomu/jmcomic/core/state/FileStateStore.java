@@ -0,0 +1,167 @@
+package io.github.jukomu.jmcomic.core.state;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import io.github.jukomu.jmcomic.core.util.JsonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * @author JUKOMU
+ * @Description: 基于单个 JSON 文件的状态存储，默认实现
+ * <p>
+ * 所有条目保存在目录下的 {@value #STATE_FILE_NAME} 中。每次读写都重新读取文件，
+ * 使同一目录下的多个进程可以共享最新状态；写入时先写 .tmp 再原子重命名，
+ * 读写失败只记日志，不影响客户端正常工作。
+ * <p>
+ * 写入是「读取全部条目 - 修改 - 写回」，整个过程持有旁边 {@value #LOCK_FILE_NAME} 的文件锁，
+ * 多个进程同时写入不同的键时不会互相覆盖。同一进程内的多个实例按文件共用一个监视器，
+ * 避免同一个 JVM 重复加锁。
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+public final class FileStateStore implements JmStateStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileStateStore.class);
+
+    static final String STATE_FILE_NAME = "jmcomic-state.json";
+
+    static final String LOCK_FILE_NAME = STATE_FILE_NAME + ".lock";
+
+    // 状态文件 -> 进程内的监视器，文件锁由 JVM 持有，同一进程内不能重复获取
+    private static final Map<Path, Object> PROCESS_LOCKS = new ConcurrentHashMap<>();
+
+    private static final Type ENTRIES_TYPE = new TypeToken<HashMap<String, Entry>>() {
+    }.getType();
+
+    private final Path file;
+    private final Path lockFile;
+    private final Object fileLock;
+
+    public FileStateStore(Path directory) {
+        this.file = Objects.requireNonNull(directory).resolve(STATE_FILE_NAME);
+        this.lockFile = directory.resolve(LOCK_FILE_NAME);
+        this.fileLock = PROCESS_LOCKS.computeIfAbsent(file.toAbsolutePath().normalize(), k -> new Object());
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public String get(String key) {
+        synchronized (fileLock) {
+            Entry entry = readEntries().get(key);
+            if (entry == null || entry.isExpired(System.currentTimeMillis())) {
+                return null;
+            }
+            return entry.value;
+        }
+    }
+
+    @Override
+    public void put(String key, String value, Duration ttl) {
+        update(entries -> {
+            long now = System.currentTimeMillis();
+            // 顺手清掉过期条目，防止文件无限增长
+            entries.values().removeIf(e -> e == null || e.isExpired(now));
+            entries.put(key, new Entry(value, now + ttl.toMillis()));
+            writeEntries(entries);
+        });
+    }
+
+    @Override
+    public void remove(String key) {
+        update(entries -> {
+            if (entries.remove(key) != null) {
+                writeEntries(entries);
+            }
+        });
+    }
+
+    /**
+     * 持有进程内监视器和跨进程文件锁，读取全部条目后交给 action 修改、写回
+     */
+    private void update(Consumer<Map<String, Entry>> action) {
+        synchronized (fileLock) {
+            try {
+                if (lockFile.getParent() != null) {
+                    Files.createDirectories(lockFile.getParent());
+                }
+                try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                     FileLock ignored = channel.lock()) {
+                    action.accept(readEntries());
+                }
+            } catch (IOException e) {
+                logger.warn("锁定状态文件 {} 失败: {}", lockFile, e.getMessage());
+            }
+        }
+    }
+
+    private Map<String, Entry> readEntries() {
+        if (!Files.isRegularFile(file)) {
+            return new HashMap<>();
+        }
+        try {
+            String json = Files.readString(file, StandardCharsets.UTF_8);
+            Map<String, Entry> entries = JsonUtils.fromJson(json, ENTRIES_TYPE);
+            return entries != null ? entries : new HashMap<>();
+        } catch (IOException | JsonParseException e) {
+            logger.warn("读取状态文件 {} 失败: {}", file, e.getMessage());
+            return new HashMap<>();
+        }
+    }
+
+    private void writeEntries(Map<String, Entry> entries) {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            // 临时文件名带随机后缀，避免多个进程同时写同一个 .tmp
+            Path tmpPath = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            Files.writeString(tmpPath, JsonUtils.getGson().toJson(entries, ENTRIES_TYPE), StandardCharsets.UTF_8);
+            try {
+                Files.move(tmpPath, file, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmpPath, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            logger.warn("写入状态文件 {} 失败: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * 单个状态条目
+     */
+    private static final class Entry {
+        private final String value;
+        // 过期时间戳（毫秒）
+        private final long expiresAt;
+
+        Entry(String value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now) {
+            return value == null || now >= expiresAt;
+        }
+    }
+}
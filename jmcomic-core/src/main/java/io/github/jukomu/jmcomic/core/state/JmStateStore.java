@@ -0,0 +1,48 @@
+package io.github.jukomu.jmcomic.core.state;
+
+import java.time.Duration;
+
+/**
+ * @author JUKOMU
+ * @Description: 客户端状态存储的服务提供者接口 (SPI)
+ * 用于跨进程、跨重启共享域名列表、域名探活结果、App 版本号、图片域名等发现成本较高的状态。
+ * 值统一以字符串（通常为 JSON）保存，每个条目自带过期时间，过期后视为不存在。
+ * 实现类必须是线程安全的。
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+public interface JmStateStore {
+
+    /**
+     * 读取一个状态条目
+     *
+     * @param key 条目键
+     * @return 条目值，不存在或已过期时返回 null
+     */
+    String get(String key);
+
+    /**
+     * 写入一个状态条目，覆盖已有值
+     *
+     * @param key   条目键
+     * @param value 条目值
+     * @param ttl   有效期
+     */
+    void put(String key, String value, Duration ttl);
+
+    /**
+     * 删除一个状态条目
+     *
+     * @param key 条目键
+     */
+    void remove(String key);
+
+    /**
+     * 不做任何持久化的空实现，未配置状态存储时使用
+     *
+     * @return 空实现
+     */
+    static JmStateStore none() {
+        return NoOpStateStore.INSTANCE;
+    }
+}
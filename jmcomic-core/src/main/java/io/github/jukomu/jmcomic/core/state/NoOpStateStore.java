@@ -0,0 +1,32 @@
+package io.github.jukomu.jmcomic.core.state;
+
+import java.time.Duration;
+
+/**
+ * @author JUKOMU
+ * @Description: 不持久化任何状态的空实现
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+final class NoOpStateStore implements JmStateStore {
+
+    static final NoOpStateStore INSTANCE = new NoOpStateStore();
+
+    private NoOpStateStore() {
+    }
+
+    @Override
+    public String get(String key) {
+        return null;
+    }
+
+    @Override
+    public void put(String key, String value, Duration ttl) {
+        // 不保存
+    }
+
+    @Override
+    public void remove(String key) {
+        // 不保存
+    }
+}
@@ -0,0 +1,255 @@
+package io.github.jukomu.jmcomic.core.store;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author JUKOMU
+ * @Description: 基于目录的内容寻址图片存储，默认实现
+ * <p>
+ * 图片按内容的 SHA-256 保存在 {@value #OBJECTS_DIR}/前两位/完整哈希 下，内容相同的图片只保存一份；
+ * (章节ID, 文件名) 到哈希的映射追加写入 {@value #INDEX_FILE_NAME}，每行 "哈希\t章节ID/文件名"，
+ * 打开时读入内存，重复条目较多时重写压缩。
+ * <p>
+ * 入库和放置都优先使用硬链接，不额外占用磁盘；不支持硬链接（如跨文件系统）时退回复制。
+ * 硬链接与存储共享数据，就地修改下载目录中的图片会同时改动存储中的内容。
+ * 存储不会自动清理，删除整个目录即可清空。
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+public final class FileImageStore implements JmImageStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileImageStore.class);
+
+    static final String INDEX_FILE_NAME = "index.log";
+    static final String OBJECTS_DIR = "objects";
+
+    private final Path root;
+    private final Path indexFile;
+    private final Map<String, String> index = new ConcurrentHashMap<>();
+    private final Object indexLock = new Object();
+
+    public FileImageStore(Path directory) {
+        this.root = Objects.requireNonNull(directory);
+        this.indexFile = directory.resolve(INDEX_FILE_NAME);
+        loadIndex();
+    }
+
+    public Path getDirectory() {
+        return root;
+    }
+
+    /**
+     * 获取已入库的图片数
+     */
+    public int size() {
+        return index.size();
+    }
+
+    @Override
+    public boolean placeInto(String photoId, String filename, Path target) {
+        String key = key(photoId, filename);
+        if (key == null) {
+            return false;
+        }
+        String hash = index.get(key);
+        if (hash == null) {
+            return false;
+        }
+        Path object = objectPath(hash);
+        if (!Files.isRegularFile(object)) {
+            // 对象被手动删除过，当作没有
+            index.remove(key, hash);
+            return false;
+        }
+        try {
+            if (target.getParent() != null) {
+                Files.createDirectories(target.getParent());
+            }
+            linkOrCopy(object, target);
+            return true;
+        } catch (IOException e) {
+            logger.warn("从图片存储放置 {} 到 {} 失败: {}", key, target, e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public void put(String photoId, String filename, Path file) {
+        String key = key(photoId, filename);
+        if (key == null) {
+            return;
+        }
+        try {
+            store(key, sha256(file), file);
+        } catch (IOException e) {
+            logger.warn("图片 {} 加入存储失败: {}", key, e.getMessage());
+        }
+    }
+
+    @Override
+    public void put(String photoId, String filename, Path file, byte[] content) {
+        String key = key(photoId, filename);
+        if (key == null) {
+            return;
+        }
+        try {
+            // 直接对内存中的内容计算哈希，不重新读取刚写入的文件
+            store(key, sha256(content), file);
+        } catch (IOException e) {
+            logger.warn("图片 {} 加入存储失败: {}", key, e.getMessage());
+        }
+    }
+
+    private void store(String key, String hash, Path file) throws IOException {
+        Path object = objectPath(hash);
+        if (!Files.exists(object)) {
+            Files.createDirectories(object.getParent());
+            linkOrCopy(file, object);
+        } else {
+            // 内容已在存储中（其他章节的相同图片），把刚下载的文件换成指向已有对象的链接
+            relink(object, file);
+        }
+        if (!hash.equals(index.put(key, hash))) {
+            appendIndex(hash, key);
+        }
+    }
+
+    private static String key(String photoId, String filename) {
+        if (photoId == null || photoId.isEmpty() || filename == null || filename.isEmpty()) {
+            return null;
+        }
+        return photoId + "/" + filename;
+    }
+
+    private Path objectPath(String hash) {
+        return root.resolve(OBJECTS_DIR).resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    /**
+     * 在 target 处创建指向 source 的硬链接，不支持时复制。target 已存在（并发放置）时不做任何事。
+     */
+    private static void linkOrCopy(Path source, Path target) throws IOException {
+        try {
+            Files.createLink(target, source);
+        } catch (FileAlreadyExistsException e) {
+            // 其他线程已经放好了
+        } catch (UnsupportedOperationException | FileSystemException e) {
+            Path tmp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            try {
+                Files.copy(source, tmp, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException ignored) {
+                // 其他线程已经放好了
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        }
+    }
+
+    /**
+     * 用指向 object 的硬链接原子替换 file，已经是同一个文件或不支持硬链接时保持原样
+     */
+    private static void relink(Path object, Path file) {
+        try {
+            if (Files.isSameFile(object, file)) {
+                return;
+            }
+            Path tmp = file.resolveSibling(file.getFileName() + ".link");
+            Files.deleteIfExists(tmp);
+            try {
+                Files.createLink(tmp, object);
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (UnsupportedOperationException | IOException e) {
+            // 保留独立的副本即可
+        }
+    }
+
+    private static String sha256(Path file) throws IOException {
+        MessageDigest digest = sha256Digest();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String sha256(byte[] content) {
+        return HexFormat.of().formatHex(sha256Digest().digest(content));
+    }
+
+    private static MessageDigest sha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void loadIndex() {
+        if (!Files.isRegularFile(indexFile)) {
+            return;
+        }
+        int lines = 0;
+        try {
+            for (String line : Files.readAllLines(indexFile, StandardCharsets.UTF_8)) {
+                int tab = line.indexOf('\t');
+                if (tab <= 0) {
+                    continue;
+                }
+                index.put(line.substring(tab + 1), line.substring(0, tab));
+                lines++;
+            }
+        } catch (IOException e) {
+            logger.warn("读取图片存储索引 {} 失败: {}", indexFile, e.getMessage());
+            return;
+        }
+        // 同一个键被多次写入（文件改动后重新下载）时，重写一次去掉旧行
+        if (lines > index.size() * 2L + 1024) {
+            compactIndex();
+        }
+    }
+
+    private void compactIndex() {
+        synchronized (indexLock) {
+            try {
+                Path tmp = Files.createTempFile(root, INDEX_FILE_NAME, ".tmp");
+                List<String> lines = index.entrySet().stream()
+                        .map(e -> e.getValue() + "\t" + e.getKey())
+                        .toList();
+                Files.write(tmp, lines, StandardCharsets.UTF_8);
+                try {
+                    Files.move(tmp, indexFile, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } catch (IOException e) {
+                logger.warn("压缩图片存储索引 {} 失败: {}", indexFile, e.getMessage());
+            }
+        }
+    }
+
+    private void appendIndex(String hash, String key) throws IOException {
+        synchronized (indexLock) {
+            Files.createDirectories(root);
+            Files.writeString(indexFile, hash + "\t" + key + System.lineSeparator(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.jukomu.jmcomic.core.store;
+
+import java.nio.file.Path;
+
+/**
+ * @author JUKOMU
+ * @Description: 已下载图片存储的服务提供者接口 (SPI)
+ * 以 (章节ID, 文件名) 为键保存下载并解密后的图片，同一张图片下载到不同目录时
+ * 直接从存储中放置到目标路径，不再重复下载。
+ * 实现类必须是线程安全的；存储读写失败时不应抛出异常，调用方会退回正常下载。
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+public interface JmImageStore {
+
+    /**
+     * 如果存储中有这张图片，将其放置到目标路径
+     *
+     * @param photoId  章节ID
+     * @param filename 图片文件名
+     * @param target   目标路径，调用方保证此路径上还没有文件
+     * @return 放置成功时返回 true，存储中没有或放置失败时返回 false
+     */
+    boolean placeInto(String photoId, String filename, Path target);
+
+    /**
+     * 将刚下载完成的图片加入存储
+     *
+     * @param photoId  章节ID
+     * @param filename 图片文件名
+     * @param file     已写入最终路径的图片文件
+     */
+    void put(String photoId, String filename, Path file);
+
+    /**
+     * 将刚下载完成的图片加入存储，同时给出写入文件的内容，实现可以直接使用而不必重新读取文件
+     *
+     * @param photoId  章节ID
+     * @param filename 图片文件名
+     * @param file     已写入最终路径的图片文件
+     * @param content  写入文件的内容，调用方之后不再修改
+     */
+    default void put(String photoId, String filename, Path file, byte[] content) {
+        put(photoId, filename, file);
+    }
+
+    /**
+     * 不保存任何图片的空实现，未配置图片存储时使用
+     *
+     * @return 空实现
+     */
+    static JmImageStore none() {
+        return NoOpImageStore.INSTANCE;
+    }
+}
@@ -0,0 +1,27 @@
+package io.github.jukomu.jmcomic.core.store;
+
+import java.nio.file.Path;
+
+/**
+ * @author JUKOMU
+ * @Description: 不保存任何图片的空实现
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+final class NoOpImageStore implements JmImageStore {
+
+    static final NoOpImageStore INSTANCE = new NoOpImageStore();
+
+    private NoOpImageStore() {
+    }
+
+    @Override
+    public boolean placeInto(String photoId, String filename, Path target) {
+        return false;
+    }
+
+    @Override
+    public void put(String photoId, String filename, Path file) {
+        // 不保存
+    }
+}
@@ -0,0 +1,303 @@
+package io.github.jukomu.jmcomic.core.sync;
+
+import io.github.jukomu.jmcomic.api.model.JmAlbum;
+import io.github.jukomu.jmcomic.api.model.JmBatchResult;
+import io.github.jukomu.jmcomic.core.client.AbstractJmClient;
+import io.github.jukomu.jmcomic.core.state.FileStateStore;
+import io.github.jukomu.jmcomic.core.state.JmStateStore;
+import io.github.jukomu.jmcomic.core.util.JsonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * @author JUKOMU
+ * @Description: 列表的增量同步
+ * <p>
+ * 每个列表在状态存储中记录上次同步的位置，下次同步只遍历到已知的位置为止，
+ * 并且只获取新增或有更新的本子详情：
+ * <ul>
+ *     <li>不带时间的列表（最新上架、连载）记录上次列表头部的若干个 ID 及其顺序。
+ *     没有变化的本子在列表中保持上次的先后顺序，并且都排在新增、有更新的本子之后
+ *     （连载列表中有更新的本子会回到前面）。遍历时连续遇到多个上次的 ID、且它们与上次的顺序一致，
+ *     就认为已到达未变化的部分；在此之前出现的本子，无论新旧都视为新增或有更新。</li>
+ *     <li>带更新时间的列表（连载跟踪）记录上次看到的最大更新时间，以及更新时间接近它的本子 ID。
+ *     更新时间比它新的本子视为有更新；遇到比它早 {@value #TIME_GRACE_SECONDS} 秒以上的本子时停止遍历，
+ *     在这段时间内、上次没有记录的本子（与上次同一秒更新等）同样视为有更新。</li>
+ * </ul>
+ * 获取失败的本子会记入状态，下次同步时重试。同一列表的同步不应并发执行。
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+public final class JmIncrementalSync {
+
+    private static final Logger logger = LoggerFactory.getLogger(JmIncrementalSync.class);
+
+    // 不带时间的列表记录的头部 ID 数
+    static final int HEAD_SIZE = 20;
+    // 连续遇到多少个顺序未变的上次的 ID 时认为已到达未变化的部分
+    static final int CONFIRM_RUN = 3;
+    // 带时间的列表在高水位之前继续检查的时间范围（秒），用于处理同一时间更新的本子
+    static final long TIME_GRACE_SECONDS = 60;
+
+    private final AbstractJmClient client;
+    private final JmStateStore stateStore;
+    private final int maxItems;
+    private final Duration stateTtl;
+
+    private JmIncrementalSync(Builder builder) {
+        this.client = builder.client;
+        this.stateStore = builder.resolveStateStore();
+        this.maxItems = builder.maxItems;
+        this.stateTtl = builder.stateTtl;
+    }
+
+    /**
+     * 同步一个列表：遍历到上次同步的位置，获取新增或有更新的本子详情，并保存新的同步位置。
+     * 首次同步最多遍历 maxItems 个条目，全部视为新增。
+     *
+     * @param feed 要同步的列表
+     * @return 同步结果
+     */
+    public JmSyncResult sync(JmSyncFeed feed) {
+        SyncState previous = loadState(feed);
+        boolean initial = previous == null;
+        SyncState state = initial ? new SyncState() : previous;
+
+        Scan scan;
+        try (Stream<JmSyncFeed.FeedItem> items = feed.items(client).limit(maxItems)) {
+            scan = feed.isTimestamped() ? scanByTime(items, state, initial) : scanByHead(items, state, initial);
+        }
+
+        // 上次失败的本子一并重试
+        Set<String> ids = new LinkedHashSet<>(scan.changed);
+        ids.addAll(state.pending);
+        // 有更新的本子可能还在缓存里，先清掉再获取
+        ids.forEach(client::evictCachedAlbum);
+        JmBatchResult<JmAlbum> albums = client.getAlbums(ids);
+
+        SyncState next = new SyncState();
+        next.head = scan.head;
+        next.highWaterMark = scan.highWaterMark;
+        next.pending = new ArrayList<>(albums.getFailures().keySet());
+        saveState(feed, next);
+
+        JmSyncResult result = new JmSyncResult(feed, albums, scan.scanned, initial);
+        logger.info("增量同步 {} 完成: 遍历 {} 个条目，获取 {} 个本子，失败 {} 个",
+                feed, scan.scanned, albums.getResults().size(), albums.getFailures().size());
+        return result;
+    }
+
+    /**
+     * 清除列表的同步状态，下次同步按首次同步处理
+     *
+     * @param feed 列表
+     */
+    public void reset(JmSyncFeed feed) {
+        stateStore.remove(feed.stateKey());
+    }
+
+    private Scan scanByHead(Stream<JmSyncFeed.FeedItem> items, SyncState state, boolean initial) {
+        // 上次头部中各 ID 的位置
+        Map<String, Integer> previousPositions = new HashMap<>();
+        for (int i = 0; i < state.head.size(); i++) {
+            previousPositions.putIfAbsent(state.head.get(i), i);
+        }
+        Scan scan = new Scan();
+        Set<String> seen = new LinkedHashSet<>();
+        // 当前连续的、与上次顺序一致的已知 ID，确认前暂不计入有变化
+        List<String> run = new ArrayList<>();
+        int runEnd = -1;
+        for (Iterator<JmSyncFeed.FeedItem> it = items.iterator(); it.hasNext(); ) {
+            String id = it.next().id();
+            scan.scanned++;
+            if (seen.contains(id)) {
+                continue;
+            }
+            // 在加入 seen 之前计算，当前 ID 本身不应被跳过
+            int expected = nextPosition(state.head, runEnd, seen);
+            seen.add(id);
+            Integer position = initial ? null : previousPositions.get(id);
+            if (position == null) {
+                // 新增的本子之前的都不可能是未变化的部分
+                scan.changed.addAll(run);
+                run.clear();
+                scan.changed.add(id);
+                continue;
+            }
+            if (run.isEmpty() || position != expected) {
+                // 顺序与上次不一致：之前的连续部分是回到前面的本子
+                scan.changed.addAll(run);
+                run.clear();
+            }
+            run.add(id);
+            runEnd = position;
+            if (run.size() >= CONFIRM_RUN) {
+                break;
+            }
+        }
+        // 列表在确认前结束时，末尾顺序一致的部分同样视为未变化
+        // 提前停止时，本次看到的条目之后接着的就是上次头部中连续部分之后的内容
+        Set<String> head = new LinkedHashSet<>(seen);
+        head.addAll(run.size() >= CONFIRM_RUN ? state.head.subList(runEnd + 1, state.head.size()) : state.head);
+        scan.head = head.stream().limit(HEAD_SIZE).toList();
+        return scan;
+    }
+
+    /**
+     * 上次头部中 position 之后、本次还没有遇到的第一个位置
+     */
+    private static int nextPosition(List<String> previousHead, int position, Set<String> seen) {
+        int next = position + 1;
+        while (next < previousHead.size() && seen.contains(previousHead.get(next))) {
+            next++;
+        }
+        return next;
+    }
+
+    private Scan scanByTime(Stream<JmSyncFeed.FeedItem> items, SyncState state, boolean initial) {
+        // 上次记录的、更新时间接近高水位的本子
+        Set<String> known = new HashSet<>(state.head);
+        long stopBefore = state.highWaterMark - TIME_GRACE_SECONDS;
+        Scan scan = new Scan();
+        scan.highWaterMark = state.highWaterMark;
+        List<JmSyncFeed.FeedItem> seen = new ArrayList<>();
+        for (Iterator<JmSyncFeed.FeedItem> it = items.iterator(); it.hasNext(); ) {
+            JmSyncFeed.FeedItem item = it.next();
+            long updatedAt = item.updatedAt();
+            if (!initial && updatedAt != JmSyncFeed.FeedItem.UNKNOWN_TIME
+                    && state.highWaterMark != JmSyncFeed.FeedItem.UNKNOWN_TIME && updatedAt < stopBefore) {
+                // 列表按更新时间排列，之后的本子都已同步过
+                break;
+            }
+            scan.scanned++;
+            seen.add(item);
+            if (initial || updatedAt == JmSyncFeed.FeedItem.UNKNOWN_TIME || updatedAt > state.highWaterMark
+                    || !known.contains(item.id())) {
+                scan.changed.add(item.id());
+            }
+            scan.highWaterMark = Math.max(scan.highWaterMark, updatedAt);
+        }
+        long windowStart = scan.highWaterMark - TIME_GRACE_SECONDS;
+        Set<String> head = new LinkedHashSet<>();
+        for (JmSyncFeed.FeedItem item : seen) {
+            if (item.updatedAt() != JmSyncFeed.FeedItem.UNKNOWN_TIME && item.updatedAt() >= windowStart) {
+                head.add(item.id());
+            }
+        }
+        scan.head = new ArrayList<>(head);
+        return scan;
+    }
+
+    private SyncState loadState(JmSyncFeed feed) {
+        String json = stateStore.get(feed.stateKey());
+        if (json == null) {
+            return null;
+        }
+        try {
+            SyncState state = JsonUtils.fromJson(json, SyncState.class);
+            if (state == null) {
+                return null;
+            }
+            state.head = state.head != null ? state.head : new ArrayList<>();
+            state.pending = state.pending != null ? state.pending : new ArrayList<>();
+            return state;
+        } catch (RuntimeException e) {
+            logger.warn("解析 {} 的同步状态失败，按首次同步处理: {}", feed, e.getMessage());
+            return null;
+        }
+    }
+
+    private void saveState(JmSyncFeed feed, SyncState state) {
+        stateStore.put(feed.stateKey(), JsonUtils.toJson(state), stateTtl);
+    }
+
+    /**
+     * 一次遍历的结果
+     */
+    private static final class Scan {
+        private final List<String> changed = new ArrayList<>();
+        private List<String> head = new ArrayList<>();
+        private long highWaterMark = JmSyncFeed.FeedItem.UNKNOWN_TIME;
+        private int scanned;
+    }
+
+    /**
+     * 保存在状态存储中的同步位置
+     */
+    private static final class SyncState {
+        // 不带时间的列表：上次列表头部的 ID；带时间的列表：更新时间接近高水位的 ID
+        private List<String> head = new ArrayList<>();
+        // 带时间的列表：上次看到的最大更新时间
+        private long highWaterMark = JmSyncFeed.FeedItem.UNKNOWN_TIME;
+        // 上次获取失败、需要重试的本子 ID
+        private List<String> pending = new ArrayList<>();
+    }
+
+    /**
+     * 用于创建 JmIncrementalSync 实例的 Builder
+     */
+    public static class Builder {
+        private final AbstractJmClient client;
+        private Path stateDirectory = null;                   // null 表示未指定，默认 ~/.jmcomic
+        private JmStateStore stateStore = null;
+        private int maxItems = 2000;
+        private Duration stateTtl = Duration.ofDays(365);
+
+        public Builder(AbstractJmClient client) {
+            this.client = Objects.requireNonNull(client);
+        }
+
+        /**
+         * 将同步状态保存到指定目录下的 JSON 文件（{@link FileStateStore}），默认 ~/.jmcomic
+         */
+        public Builder stateDirectory(Path stateDirectory) {
+            this.stateDirectory = Objects.requireNonNull(stateDirectory);
+            return this;
+        }
+
+        /**
+         * 使用自定义的状态存储，优先级高于 {@link #stateDirectory(Path)}。
+         */
+        public Builder stateStore(JmStateStore stateStore) {
+            this.stateStore = Objects.requireNonNull(stateStore);
+            return this;
+        }
+
+        /**
+         * 设置一次同步最多遍历的条目数，防止找不到上次的位置时遍历整个列表。
+         */
+        public Builder maxItems(int maxItems) {
+            if (maxItems <= 0) throw new IllegalArgumentException("Max items must be positive.");
+            this.maxItems = maxItems;
+            return this;
+        }
+
+        /**
+         * 设置同步状态的有效期，过期后按首次同步处理。
+         */
+        public Builder stateTtl(Duration ttl) {
+            if (Objects.requireNonNull(ttl).isNegative()) throw new IllegalArgumentException("State TTL must be non-negative.");
+            this.stateTtl = ttl;
+            return this;
+        }
+
+        private JmStateStore resolveStateStore() {
+            if (this.stateStore != null) {
+                return this.stateStore;
+            }
+            if (this.stateDirectory != null) {
+                return new FileStateStore(this.stateDirectory);
+            }
+            return new FileStateStore(Path.of(System.getProperty("user.home"), ".jmcomic"));
+        }
+
+        public JmIncrementalSync build() {
+            return new JmIncrementalSync(this);
+        }
+    }
+}
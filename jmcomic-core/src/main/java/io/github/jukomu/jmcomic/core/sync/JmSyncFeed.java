@@ -0,0 +1,86 @@
+package io.github.jukomu.jmcomic.core.sync;
+
+import io.github.jukomu.jmcomic.core.client.AbstractJmClient;
+import org.apache.commons.lang3.math.NumberUtils;
+
+import java.util.stream.Stream;
+
+/**
+ * @author JUKOMU
+ * @Description: 增量同步支持的列表
+ * <p>
+ * 最新上架和连载列表不带时间，按上次看到的列表头部判断新旧；
+ * 连载跟踪列表带更新时间，按时间高水位判断。
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+public enum JmSyncFeed {
+
+    /**
+     * 最新上架
+     */
+    LATEST("latest", false) {
+        @Override
+        Stream<FeedItem> items(AbstractJmClient client) {
+            return client.streamLatest().map(meta -> new FeedItem(meta.getId(), FeedItem.UNKNOWN_TIME));
+        }
+    },
+
+    /**
+     * 连载列表，有更新的本子会回到列表前面
+     */
+    SERIALIZATION("serialization", false) {
+        @Override
+        Stream<FeedItem> items(AbstractJmClient client) {
+            return client.streamSerialization().map(meta -> new FeedItem(meta.getId(), FeedItem.UNKNOWN_TIME));
+        }
+    },
+
+    /**
+     * 连载跟踪列表，需要登录
+     */
+    TRACKING("tracking", true) {
+        @Override
+        Stream<FeedItem> items(AbstractJmClient client) {
+            return client.streamAlbumTrackingList()
+                    .map(item -> new FeedItem(item.id(), NumberUtils.toLong(item.updateAt(), FeedItem.UNKNOWN_TIME)));
+        }
+    };
+
+    private final String key;
+    private final boolean timestamped;
+
+    JmSyncFeed(String key, boolean timestamped) {
+        this.key = key;
+        this.timestamped = timestamped;
+    }
+
+    /**
+     * 在状态存储中的键
+     */
+    String stateKey() {
+        return "sync." + key;
+    }
+
+    /**
+     * 条目是否带更新时间
+     */
+    boolean isTimestamped() {
+        return timestamped;
+    }
+
+    /**
+     * 按列表顺序遍历条目
+     */
+    abstract Stream<FeedItem> items(AbstractJmClient client);
+
+    /**
+     * 列表中的一个条目
+     *
+     * @param id        本子ID
+     * @param updatedAt 更新时间（Unix 秒），未知时为 {@link #UNKNOWN_TIME}
+     */
+    record FeedItem(String id, long updatedAt) {
+        static final long UNKNOWN_TIME = -1;
+    }
+}
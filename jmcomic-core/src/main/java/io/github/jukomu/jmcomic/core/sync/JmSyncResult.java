@@ -0,0 +1,60 @@
+package io.github.jukomu.jmcomic.core.sync;
+
+import io.github.jukomu.jmcomic.api.model.JmAlbum;
+import io.github.jukomu.jmcomic.api.model.JmBatchResult;
+
+/**
+ * @author JUKOMU
+ * @Description: 一次增量同步的结果
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+public final class JmSyncResult {
+    private final JmSyncFeed feed;
+    private final JmBatchResult<JmAlbum> albums;
+    private final int scannedItems;
+    private final boolean initialSync;
+
+    JmSyncResult(JmSyncFeed feed, JmBatchResult<JmAlbum> albums, int scannedItems, boolean initialSync) {
+        this.feed = feed;
+        this.albums = albums;
+        this.scannedItems = scannedItems;
+        this.initialSync = initialSync;
+    }
+
+    public JmSyncFeed getFeed() {
+        return feed;
+    }
+
+    /**
+     * 获取新增或有更新的本子详情，失败的 ID 会在下次同步时重试
+     */
+    public JmBatchResult<JmAlbum> getAlbums() {
+        return albums;
+    }
+
+    /**
+     * 获取本次遍历的列表条目数
+     */
+    public int getScannedItems() {
+        return scannedItems;
+    }
+
+    /**
+     * 是否为首次同步（没有上次的同步状态）
+     */
+    public boolean isInitialSync() {
+        return initialSync;
+    }
+
+    @Override
+    public String toString() {
+        return "JmSyncResult{" +
+                "feed=" + feed +
+                ", changed=" + albums.getResults().size() +
+                ", failed=" + albums.getFailures().size() +
+                ", scannedItems=" + scannedItems +
+                ", initialSync=" + initialSync +
+                '}';
+    }
+}
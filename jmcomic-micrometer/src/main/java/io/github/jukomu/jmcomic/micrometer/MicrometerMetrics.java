@@ -0,0 +1,100 @@
+package io.github.jukomu.jmcomic.micrometer;
+
+import io.github.jukomu.jmcomic.core.metrics.JmMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * @author JUKOMU
+ * @Description: 基于 Micrometer 的指标采集实现
+ * <p>
+ * 用法：
+ * <pre>{@code
+ * JmConfiguration config = new JmConfiguration.Builder()
+ *         .metrics(new MicrometerMetrics(meterRegistry))
+ *         .build();
+ * }</pre>
+ * 请求耗时按 endpoint、domain、status 打标签并发布百分位直方图；
+ * 同名的瞬时值指标只会注册第一个，多客户端共享同一注册表时反映的是最先创建的客户端。
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+public final class MicrometerMetrics implements JmMetrics {
+
+    private final MeterRegistry registry;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+    private final Counter cacheEvictions;
+    private final Counter downloadBytes;
+
+    public MicrometerMetrics(MeterRegistry registry) {
+        this.registry = Objects.requireNonNull(registry);
+        this.cacheHits = Counter.builder(CACHE_REQUESTS)
+                .tag("result", "hit")
+                .register(registry);
+        this.cacheMisses = Counter.builder(CACHE_REQUESTS)
+                .tag("result", "miss")
+                .register(registry);
+        this.cacheEvictions = Counter.builder(CACHE_EVICTIONS)
+                .register(registry);
+        this.downloadBytes = Counter.builder(DOWNLOAD_BYTES)
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    @Override
+    public void requestCompleted(String endpoint, String domain, int statusCode, long durationNanos) {
+        Timer.builder(HTTP_REQUESTS)
+                .tag("endpoint", endpoint)
+                .tag("domain", domain)
+                .tag("status", statusCode < 0 ? "IO_ERROR" : String.valueOf(statusCode))
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void requestRetried(String endpoint, String domain) {
+        Counter.builder(HTTP_RETRIES)
+                .tag("endpoint", endpoint)
+                .tag("domain", domain)
+                .register(registry)
+                .increment();
+    }
+
+    @Override
+    public void cacheAccessed(boolean hit) {
+        (hit ? cacheHits : cacheMisses).increment();
+    }
+
+    @Override
+    public void cacheEvicted() {
+        cacheEvictions.increment();
+    }
+
+    @Override
+    public void operationTimed(String operation, long durationNanos) {
+        Timer.builder(OPERATION)
+                .tag("operation", operation)
+                .register(registry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void bytesDownloaded(long bytes) {
+        downloadBytes.increment(bytes);
+    }
+
+    @Override
+    public <T> void gauge(String name, T obj, ToDoubleFunction<T> function) {
+        // Micrometer 的 Gauge 只弱引用被观测对象，客户端关闭后可以正常回收
+        Gauge.builder(name, obj, function)
+                .register(registry);
+    }
+}
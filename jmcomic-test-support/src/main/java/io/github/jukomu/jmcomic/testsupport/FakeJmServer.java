@@ -0,0 +1,563 @@
+package io.github.jukomu.jmcomic.testsupport;
+
+import io.github.jukomu.jmcomic.api.model.JmImage;
+import io.github.jukomu.jmcomic.core.config.JmConfiguration;
+import io.github.jukomu.jmcomic.core.constant.JmConstants;
+import okhttp3.Dns;
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.tls.HandshakeCertificates;
+import okhttp3.tls.HeldCertificate;
+import okio.Buffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.net.SocketFactory;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author JUKOMU
+ * @Description: 本地模拟的禁漫服务器
+ * <p>
+ * 基于 MockWebServer 在本机启动一个 HTTPS 服务，同时扮演多个 API 域名、网页域名、图片域名和域名服务器：
+ * API 响应按客户端解密的方式加密，网页按线上结构生成，图片按 scramble 规则切割打乱。
+ * 每个响应可以注入随机延迟，也可以按全局或单个域名的比例返回 503，用来模拟线上的慢域名和故障域名。
+ * <p>
+ * 客户端通过 {@link #configure(JmConfiguration.Builder)} 接入：自定义 DNS 把模拟域名解析到本机，
+ * Socket 工厂把连接转到服务器端口，并信任服务器的自签名证书，其他域名一律解析失败，不会访问外网。
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+public final class FakeJmServer implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(FakeJmServer.class);
+
+    private static final String DOMAIN_SERVER_PATH = "/newsvr-2025.txt";
+
+    private final List<String> apiDomains;
+    private final List<String> htmlDomains;
+    private final String imageDomain;
+    private final Set<String> imageDomains;
+    private final Set<String> domainServerHosts;
+    private final Set<String> allHosts;
+    private final long minLatencyMs;
+    private final long maxLatencyMs;
+    private final double errorRate;
+    private final Map<String, Double> domainErrorRates;
+    private final int chaptersPerAlbum;
+    private final int imagesPerChapter;
+    private final int imageWidth;
+    private final int imageHeight;
+    private final String imageFormat;
+    private final int searchPageSize;
+    private final int searchTotal;
+
+    private final MockWebServer server = new MockWebServer();
+    private final HandshakeCertificates clientCertificates;
+    // 分割数 -> 图片，同一分割数的图片内容相同，只生成一次
+    private final Map<Integer, byte[]> imageCache = new ConcurrentHashMap<>();
+
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder injectedErrorCount = new LongAdder();
+    private final LongAdder imageCount = new LongAdder();
+    private final LongAdder imageBytes = new LongAdder();
+
+    private FakeJmServer(Builder builder) {
+        this.apiDomains = List.copyOf(builder.apiDomains);
+        this.htmlDomains = List.copyOf(builder.htmlDomains);
+        this.imageDomain = builder.imageDomain;
+        this.minLatencyMs = builder.minLatency.toMillis();
+        this.maxLatencyMs = Math.max(builder.maxLatency.toMillis(), minLatencyMs);
+        this.errorRate = builder.errorRate;
+        this.domainErrorRates = Map.copyOf(builder.domainErrorRates);
+        this.chaptersPerAlbum = builder.chaptersPerAlbum;
+        this.imagesPerChapter = builder.imagesPerChapter;
+        this.imageWidth = builder.imageWidth;
+        this.imageHeight = builder.imageHeight;
+        this.imageFormat = builder.imageFormat;
+        this.searchPageSize = builder.searchPageSize;
+        this.searchTotal = builder.searchTotal;
+
+        // API 客户端会从全局图片域名列表中随机选择，这些域名也需要由本服务器响应
+        Set<String> images = new LinkedHashSet<>(JmConstants.DEFAULT_IMAGE_DOMAINS);
+        images.add(imageDomain);
+        this.imageDomains = Set.copyOf(images);
+        Set<String> domainServers = new LinkedHashSet<>();
+        for (String url : JmConstants.API_URL_DOMAIN_SERVER_LIST) {
+            domainServers.add(Objects.requireNonNull(HttpUrl.parse(url)).host());
+        }
+        this.domainServerHosts = Set.copyOf(domainServers);
+        Set<String> hosts = new LinkedHashSet<>();
+        hosts.addAll(apiDomains);
+        hosts.addAll(htmlDomains);
+        hosts.addAll(imageDomains);
+        hosts.addAll(domainServerHosts);
+        this.allHosts = Set.copyOf(hosts);
+
+        // 自签名证书覆盖所有模拟域名，客户端只信任这一张证书
+        HeldCertificate.Builder certificateBuilder = new HeldCertificate.Builder()
+                .commonName("FakeJmServer")
+                .duration(1, TimeUnit.DAYS);
+        for (String host : allHosts) {
+            certificateBuilder.addSubjectAlternativeName(host);
+        }
+        HeldCertificate certificate = certificateBuilder.build();
+        HandshakeCertificates serverCertificates = new HandshakeCertificates.Builder()
+                .heldCertificate(certificate)
+                .build();
+        this.clientCertificates = new HandshakeCertificates.Builder()
+                .addTrustedCertificate(certificate.certificate())
+                .build();
+        server.useHttps(serverCertificates.sslSocketFactory(), false);
+        server.setDispatcher(new FakeDispatcher());
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 在本机随机端口启动服务器
+     */
+    public FakeJmServer start() throws IOException {
+        server.start(InetAddress.getLoopbackAddress(), 0);
+        logger.info("FakeJmServer 已启动，端口 {}，模拟域名 {}", server.getPort(), allHosts);
+        return this;
+    }
+
+    /**
+     * 让客户端配置连接到本服务器：设置 API/网页域名，并接管 DNS、Socket 和证书校验
+     *
+     * @param builder 客户端配置构建器
+     * @return 同一个构建器
+     */
+    public JmConfiguration.Builder configure(JmConfiguration.Builder builder) {
+        Dns dns = hostname -> {
+            if (allHosts.contains(hostname.toLowerCase(Locale.ROOT))) {
+                return List.of(InetAddress.getLoopbackAddress());
+            }
+            throw new UnknownHostException(hostname + " is not served by FakeJmServer");
+        };
+        return builder
+                .apiDomains(apiDomains)
+                .htmlDomains(htmlDomains)
+                .httpClientCustomizer(http -> http
+                        .proxy(Proxy.NO_PROXY)
+                        .dns(dns)
+                        .socketFactory(new RedirectingSocketFactory(server.getPort()))
+                        .sslSocketFactory(clientCertificates.sslSocketFactory(), clientCertificates.trustManager()));
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.shutdown();
+    }
+
+    // == 统计 ==
+
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    public long getInjectedErrorCount() {
+        return injectedErrorCount.sum();
+    }
+
+    public long getImageCount() {
+        return imageCount.sum();
+    }
+
+    public long getImageBytes() {
+        return imageBytes.sum();
+    }
+
+    public List<String> getApiDomains() {
+        return apiDomains;
+    }
+
+    public List<String> getHtmlDomains() {
+        return htmlDomains;
+    }
+
+    public String getImageDomain() {
+        return imageDomain;
+    }
+
+    public int getChaptersPerAlbum() {
+        return chaptersPerAlbum;
+    }
+
+    public int getImagesPerChapter() {
+        return imagesPerChapter;
+    }
+
+    public int getSearchPageSize() {
+        return searchPageSize;
+    }
+
+    public int getSearchTotal() {
+        return searchTotal;
+    }
+
+    // == 路由 ==
+
+    private final class FakeDispatcher extends Dispatcher {
+
+        @Override
+        public MockResponse dispatch(RecordedRequest request) {
+            requestCount.increment();
+            String host = hostOf(request);
+            MockResponse response;
+            if (shouldFail(host)) {
+                injectedErrorCount.increment();
+                response = new MockResponse().setResponseCode(503).setBody("Service Unavailable");
+            } else {
+                try {
+                    response = route(host, request);
+                } catch (RuntimeException e) {
+                    logger.warn("FakeJmServer 处理请求 {} {} 失败: {}", host, request.getPath(), e.getMessage());
+                    response = new MockResponse().setResponseCode(500).setBody(String.valueOf(e.getMessage()));
+                }
+            }
+            long latency = latencyMs();
+            if (latency > 0) {
+                response.setHeadersDelay(latency, TimeUnit.MILLISECONDS);
+            }
+            return response;
+        }
+    }
+
+    private MockResponse route(String host, RecordedRequest request) {
+        HttpUrl url = Objects.requireNonNull(request.getRequestUrl());
+        List<String> segments = url.pathSegments();
+        if ("HEAD".equals(request.getMethod())) {
+            return allHosts.contains(host) ? new MockResponse() : notFound();
+        }
+        if (domainServerHosts.contains(host) && DOMAIN_SERVER_PATH.equals(url.encodedPath())) {
+            return text(JmFixtures.domainServerText(apiDomains), "text/plain");
+        }
+        if (apiDomains.contains(host)) {
+            return routeApi(request, url, segments.get(0));
+        }
+        if (htmlDomains.contains(host)) {
+            return routeHtml(url, segments);
+        }
+        if (imageDomains.contains(host) && segments.size() == 4 && "photos".equals(segments.get(1))) {
+            return image(segments.get(2), segments.get(3));
+        }
+        return notFound();
+    }
+
+    private MockResponse routeApi(RecordedRequest request, HttpUrl url, String endpoint) {
+        String id = url.queryParameter("id");
+        String timestamp = timestampOf(request);
+        switch (endpoint) {
+            case JmConstants.API_SETTING:
+                return json(JmFixtures.apiEnvelope(JmFixtures.apiSettingJson(imageDomain), timestamp));
+            case JmConstants.API_ALBUM:
+                return json(JmFixtures.apiEnvelope(JmFixtures.apiAlbumJson(id, chaptersPerAlbum, 6), timestamp));
+            case JmConstants.API_CHAPTER:
+                return json(JmFixtures.apiEnvelope(
+                        JmFixtures.apiPhotoJson(id, chaptersPerAlbum, imagesPerChapter, imageFormat), timestamp));
+            case JmConstants.API_CHAPTER_VIEW_TEMPLATE:
+                return text(JmFixtures.apiScrambleTemplateHtml(JmFixtures.SCRAMBLE_ID), "text/html; charset=utf-8");
+            case JmConstants.API_SEARCH:
+                int page = parsePage(url.queryParameter("page"));
+                return json(JmFixtures.apiEnvelope(JmFixtures.apiSearchJson(searchItems(page), searchTotal,
+                        searchFirstId(page)), timestamp));
+            default:
+                return notFound();
+        }
+    }
+
+    private MockResponse routeHtml(HttpUrl url, List<String> segments) {
+        if (segments.size() >= 2 && "album".equals(segments.get(0))) {
+            return text(JmFixtures.htmlAlbum(segments.get(1), chaptersPerAlbum, 6), "text/html; charset=utf-8");
+        }
+        if (segments.size() >= 2 && "photo".equals(segments.get(0))) {
+            String photoId = segments.get(1);
+            int sort = JmFixtures.albumIdOf(photoId) == null ? 1 : (int) (Long.parseLong(photoId) % 1000);
+            return text(JmFixtures.htmlPhoto(photoId, sort, imagesPerChapter, imageFormat, imageDomain),
+                    "text/html; charset=utf-8");
+        }
+        if (segments.size() >= 2 && "search".equals(segments.get(0))) {
+            int page = parsePage(url.queryParameter("page"));
+            return text(JmFixtures.htmlSearchPage(searchItems(page), searchTotal, searchFirstId(page)),
+                    "text/html; charset=utf-8");
+        }
+        return notFound();
+    }
+
+    private MockResponse image(String photoId, String filename) {
+        JmImage image = new JmImage(photoId, JmFixtures.SCRAMBLE_ID, filename, "", null, 1);
+        int numSegments = JmFixtures.numSegments(image);
+        byte[] bytes = imageCache.computeIfAbsent(numSegments,
+                n -> JmFixtures.scrambledImage(imageWidth, imageHeight, imageFormat, n));
+        imageCount.increment();
+        imageBytes.add(bytes.length);
+        return new MockResponse()
+                .setHeader("Content-Type", "jpg".equals(imageFormat) ? "image/jpeg" : "image/" + imageFormat)
+                .setBody(new Buffer().write(bytes));
+    }
+
+    // == 内部工具 ==
+
+    private boolean shouldFail(String host) {
+        double rate = domainErrorRates.getOrDefault(host, errorRate);
+        return rate > 0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    private long latencyMs() {
+        if (maxLatencyMs <= 0) {
+            return 0;
+        }
+        return minLatencyMs == maxLatencyMs
+                ? minLatencyMs
+                : ThreadLocalRandom.current().nextLong(minLatencyMs, maxLatencyMs + 1);
+    }
+
+    private int searchItems(int page) {
+        int remaining = searchTotal - (page - 1) * searchPageSize;
+        return Math.max(0, Math.min(searchPageSize, remaining));
+    }
+
+    private int searchFirstId(int page) {
+        return 100000 + (page - 1) * searchPageSize;
+    }
+
+    private static int parsePage(String page) {
+        try {
+            return page == null ? 1 : Math.max(1, Integer.parseInt(page));
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+    }
+
+    /**
+     * HTTP/1.1 的 Host 或 HTTP/2 的 :authority，去掉端口
+     */
+    private static String hostOf(RecordedRequest request) {
+        String host = request.getHeader("Host");
+        if (host == null) {
+            host = request.getHeader(":authority");
+        }
+        if (host == null) {
+            return "";
+        }
+        int colon = host.indexOf(':');
+        return (colon >= 0 ? host.substring(0, colon) : host).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 响应加密使用请求头 tokenparam 中的时间戳，格式为 "时间戳,版本号"
+     */
+    private static String timestampOf(RecordedRequest request) {
+        String tokenParam = request.getHeader(JmConstants.APP_HEADER_TOKEN_PARAM);
+        if (tokenParam == null || tokenParam.isEmpty()) {
+            return "";
+        }
+        int comma = tokenParam.indexOf(',');
+        return comma >= 0 ? tokenParam.substring(0, comma) : tokenParam;
+    }
+
+    private static MockResponse json(String body) {
+        return text(body, "application/json; charset=utf-8");
+    }
+
+    private static MockResponse text(String body, String contentType) {
+        return new MockResponse().setHeader("Content-Type", contentType).setBody(body);
+    }
+
+    private static MockResponse notFound() {
+        return new MockResponse().setResponseCode(404).setBody("Not Found");
+    }
+
+    /**
+     * 无论目标地址是什么，都连接到本机的服务器端口
+     */
+    private static final class RedirectingSocketFactory extends SocketFactory {
+
+        private final int port;
+
+        private RedirectingSocketFactory(int port) {
+            this.port = port;
+        }
+
+        @Override
+        public Socket createSocket() {
+            return new Socket() {
+                @Override
+                public void connect(SocketAddress endpoint, int timeout) throws IOException {
+                    super.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), timeout);
+                }
+            };
+        }
+
+        @Override
+        public Socket createSocket(String host, int port) throws IOException {
+            return new Socket(InetAddress.getLoopbackAddress(), this.port);
+        }
+
+        @Override
+        public Socket createSocket(String host, int port, InetAddress localHost, int localPort) throws IOException {
+            return new Socket(InetAddress.getLoopbackAddress(), this.port, localHost, localPort);
+        }
+
+        @Override
+        public Socket createSocket(InetAddress host, int port) throws IOException {
+            return new Socket(InetAddress.getLoopbackAddress(), this.port);
+        }
+
+        @Override
+        public Socket createSocket(InetAddress address, int port, InetAddress localAddress, int localPort) throws IOException {
+            return new Socket(InetAddress.getLoopbackAddress(), this.port, localAddress, localPort);
+        }
+    }
+
+    public static final class Builder {
+        private List<String> apiDomains = List.of("api-1.fake-jm.test", "api-2.fake-jm.test", "api-3.fake-jm.test");
+        private List<String> htmlDomains = List.of("www-1.fake-jm.test", "www-2.fake-jm.test", "www-3.fake-jm.test");
+        private String imageDomain = "cdn.fake-jm.test";
+        private Duration minLatency = Duration.ZERO;
+        private Duration maxLatency = Duration.ZERO;
+        private double errorRate = 0;
+        private final Map<String, Double> domainErrorRates = new HashMap<>();
+        private int chaptersPerAlbum = 3;
+        private int imagesPerChapter = 10;
+        private int imageWidth = 800;
+        private int imageHeight = 1200;
+        private String imageFormat = "webp";
+        private int searchPageSize = 80;
+        private int searchTotal = 800;
+
+        private Builder() {
+        }
+
+        public Builder apiDomains(List<String> domains) {
+            this.apiDomains = lowerCase(domains);
+            return this;
+        }
+
+        public Builder htmlDomains(List<String> domains) {
+            this.htmlDomains = lowerCase(domains);
+            return this;
+        }
+
+        public Builder imageDomain(String domain) {
+            this.imageDomain = domain.toLowerCase(Locale.ROOT);
+            return this;
+        }
+
+        /**
+         * 每个响应在 [min, max] 之间随机延迟后才返回响应头
+         */
+        public Builder latency(Duration min, Duration max) {
+            this.minLatency = Objects.requireNonNull(min);
+            this.maxLatency = Objects.requireNonNull(max);
+            return this;
+        }
+
+        /**
+         * 所有域名返回 503 的比例，取值 [0, 1]
+         */
+        public Builder errorRate(double errorRate) {
+            this.errorRate = checkRate(errorRate);
+            return this;
+        }
+
+        /**
+         * 单个域名返回 503 的比例，覆盖全局比例，可用于模拟故障域名
+         */
+        public Builder domainErrorRate(String domain, double errorRate) {
+            this.domainErrorRates.put(domain.toLowerCase(Locale.ROOT), checkRate(errorRate));
+            return this;
+        }
+
+        /**
+         * 每个本子的章节数，为 1 时本子是单章本
+         */
+        public Builder chaptersPerAlbum(int chapters) {
+            if (chapters < 1) {
+                throw new IllegalArgumentException("Chapters per album must be positive.");
+            }
+            this.chaptersPerAlbum = chapters;
+            return this;
+        }
+
+        public Builder imagesPerChapter(int images) {
+            if (images < 1) {
+                throw new IllegalArgumentException("Images per chapter must be positive.");
+            }
+            this.imagesPerChapter = images;
+            return this;
+        }
+
+        public Builder imageSize(int width, int height) {
+            if (width < 1 || height < 1) {
+                throw new IllegalArgumentException("Image size must be positive.");
+            }
+            this.imageWidth = width;
+            this.imageHeight = height;
+            return this;
+        }
+
+        /**
+         * 图片格式，"webp" 或 "jpg"
+         */
+        public Builder imageFormat(String format) {
+            this.imageFormat = Objects.requireNonNull(format);
+            return this;
+        }
+
+        public Builder search(int pageSize, int total) {
+            if (pageSize < 1 || total < 0) {
+                throw new IllegalArgumentException("Invalid search page size or total.");
+            }
+            this.searchPageSize = pageSize;
+            this.searchTotal = total;
+            return this;
+        }
+
+        public FakeJmServer build() {
+            return new FakeJmServer(this);
+        }
+
+        private static List<String> lowerCase(List<String> domains) {
+            List<String> result = new ArrayList<>(domains.size());
+            for (String domain : domains) {
+                result.add(domain.toLowerCase(Locale.ROOT));
+            }
+            return result;
+        }
+
+        private static double checkRate(double rate) {
+            if (rate < 0 || rate > 1) {
+                throw new IllegalArgumentException("Error rate must be between 0 and 1.");
+            }
+            return rate;
+        }
+    }
+}
@@ -0,0 +1,633 @@
+package io.github.jukomu.jmcomic.testsupport;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import io.github.jukomu.jmcomic.api.model.JmImage;
+import io.github.jukomu.jmcomic.core.constant.JmConstants;
+import io.github.jukomu.jmcomic.core.crypto.JmCryptoTool;
+import io.github.jukomu.jmcomic.core.crypto.JmImageTool;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @author JUKOMU
+ * @Description: 按线上响应结构生成的样本数据
+ * <p>
+ * 样本按线上响应的字段结构和典型规模生成，固定随机种子保证每次生成的数据一致，
+ * 不依赖网络，也不需要在仓库中保存抓取下来的页面和图片。
+ * <p>
+ * 多章节本子的章节 ID 为 {@code 本子ID * 1000 + 序号}，见 {@link #photoId(String, int)}，
+ * 因此本子 ID 需不小于 100000，才能与单章本 ID 区分开。
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+public final class JmFixtures {
+
+    public static final String ALBUM_ID = "500000";
+    public static final String TIMESTAMP = "1760832000";
+    public static final String SCRAMBLE_ID = String.valueOf(JmConstants.SCRAMBLE_220980);
+    // 大于 SCRAMBLE_421926，分割数由 md5 决定
+    public static final String PHOTO_ID = "1064000";
+    public static final String IMAGE_DOMAIN = JmConstants.DEFAULT_IMAGE_DOMAINS.get(0);
+
+    // 章节 ID = 本子 ID * CHAPTER_ID_FACTOR + 序号
+    private static final long CHAPTER_ID_FACTOR = 1000;
+    private static final String[] TAGS = {"全彩", "中文", "长篇", "校园", "恋爱", "奇幻", "冒险", "日常", "搞笑", "剧情"};
+
+    private JmFixtures() {
+    }
+
+    // == ID ==
+
+    /**
+     * 本子第 index 个章节的 ID，单章本的章节 ID 就是本子 ID
+     *
+     * @param albumId 本子 ID
+     * @param index   章节序号，从 1 开始
+     */
+    public static String photoId(String albumId, int index) {
+        return String.valueOf(Long.parseLong(albumId) * CHAPTER_ID_FACTOR + index);
+    }
+
+    /**
+     * 由章节 ID 反推本子 ID，与 {@link #photoId(String, int)} 对应
+     *
+     * @param photoId 章节 ID
+     * @return 本子 ID；photoId 本身是单章本 ID 时返回 null
+     */
+    public static String albumIdOf(String photoId) {
+        long id = Long.parseLong(photoId);
+        return id >= CHAPTER_ID_FACTOR * 100_000L ? String.valueOf(id / CHAPTER_ID_FACTOR) : null;
+    }
+
+    /**
+     * 第 index 页图片的文件名
+     */
+    public static String imageFilename(int index, String format) {
+        return String.format("%05d.%s", index, format);
+    }
+
+    // == API JSON ==
+
+    /**
+     * /album 接口的解密后 JSON
+     *
+     * @param chapters 章节数
+     * @param related  相关本子数
+     */
+    public static String apiAlbumJson(int chapters, int related) {
+        return apiAlbumJson(ALBUM_ID, chapters, related);
+    }
+
+    /**
+     * /album 接口的解密后 JSON
+     *
+     * @param albumId  本子 ID
+     * @param chapters 章节数
+     * @param related  相关本子数
+     */
+    public static String apiAlbumJson(String albumId, int chapters, int related) {
+        Random random = new Random(albumId.hashCode() * 31L + chapters * 7L + related);
+        JsonObject album = new JsonObject();
+        album.addProperty("id", albumId);
+        album.addProperty("name", "测试本子 " + albumId);
+        album.addProperty("addtime", "1697541064");
+        album.addProperty("description", "这是一段用于测试的本子简介。".repeat(8));
+        album.addProperty("total_views", "1234567");
+        album.addProperty("likes", "45678");
+        album.addProperty("comment_total", "321");
+        album.addProperty("series_id", chapters > 1 ? albumId : "0");
+        album.addProperty("liked", false);
+        album.addProperty("is_favorite", false);
+        album.addProperty("is_aids", false);
+        album.addProperty("price", "");
+        album.addProperty("purchased", "");
+        album.add("author", stringArray("作者A", "作者B"));
+        album.add("works", stringArray("作品A"));
+        album.add("actors", stringArray("角色A", "角色B", "角色C"));
+        album.add("tags", randomTags(random, 8));
+        album.add("series", chapters > 1 ? series(albumId, chapters) : new JsonArray());
+
+        JsonArray relatedList = new JsonArray();
+        for (int i = 0; i < related; i++) {
+            relatedList.add(albumMeta(random, 600000 + i));
+        }
+        album.add("related_list", relatedList);
+        return album.toString();
+    }
+
+    /**
+     * /chapter 接口的解密后 JSON
+     *
+     * @param photoId  章节 ID
+     * @param chapters 所属本子的章节数
+     * @param images   图片数
+     * @param format   图片格式，例如 "webp"
+     */
+    public static String apiPhotoJson(String photoId, int chapters, int images, String format) {
+        String albumId = albumIdOf(photoId);
+        JsonObject photo = new JsonObject();
+        photo.addProperty("id", photoId);
+        photo.addProperty("name", "测试章节 " + photoId);
+        photo.addProperty("series_id", albumId == null ? "0" : albumId);
+        photo.addProperty("tags", String.join(" ", TAGS));
+        photo.addProperty("addtime", "1697541064");
+        photo.add("series", albumId == null ? new JsonArray() : series(albumId, chapters));
+        JsonArray imageArray = new JsonArray();
+        for (int i = 1; i <= images; i++) {
+            imageArray.add(imageFilename(i, format));
+        }
+        photo.add("images", imageArray);
+        return photo.toString();
+    }
+
+    /**
+     * /search 接口的解密后 JSON
+     *
+     * @param items 本页条目数
+     */
+    public static String apiSearchJson(int items) {
+        return apiSearchJson(items, items * 50, 400000);
+    }
+
+    /**
+     * /search 接口的解密后 JSON
+     *
+     * @param items   本页条目数
+     * @param total   结果总数
+     * @param firstId 本页第一个本子的 ID
+     */
+    public static String apiSearchJson(int items, int total, int firstId) {
+        Random random = new Random(firstId);
+        JsonObject page = new JsonObject();
+        page.addProperty("search_query", "benchmark");
+        page.addProperty("total", String.valueOf(total));
+        JsonArray content = new JsonArray();
+        for (int i = 0; i < items; i++) {
+            content.add(albumMeta(random, firstId + i));
+        }
+        page.add("content", content);
+        return page.toString();
+    }
+
+    /**
+     * /forum 接口的解密后 JSON
+     *
+     * @param comments 评论数
+     * @param replies  每条评论的回复数
+     */
+    public static String apiCommentJson(int comments, int replies) {
+        JsonObject page = new JsonObject();
+        page.addProperty("total", String.valueOf(comments * 10));
+        JsonArray list = new JsonArray();
+        for (int i = 0; i < comments; i++) {
+            JsonObject comment = comment(i, "");
+            JsonArray replyArray = new JsonArray();
+            for (int j = 0; j < replies; j++) {
+                replyArray.add(comment(i * 100 + j, String.valueOf(i)));
+            }
+            comment.add("replys", replyArray);
+            list.add(comment);
+        }
+        page.add("list", list);
+        return page.toString();
+    }
+
+    /**
+     * /setting 接口的解密后 JSON
+     *
+     * @param imageHost 下发的图片域名
+     */
+    public static String apiSettingJson(String imageHost) {
+        JsonObject setting = new JsonObject();
+        setting.addProperty("jm3_version", JmConstants.APP_VERSION);
+        setting.addProperty("img_host", JmConstants.PROTOCOL_HTTPS + imageHost);
+        return setting.toString();
+    }
+
+    /**
+     * /chapter_view_template 接口返回的网页片段，只包含 scramble_id
+     */
+    public static String apiScrambleTemplateHtml(String scrambleId) {
+        return "<!DOCTYPE html><html><head><script>\nvar aid = 0;\nvar scramble_id = " + scrambleId
+                + ";\n</script></head><body></body></html>";
+    }
+
+    /**
+     * 把解密后的数据包装成 API 响应体 {"code":200,"data":"..."}
+     *
+     * @param plainText 解密后的数据
+     * @param timestamp 请求头 tokenparam 中的时间戳
+     */
+    public static String apiEnvelope(String plainText, String timestamp) {
+        JsonObject envelope = new JsonObject();
+        envelope.addProperty("code", 200);
+        envelope.addProperty("data", encryptApiData(plainText, timestamp, JmConstants.APP_DATA_SECRET));
+        return envelope.toString();
+    }
+
+    /**
+     * 域名服务器返回的加密域名列表
+     */
+    public static String domainServerText(List<String> domains) {
+        JsonObject root = new JsonObject();
+        root.add("Server", stringArray(domains.toArray(new String[0])));
+        return encryptApiData(root.toString(), "", JmConstants.API_DOMAIN_SERVER_SECRET);
+    }
+
+    /**
+     * 按 API 的方式加密明文，得到与线上响应 data 字段相同格式的密文
+     */
+    public static String encryptApiData(String plainText, String timestamp, String secret) {
+        try {
+            byte[] key = JmCryptoTool.md5Hex(timestamp + secret).getBytes(StandardCharsets.UTF_8);
+            Cipher cipher = Cipher.getInstance("AES/ECB/PKCS5Padding");
+            cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key, "AES"));
+            return Base64.getEncoder().encodeToString(cipher.doFinal(plainText.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to encrypt fixture", e);
+        }
+    }
+
+    // == HTML ==
+
+    /**
+     * 本子详情页
+     *
+     * @param chapters 章节数
+     * @param related  相关本子数
+     */
+    public static String htmlAlbum(int chapters, int related) {
+        return htmlAlbum(ALBUM_ID, chapters, related);
+    }
+
+    /**
+     * 本子详情页
+     *
+     * @param albumId  本子 ID
+     * @param chapters 章节数
+     * @param related  相关本子数
+     */
+    public static String htmlAlbum(String albumId, int chapters, int related) {
+        StringBuilder sb = new StringBuilder(64 * 1024);
+        sb.append("<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>测试本子 ").append(albumId)
+                .append(" | 禁漫天堂</title>");
+        appendBoilerplateHead(sb);
+        sb.append("<script>var scramble_id = ").append(SCRAMBLE_ID).append(";\nvar aid = ").append(albumId).append(";</script>");
+        sb.append("</head><body>");
+        appendNavigation(sb);
+        sb.append("<input type=\"hidden\" id=\"album_id\" value=\"").append(albumId).append("\">");
+        sb.append("<div class=\"container\"><div class=\"row\"><div class=\"col-lg-7\">");
+        sb.append("<h1 class=\"book-name\" id=\"book-name\">测试本子 ").append(albumId).append("</h1>");
+        sb.append("<div class=\"p-t-5 p-b-5\">禁漫车：JM").append(albumId).append("</div>");
+        sb.append("<h2 class=\"p-t-5 p-b-5\">叙述：").append("这是一段用于测试的本子简介。".repeat(8)).append("</h2>");
+        sb.append("<div class=\"p-t-5 p-b-5\"><span itemprop=\"datePublished\">上架日期 : 2023-10-17</span>");
+        sb.append("<span itemprop=\"dateModified\">更新日期 : 2024-05-20</span></div>");
+        sb.append("<div class=\"p-t-5 p-b-5\">页数：<span class=\"pagecount\">").append(chapters * 24).append("</span></div>");
+        sb.append("<span>\n<span>123.4K</span>\n <span>次觀看</span>\n</span>");
+        sb.append("<span id=\"albim_likes_").append(albumId).append("\">4.5K</span>");
+        appendTagLikeRow(sb, "author", "作者A", "作者B");
+        appendTagLikeRow(sb, "works", "作品A");
+        appendTagLikeRow(sb, "actor", "角色A", "角色B", "角色C");
+        appendTagLikeRow(sb, "tags", TAGS);
+        sb.append("<a id=\"favorite_album_").append(albumId).append("\"><i class=\"far fa-bookmark\" style=\"color: #000000;\"></i></a>");
+        sb.append("<a id=\"love_likes_").append(albumId).append("\"><i class=\"far fa-heart\"></i></a>");
+        sb.append("</div></div>");
+
+        if (chapters > 1) {
+            sb.append("<div class=\"episode-list-box\"><ul class=\"episode-ul\">");
+            // 页面上的章节是倒序排列的
+            for (int i = chapters; i >= 1; i--) {
+                String photoId = photoId(albumId, i);
+                sb.append("<li><a data-album=\"").append(photoId).append("\" href=\"/photo/").append(photoId)
+                        .append("\"><div class=\"episode\"><span>").append(i).append("</span>第").append(i)
+                        .append("话 章节标题").append(i).append("</div></a></li>");
+            }
+            sb.append("</ul></div>");
+        }
+
+        sb.append("<div id=\"related_comics\">");
+        for (int i = 0; i < related; i++) {
+            int relatedId = 600000 + i;
+            sb.append("<div class=\"p-b-15\"><a href=\"/album/").append(relatedId).append("/\"><img src=\"https://")
+                    .append(IMAGE_DOMAIN).append("/media/albums/").append(relatedId).append("_3x4.jpg\"></a>")
+                    .append("<h3>相关本子 ").append(relatedId).append("</h3>")
+                    .append("<div class=\"title-truncate\"><a href=\"/search/photos?main_tag=2&search_query=x\">作者")
+                    .append(i).append("</a></div><div class=\"tags\">");
+            for (int t = 0; t < 4; t++) {
+                sb.append("<a class=\"tag\" href=\"/search/photos?search_query=").append(TAGS[(i + t) % TAGS.length])
+                        .append("\">").append(TAGS[(i + t) % TAGS.length]).append("</a>");
+            }
+            sb.append("</div></div>");
+        }
+        sb.append("</div>");
+        sb.append("<div id=\"total_video_comments\">321</div>");
+        sb.append("</div>");
+        appendFooter(sb);
+        sb.append("</body></html>");
+        return sb.toString();
+    }
+
+    /**
+     * 章节阅读页
+     *
+     * @param pages 图片数
+     */
+    public static String htmlPhoto(int pages) {
+        return htmlPhoto(PHOTO_ID, 1, pages, "webp", IMAGE_DOMAIN);
+    }
+
+    /**
+     * 章节阅读页
+     *
+     * @param photoId     章节 ID
+     * @param sort        章节序号
+     * @param pages       图片数
+     * @param format      图片格式，例如 "webp"
+     * @param imageDomain 图片域名
+     */
+    public static String htmlPhoto(String photoId, int sort, int pages, String format, String imageDomain) {
+        String albumId = albumIdOf(photoId);
+        StringBuilder pageArr = new StringBuilder("[");
+        for (int i = 1; i <= pages; i++) {
+            if (i > 1) {
+                pageArr.append(',');
+            }
+            pageArr.append('"').append(imageFilename(i, format)).append('"');
+        }
+        pageArr.append(']');
+
+        StringBuilder sb = new StringBuilder(64 * 1024);
+        sb.append("<!DOCTYPE html><html><head><meta charset=\"utf-8\">");
+        sb.append("<title>测试章节 ").append(photoId).append(" | 禁漫天堂</title>");
+        sb.append("<meta name=\"keywords\" content=\"").append(String.join(",", TAGS)).append("\">");
+        appendBoilerplateHead(sb);
+        sb.append("</head><body>");
+        appendNavigation(sb);
+        sb.append("<div class=\"container\">");
+        for (int i = 0; i < pages; i++) {
+            String filename = imageFilename(i + 1, format);
+            sb.append("<div class=\"center scramble-page\" id=\"").append(filename).append("\">")
+                    .append("<img src=\"https://").append(imageDomain).append("/media/albums/blank.jpg\" ")
+                    .append("data-original=\"https://").append(imageDomain).append("/media/photos/").append(photoId)
+                    .append('/').append(filename).append("?v=1697541064\" id=\"album_photo_").append(i)
+                    .append("\" data-page=\"").append(i).append("\" class=\"lazy_img img-responsive-mw\"></div>");
+        }
+        sb.append("</div>");
+        appendFooter(sb);
+        sb.append("<script>\nvar aid = ").append(photoId).append(";\nvar scramble_id = ").append(SCRAMBLE_ID)
+                .append(";\nvar series_id = ").append(albumId == null ? "0" : albumId)
+                .append(";\nvar sort = ").append(sort)
+                .append(";\nvar page_arr = ").append(pageArr).append(";\n</script>");
+        sb.append("</body></html>");
+        return sb.toString();
+    }
+
+    /**
+     * 搜索结果页
+     *
+     * @param items   本页条目数
+     * @param total   结果总数
+     * @param firstId 本页第一个本子的 ID
+     */
+    public static String htmlSearchPage(int items, int total, int firstId) {
+        StringBuilder sb = new StringBuilder(64 * 1024);
+        sb.append("<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>搜索 | 禁漫天堂</title>");
+        appendBoilerplateHead(sb);
+        sb.append("</head><body>");
+        appendNavigation(sb);
+        sb.append("<div class=\"container\"><div class=\"well\"><span class=\"text-white\">").append(total)
+                .append("</span> 搜索结果</div><div class=\"row\">");
+        for (int i = 0; i < items; i++) {
+            int id = firstId + i;
+            sb.append("<div class=\"col-xs-6 col-sm-6 col-md-4 col-lg-3 list-col\"><div class=\"p-b-15\">")
+                    .append("<div class=\"thumb-overlay\"><a href=\"/album/").append(id).append("/\">")
+                    .append("<img src=\"https://").append(IMAGE_DOMAIN).append("/media/albums/").append(id)
+                    .append("_3x4.jpg\" title=\"本子标题 ").append(id).append("\"></a></div>")
+                    .append("<div class=\"title-truncate\"><a href=\"/search/photos?main_tag=2&search_query=x\">作者")
+                    .append(id % 100).append("</a></div><div class=\"title-truncate tags\">");
+            for (int t = 0; t < 4; t++) {
+                String tag = TAGS[(i + t) % TAGS.length];
+                sb.append("<a class=\"tag\" href=\"/search/photos?search_query=").append(tag).append("\">")
+                        .append(tag).append("</a>");
+            }
+            sb.append("</div></div></div>");
+        }
+        sb.append("</div></div>");
+        appendFooter(sb);
+        sb.append("</body></html>");
+        return sb.toString();
+    }
+
+    // == 图片 ==
+
+    /**
+     * 生成一张按 JM 规则切割打乱后的图片
+     *
+     * @param format "jpg" 或 "webp"
+     * @param width  宽
+     * @param height 高
+     */
+    public static byte[] scrambledImage(String format, int width, int height) {
+        return scrambledImage(width, height, format, numSegments(image(format)));
+    }
+
+    /**
+     * 生成一张切成 numSegments 块并打乱后的图片，numSegments 为 0 时不打乱
+     *
+     * @param width       宽
+     * @param height      高
+     * @param format      "jpg" 或 "webp"
+     * @param numSegments 分割数，可由 {@link #numSegments(JmImage)} 计算
+     */
+    public static byte[] scrambledImage(int width, int height, String format, int numSegments) {
+        BufferedImage original = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = original.createGraphics();
+        g.setPaint(new GradientPaint(0, 0, new Color(250, 240, 220), width, height, new Color(60, 80, 120)));
+        g.fillRect(0, 0, width, height);
+        g.setColor(Color.DARK_GRAY);
+        g.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 28));
+        for (int y = 40; y < height; y += 60) {
+            g.drawString("JMComic fixture line " + y, 20, y);
+        }
+        g.dispose();
+
+        BufferedImage output = original;
+        if (numSegments > 0 && height >= numSegments) {
+            // 按解密算法的逆过程打乱：解密后第 i 块来自原图自底向上的第 i 块
+            output = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D sg = output.createGraphics();
+            int segmentHeight = height / numSegments;
+            int remainder = height % numSegments;
+            int currentY = 0;
+            for (int i = 0; i < numSegments; i++) {
+                int hSrc = segmentHeight + (i == 0 ? remainder : 0);
+                int yDst = (i == 0) ? height - hSrc : height - (segmentHeight * (i + 1)) - remainder;
+                sg.drawImage(original.getSubimage(0, currentY, width, hSrc), 0, yDst, null);
+                currentY += hSrc;
+            }
+            sg.dispose();
+        }
+
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            if (!ImageIO.write(output, format, out)) {
+                throw new IllegalStateException("No ImageIO writer for format: " + format);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 图片的分割数，与客户端解密时的计算一致
+     */
+    public static int numSegments(JmImage image) {
+        return JmImageTool.calculateNumSegments(Long.parseLong(image.scrambleId()), Long.parseLong(image.photoId()),
+                image.getFilenameWithoutSuffix());
+    }
+
+    /**
+     * 与 {@link #scrambledImage(String, int, int)} 对应的图片元数据
+     */
+    public static JmImage image(String format) {
+        String filename = imageFilename(1, format);
+        return new JmImage(PHOTO_ID, SCRAMBLE_ID, filename,
+                "https://" + IMAGE_DOMAIN + "/media/photos/" + PHOTO_ID + "/" + filename, "v=1697541064", 1);
+    }
+
+    // == 内部工具 ==
+
+    private static JsonArray series(String albumId, int chapters) {
+        JsonArray series = new JsonArray();
+        for (int i = 1; i <= chapters; i++) {
+            JsonObject chapter = new JsonObject();
+            chapter.addProperty("id", photoId(albumId, i));
+            chapter.addProperty("name", "第" + i + "话");
+            chapter.addProperty("sort", String.valueOf(i));
+            series.add(chapter);
+        }
+        return series;
+    }
+
+    private static JsonObject albumMeta(Random random, int id) {
+        JsonObject meta = new JsonObject();
+        meta.addProperty("id", String.valueOf(id));
+        meta.addProperty("author", "作者" + random.nextInt(1000));
+        meta.addProperty("name", "本子标题 " + id + " " + "标题".repeat(1 + random.nextInt(6)));
+        meta.addProperty("description", "");
+        meta.addProperty("image", "");
+        JsonObject category = new JsonObject();
+        category.addProperty("id", "1");
+        category.addProperty("title", "同人");
+        meta.add("category", category);
+        JsonObject categorySub = new JsonObject();
+        categorySub.addProperty("id", "11");
+        categorySub.addProperty("title", "中文");
+        meta.add("category_sub", categorySub);
+        meta.addProperty("liked", false);
+        meta.addProperty("is_favorite", false);
+        meta.addProperty("update_at", 1697541064 + id);
+        return meta;
+    }
+
+    private static JsonObject comment(int index, String parentId) {
+        JsonObject comment = new JsonObject();
+        comment.addProperty("AID", ALBUM_ID);
+        comment.addProperty("BID", "");
+        comment.addProperty("CID", String.valueOf(9000000 + index));
+        comment.addProperty("UID", String.valueOf(100000 + index));
+        comment.addProperty("username", "user" + index);
+        comment.addProperty("nickname", "用户" + index);
+        comment.addProperty("likes", String.valueOf(index % 17));
+        comment.addProperty("gender", "Male");
+        comment.addProperty("update_at", "1697541064");
+        comment.addProperty("addtime", "Oct 17, 2023");
+        comment.addProperty("parent_CID", parentId);
+        comment.addProperty("photo", index % 3 == 0 ? "nopic-Male.gif" : "");
+        comment.addProperty("spoiler", "0");
+        comment.addProperty("content", "<div class=\"comment\">" + "评论内容".repeat(1 + index % 10)
+                + "<br><img src=\"/static/emoji/1.png\"></div>");
+        JsonObject expinfo = new JsonObject();
+        expinfo.addProperty("level_name", "中级会员");
+        expinfo.addProperty("level", 3);
+        expinfo.addProperty("nextLevelExp", 2000);
+        expinfo.addProperty("exp", "1200");
+        expinfo.addProperty("expPercent", 60.0);
+        expinfo.addProperty("uid", String.valueOf(100000 + index));
+        expinfo.add("badges", new JsonArray());
+        comment.add("expinfo", expinfo);
+        return comment;
+    }
+
+    private static JsonArray randomTags(Random random, int count) {
+        JsonArray tags = new JsonArray();
+        for (int i = 0; i < count; i++) {
+            tags.add(TAGS[random.nextInt(TAGS.length)]);
+        }
+        return tags;
+    }
+
+    private static JsonArray stringArray(String... values) {
+        JsonArray array = new JsonArray();
+        for (String value : values) {
+            array.add(value);
+        }
+        return array;
+    }
+
+    private static void appendTagLikeRow(StringBuilder sb, String type, String... values) {
+        sb.append("<div class=\"tag-block\"><span data-type=\"").append(type).append("\">");
+        for (String value : values) {
+            sb.append("<a class=\"btn\" href=\"/search/photos?search_query=").append(value).append("\">")
+                    .append(value).append("</a>");
+        }
+        sb.append("</span></div>");
+    }
+
+    /**
+     * 线上页面头部有大量样式、统计和广告脚本，解析开销中这部分不可忽略
+     */
+    private static void appendBoilerplateHead(StringBuilder sb) {
+        for (int i = 0; i < 12; i++) {
+            sb.append("<link rel=\"stylesheet\" href=\"/static/css/style").append(i).append(".css?v=1\">");
+            sb.append("<script src=\"/static/js/lib").append(i).append(".js?v=1\"></script>");
+        }
+        for (int i = 0; i < 6; i++) {
+            sb.append("<script>(function(){var t").append(i).append("=").append(i)
+                    .append(";window.dataLayer=window.dataLayer||[];dataLayer.push({event:'pv',id:t").append(i)
+                    .append("});})();</script>");
+        }
+    }
+
+    private static void appendNavigation(StringBuilder sb) {
+        sb.append("<nav class=\"navbar\"><ul>");
+        for (int i = 0; i < 40; i++) {
+            sb.append("<li><a href=\"/albums/").append(i).append("\">导航 ").append(i).append("</a></li>");
+        }
+        sb.append("</ul></nav>");
+    }
+
+    private static void appendFooter(StringBuilder sb) {
+        sb.append("<footer><div class=\"row\">");
+        for (int i = 0; i < 30; i++) {
+            sb.append("<div class=\"col-xs-6\"><a href=\"/about/").append(i).append("\">页脚链接 ").append(i)
+                    .append("</a></div>");
+        }
+        sb.append("</div></footer>");
+    }
+}
@@ -0,0 +1,452 @@
+package io.github.jukomu.jmcomic.testsupport.load;
+
+import io.github.jukomu.jmcomic.api.download.DownloadProgress;
+import io.github.jukomu.jmcomic.api.download.DownloadResult;
+import io.github.jukomu.jmcomic.api.download.enums.TaskState;
+import io.github.jukomu.jmcomic.api.download.task.BaseDownloadTask;
+import io.github.jukomu.jmcomic.api.download.task.TaskObserver;
+import io.github.jukomu.jmcomic.api.enums.ClientType;
+import io.github.jukomu.jmcomic.api.model.JmAlbum;
+import io.github.jukomu.jmcomic.api.model.JmSearchPage;
+import io.github.jukomu.jmcomic.api.model.SearchQuery;
+import io.github.jukomu.jmcomic.core.JmComic;
+import io.github.jukomu.jmcomic.core.client.AbstractJmClient;
+import io.github.jukomu.jmcomic.core.config.JmConfiguration;
+import io.github.jukomu.jmcomic.testsupport.FakeJmServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * @author JUKOMU
+ * @Description: 针对 {@link FakeJmServer} 的压测驱动
+ * <p>
+ * 以固定并发重复执行一个场景，直到达到时长或操作数上限，统计吞吐量和 p50/p99 延迟。
+ * 下载场景每次操作使用不同的本子 ID，避免命中客户端缓存；下载的文件在每次操作后删除。
+ * <p>
+ * 可以在代码中通过 {@link #builder()} 使用，也可以通过 {@link #main(String[])} 在命令行或 CI 中运行，
+ * 参数见 {@link #main(String[])}。
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+public final class JmLoadDriver {
+
+    private static final Logger logger = LoggerFactory.getLogger(JmLoadDriver.class);
+
+    // 单个下载任务的最长等待时间，超时计为失败
+    private static final long TASK_TIMEOUT_MINUTES = 5;
+    // 多章节本子的章节 ID 为本子 ID * 1000 + 序号，本子 ID 从这里开始递增
+    private static final long FIRST_ALBUM_ID = 100000;
+
+    private final FakeJmServer server;
+    private final LoadScenario scenario;
+    private final ClientType clientType;
+    private final int concurrency;
+    private final Duration duration;
+    private final long maxOperations;
+    private final int warmupOperations;
+    private final Path outputDirectory;
+
+    private final AtomicLong nextAlbumId = new AtomicLong(FIRST_ALBUM_ID);
+    private final AtomicLong nextSearchPage = new AtomicLong();
+
+    private JmLoadDriver(Builder builder) {
+        this.server = Objects.requireNonNull(builder.server, "server");
+        this.scenario = builder.scenario;
+        this.clientType = builder.clientType;
+        this.concurrency = builder.concurrency;
+        this.duration = builder.duration;
+        this.maxOperations = builder.maxOperations;
+        this.warmupOperations = builder.warmupOperations;
+        this.outputDirectory = builder.outputDirectory;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 执行压测，服务器需要已经启动
+     *
+     * @return 压测结果
+     */
+    public LoadReport run() throws IOException, InterruptedException {
+        JmConfiguration config = server.configure(new JmConfiguration.Builder().clientType(clientType)).build();
+        boolean tempDirectory = outputDirectory == null;
+        Path directory = tempDirectory ? Files.createTempDirectory("jmcomic-load") : outputDirectory;
+        AbstractJmClient client = clientType == ClientType.API
+                ? JmComic.newApiClient(config)
+                : JmComic.newHtmlClient(config);
+        try {
+            for (int i = 0; i < warmupOperations; i++) {
+                try {
+                    execute(client, directory);
+                } catch (Exception e) {
+                    logger.warn("预热操作失败: {}", e.toString());
+                }
+            }
+
+            long requestsBefore = server.getRequestCount();
+            long injectedBefore = server.getInjectedErrorCount();
+            LatencyRecorder latencies = new LatencyRecorder();
+            LongAdder errors = new LongAdder();
+            LongAdder items = new LongAdder();
+            LongAdder bytes = new LongAdder();
+            AtomicLong remaining = new AtomicLong(maxOperations);
+            long start = System.nanoTime();
+            long deadline = start + duration.toNanos();
+
+            ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(workers.submit(() -> {
+                    while (System.nanoTime() < deadline && remaining.getAndDecrement() > 0) {
+                        long opStart = System.nanoTime();
+                        try {
+                            OperationResult result = execute(client, directory);
+                            latencies.record(System.nanoTime() - opStart);
+                            items.add(result.items);
+                            bytes.add(result.bytes);
+                            if (!result.success) {
+                                errors.increment();
+                            }
+                        } catch (Exception e) {
+                            latencies.record(System.nanoTime() - opStart);
+                            errors.increment();
+                            logger.warn("压测操作失败: {}", e.toString());
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    logger.error("压测线程异常退出", e.getCause());
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+            workers.shutdown();
+
+            return new LoadReport(scenario, clientType, concurrency, elapsed, errors.sum(), items.sum(), bytes.sum(),
+                    latencies, server.getRequestCount() - requestsBefore,
+                    server.getInjectedErrorCount() - injectedBefore);
+        } finally {
+            client.close();
+            if (tempDirectory) {
+                deleteRecursively(directory);
+            }
+        }
+    }
+
+    private OperationResult execute(AbstractJmClient client, Path directory) throws Exception {
+        switch (scenario) {
+            case DOWNLOAD_ALBUM: {
+                String albumId = String.valueOf(nextAlbumId.getAndIncrement());
+                Path target = directory.resolve(albumId);
+                try {
+                    JmAlbum album = client.getAlbum(albumId);
+                    DownloadResult result = client.downloadAlbum(album, target);
+                    return downloaded(result);
+                } finally {
+                    deleteRecursively(target);
+                }
+            }
+            case DOWNLOAD_TASK: {
+                String albumId = String.valueOf(nextAlbumId.getAndIncrement());
+                Path target = directory.resolve(albumId);
+                try {
+                    JmAlbum album = client.getAlbum(albumId);
+                    BaseDownloadTask task = client.createDownloadTask(album, target);
+                    CountDownLatch finished = new CountDownLatch(1);
+                    task.addObserver(new TerminalStateObserver(task, finished));
+                    client.downloadManager().submit(task);
+                    if (!finished.await(TASK_TIMEOUT_MINUTES, TimeUnit.MINUTES)) {
+                        client.downloadManager().cancel(task.getTaskId());
+                        throw new TimeoutException("Download task " + task.getTaskId() + " did not finish in time.");
+                    }
+                    return downloaded(task.getCurrentDownloadResult());
+                } finally {
+                    deleteRecursively(target);
+                }
+            }
+            case SEARCH_CRAWL: {
+                // 所有线程共同按页码顺序循环抓取，抓到最后一页后从第一页重新开始
+                int pageNumber = pageOf(nextSearchPage.getAndIncrement());
+                JmSearchPage page = client.search(new SearchQuery.Builder().text("load").page(pageNumber).build());
+                return new OperationResult(!page.content().isEmpty(), page.content().size(), 0);
+            }
+            default:
+                throw new IllegalStateException("Unknown scenario: " + scenario);
+        }
+    }
+
+    private int pageOf(long sequence) {
+        int pageSize = server.getSearchPageSize();
+        int pages = Math.max(1, (server.getSearchTotal() + pageSize - 1) / pageSize);
+        return (int) (sequence % pages) + 1;
+    }
+
+    private static OperationResult downloaded(DownloadResult result) throws IOException {
+        long bytes = 0;
+        for (Path file : result.getSuccessfulFiles()) {
+            bytes += Files.size(file);
+        }
+        return new OperationResult(result.isAllSuccess(), result.getSuccessfulFiles().size(), bytes);
+    }
+
+    private static void deleteRecursively(Path path) {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> walk = Files.walk(path)) {
+            walk.sorted(Comparator.reverseOrder()).forEach(p -> {
+                try {
+                    Files.deleteIfExists(p);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException | UncheckedIOException e) {
+            logger.warn("删除压测输出 {} 失败: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * 命令行入口，参数格式为 --name=value：
+     * <ul>
+     *     <li>--scenario：DOWNLOAD_ALBUM、DOWNLOAD_TASK 或 SEARCH_CRAWL，默认 DOWNLOAD_ALBUM</li>
+     *     <li>--client：API 或 HTML，默认 API</li>
+     *     <li>--concurrency：并发数，默认 4</li>
+     *     <li>--duration：持续秒数，默认 30</li>
+     *     <li>--operations：操作数上限，默认不限</li>
+     *     <li>--warmup：预热操作数，默认 2</li>
+     *     <li>--latency-ms：服务器延迟范围，例如 20-80，默认 0</li>
+     *     <li>--error-rate：服务器返回 503 的比例，默认 0</li>
+     *     <li>--chapters、--images：每本章节数和每章图片数，默认 3 和 10</li>
+     *     <li>--image-size、--image-format：图片尺寸和格式，默认 800x1200 和 webp</li>
+     *     <li>--report：把 JSON 格式的结果写入该文件</li>
+     *     <li>--min-ops-per-sec、--max-error-rate：结果低于/高于阈值时以状态码 1 退出</li>
+     * </ul>
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseArgs(args);
+        FakeJmServer.Builder serverBuilder = FakeJmServer.builder()
+                .errorRate(Double.parseDouble(options.getOrDefault("error-rate", "0")))
+                .chaptersPerAlbum(Integer.parseInt(options.getOrDefault("chapters", "3")))
+                .imagesPerChapter(Integer.parseInt(options.getOrDefault("images", "10")))
+                .imageFormat(options.getOrDefault("image-format", "webp"));
+        String latency = options.get("latency-ms");
+        if (latency != null) {
+            String[] range = latency.split("-");
+            long min = Long.parseLong(range[0].trim());
+            long max = range.length > 1 ? Long.parseLong(range[1].trim()) : min;
+            serverBuilder.latency(Duration.ofMillis(min), Duration.ofMillis(max));
+        }
+        String imageSize = options.get("image-size");
+        if (imageSize != null) {
+            String[] size = imageSize.toLowerCase(Locale.ROOT).split("x");
+            serverBuilder.imageSize(Integer.parseInt(size[0].trim()), Integer.parseInt(size[1].trim()));
+        }
+
+        LoadReport report;
+        try (FakeJmServer server = serverBuilder.build().start()) {
+            Builder driverBuilder = builder()
+                    .server(server)
+                    .scenario(LoadScenario.valueOf(options.getOrDefault("scenario", "DOWNLOAD_ALBUM").toUpperCase(Locale.ROOT)))
+                    .clientType(ClientType.valueOf(options.getOrDefault("client", "API").toUpperCase(Locale.ROOT)))
+                    .concurrency(Integer.parseInt(options.getOrDefault("concurrency", "4")))
+                    .duration(Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30"))))
+                    .warmupOperations(Integer.parseInt(options.getOrDefault("warmup", "2")));
+            if (options.containsKey("operations")) {
+                driverBuilder.maxOperations(Long.parseLong(options.get("operations")));
+            }
+            report = driverBuilder.build().run();
+        }
+
+        System.out.println(report);
+        String reportFile = options.get("report");
+        if (reportFile != null) {
+            Path reportPath = Paths.get(reportFile);
+            if (reportPath.getParent() != null) {
+                Files.createDirectories(reportPath.getParent());
+            }
+            Files.writeString(reportPath, report.toJson(), StandardCharsets.UTF_8);
+        }
+
+        List<String> violations = new ArrayList<>();
+        if (options.containsKey("min-ops-per-sec")
+                && report.getOperationsPerSecond() < Double.parseDouble(options.get("min-ops-per-sec"))) {
+            violations.add(String.format(Locale.ROOT, "throughput %.2f ops/s is below %s",
+                    report.getOperationsPerSecond(), options.get("min-ops-per-sec")));
+        }
+        if (options.containsKey("max-error-rate")
+                && report.getErrorRate() > Double.parseDouble(options.get("max-error-rate"))) {
+            violations.add(String.format(Locale.ROOT, "error rate %.4f is above %s",
+                    report.getErrorRate(), options.get("max-error-rate")));
+        }
+        if (!violations.isEmpty()) {
+            System.err.println("Load test failed: " + String.join("; ", violations));
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    /**
+     * 等待根任务进入终态
+     */
+    private static final class TerminalStateObserver implements TaskObserver {
+        private final BaseDownloadTask root;
+        private final CountDownLatch finished;
+
+        private TerminalStateObserver(BaseDownloadTask root, CountDownLatch finished) {
+            this.root = root;
+            this.finished = finished;
+        }
+
+        @Override
+        public void onStateChanged(BaseDownloadTask task, TaskState newState) {
+            if (task == root && newState.isTerminal()) {
+                finished.countDown();
+            }
+        }
+
+        @Override
+        public void onProgressUpdate(BaseDownloadTask task, DownloadProgress progress) {
+        }
+
+        @Override
+        public void onFinished(BaseDownloadTask task, DownloadResult result) {
+        }
+
+        @Override
+        public void onError(BaseDownloadTask task, Exception e) {
+        }
+    }
+
+    private static final class OperationResult {
+        private final boolean success;
+        private final long items;
+        private final long bytes;
+
+        private OperationResult(boolean success, long items, long bytes) {
+            this.success = success;
+            this.items = items;
+            this.bytes = bytes;
+        }
+    }
+
+    public static final class Builder {
+        private FakeJmServer server;
+        private LoadScenario scenario = LoadScenario.DOWNLOAD_ALBUM;
+        private ClientType clientType = ClientType.API;
+        private int concurrency = 4;
+        private Duration duration = Duration.ofSeconds(30);
+        private long maxOperations = Long.MAX_VALUE;
+        private int warmupOperations = 2;
+        private Path outputDirectory;
+
+        private Builder() {
+        }
+
+        /**
+         * 已启动的模拟服务器
+         */
+        public Builder server(FakeJmServer server) {
+            this.server = server;
+            return this;
+        }
+
+        public Builder scenario(LoadScenario scenario) {
+            this.scenario = Objects.requireNonNull(scenario);
+            return this;
+        }
+
+        public Builder clientType(ClientType clientType) {
+            this.clientType = Objects.requireNonNull(clientType);
+            return this;
+        }
+
+        public Builder concurrency(int concurrency) {
+            if (concurrency < 1) {
+                throw new IllegalArgumentException("Concurrency must be positive.");
+            }
+            this.concurrency = concurrency;
+            return this;
+        }
+
+        /**
+         * 压测时长，与操作数上限先到者为准
+         */
+        public Builder duration(Duration duration) {
+            this.duration = Objects.requireNonNull(duration);
+            return this;
+        }
+
+        /**
+         * 操作数上限，与压测时长先到者为准
+         */
+        public Builder maxOperations(long maxOperations) {
+            if (maxOperations < 1) {
+                throw new IllegalArgumentException("Max operations must be positive.");
+            }
+            this.maxOperations = maxOperations;
+            return this;
+        }
+
+        /**
+         * 正式计时前执行的操作数，用于完成客户端初始化和 JIT 预热
+         */
+        public Builder warmupOperations(int warmupOperations) {
+            this.warmupOperations = Math.max(0, warmupOperations);
+            return this;
+        }
+
+        /**
+         * 下载文件的目录，不设置时使用临时目录并在结束后删除
+         */
+        public Builder outputDirectory(Path outputDirectory) {
+            this.outputDirectory = outputDirectory;
+            return this;
+        }
+
+        public JmLoadDriver build() {
+            return new JmLoadDriver(this);
+        }
+    }
+}
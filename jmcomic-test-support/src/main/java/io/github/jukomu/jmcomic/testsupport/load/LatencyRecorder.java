@@ -0,0 +1,53 @@
+package io.github.jukomu.jmcomic.testsupport.load;
+
+import java.util.Arrays;
+
+/**
+ * @author JUKOMU
+ * @Description: 记录每次操作的耗时，用于计算分位数
+ * <p>
+ * 压测中单次操作是毫秒级的网络请求，直接保存全部样本并在结束时排序即可，
+ * 不需要直方图近似。
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+final class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int size;
+
+    synchronized void record(long nanos) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = nanos;
+    }
+
+    synchronized int count() {
+        return size;
+    }
+
+    /**
+     * 按最近秩法计算分位数
+     *
+     * @param percentile 分位，取值 (0, 100]
+     * @return 耗时（纳秒），没有样本时为 0
+     */
+    synchronized long percentile(double percentile) {
+        if (size == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * size);
+        return sorted[Math.min(Math.max(rank, 1), size) - 1];
+    }
+
+    synchronized long max() {
+        long max = 0;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, samples[i]);
+        }
+        return max;
+    }
+}
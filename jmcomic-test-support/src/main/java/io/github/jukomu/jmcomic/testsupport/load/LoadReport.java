@@ -0,0 +1,138 @@
+package io.github.jukomu.jmcomic.testsupport.load;
+
+import io.github.jukomu.jmcomic.api.enums.ClientType;
+import io.github.jukomu.jmcomic.core.util.JsonUtils;
+
+import java.util.Locale;
+
+/**
+ * @author JUKOMU
+ * @Description: 一次压测的结果
+ * <p>
+ * 一次操作指：下载场景中下载完一整本，搜索场景中抓取一页搜索结果。
+ * items 在下载场景中是图片数，在搜索场景中是本子摘要数。
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+public final class LoadReport {
+
+    private final LoadScenario scenario;
+    private final ClientType clientType;
+    private final int concurrency;
+    private final long durationMillis;
+    private final long operations;
+    private final long errors;
+    private final long items;
+    private final long bytes;
+    private final double operationsPerSecond;
+    private final double itemsPerSecond;
+    private final double p50Millis;
+    private final double p99Millis;
+    private final double maxMillis;
+    private final long serverRequests;
+    private final long injectedErrors;
+
+    LoadReport(LoadScenario scenario, ClientType clientType, int concurrency, long durationNanos,
+               long errors, long items, long bytes, LatencyRecorder latencies,
+               long serverRequests, long injectedErrors) {
+        this.scenario = scenario;
+        this.clientType = clientType;
+        this.concurrency = concurrency;
+        this.durationMillis = durationNanos / 1_000_000;
+        this.operations = latencies.count();
+        this.errors = errors;
+        this.items = items;
+        this.bytes = bytes;
+        double seconds = Math.max(durationNanos, 1) / 1e9;
+        this.operationsPerSecond = (operations - errors) / seconds;
+        this.itemsPerSecond = items / seconds;
+        this.p50Millis = latencies.percentile(50) / 1e6;
+        this.p99Millis = latencies.percentile(99) / 1e6;
+        this.maxMillis = latencies.max() / 1e6;
+        this.serverRequests = serverRequests;
+        this.injectedErrors = injectedErrors;
+    }
+
+    public LoadScenario getScenario() {
+        return scenario;
+    }
+
+    public ClientType getClientType() {
+        return clientType;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * 完成的操作数，包括失败的操作
+     */
+    public long getOperations() {
+        return operations;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public double getErrorRate() {
+        return operations == 0 ? 0 : (double) errors / operations;
+    }
+
+    public long getItems() {
+        return items;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * 每秒成功的操作数
+     */
+    public double getOperationsPerSecond() {
+        return operationsPerSecond;
+    }
+
+    public double getItemsPerSecond() {
+        return itemsPerSecond;
+    }
+
+    public double getP50Millis() {
+        return p50Millis;
+    }
+
+    public double getP99Millis() {
+        return p99Millis;
+    }
+
+    public double getMaxMillis() {
+        return maxMillis;
+    }
+
+    public long getServerRequests() {
+        return serverRequests;
+    }
+
+    public long getInjectedErrors() {
+        return injectedErrors;
+    }
+
+    public String toJson() {
+        return JsonUtils.toJson(this);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "%s/%s x%d: %d ops in %d ms, %.2f ops/s, %.1f items/s, %.1f MB, p50 %.1f ms, p99 %.1f ms, max %.1f ms, "
+                        + "errors %d, server requests %d (injected errors %d)",
+                scenario, clientType, concurrency, operations, durationMillis, operationsPerSecond, itemsPerSecond,
+                bytes / 1024.0 / 1024.0, p50Millis, p99Millis, maxMillis, errors, serverRequests, injectedErrors);
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.jukomu.jmcomic.testsupport.load;
+
+/**
+ * @author JUKOMU
+ * @Description: 压测场景
+ * @Project: jmcomic-api-java
+ * @Date: 2026/10/19
+ */
+public enum LoadScenario {
+    /**
+     * 获取本子详情后调用 downloadAlbum 同步下载整本
+     */
+    DOWNLOAD_ALBUM,
+    /**
+     * 获取本子详情后通过 createDownloadTask 创建任务，提交给下载管理器并等待任务结束
+     */
+    DOWNLOAD_TASK,
+    /**
+     * 逐页抓取搜索结果
+     */
+    SEARCH_CRAWL
+}